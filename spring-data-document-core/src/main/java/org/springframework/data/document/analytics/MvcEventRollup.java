@@ -0,0 +1,62 @@
+package org.springframework.data.document.analytics;
+
+import java.util.Date;
+
+/**
+ * Number of {@link MvcEvent}s recorded for a controller action within a single time bucket.
+ *
+ * @see RollupGranularity
+ */
+public class MvcEventRollup {
+
+  private String controller;
+
+  private String action;
+
+  private Date date;
+
+  private long count;
+
+  public String getController() {
+    return controller;
+  }
+
+  public void setController(String controller) {
+    this.controller = controller;
+  }
+
+  public String getAction() {
+    return action;
+  }
+
+  public void setAction(String action) {
+    this.action = action;
+  }
+
+  /**
+   * Returns the start of the time bucket.
+   *
+   * @return
+   */
+  public Date getDate() {
+    return date;
+  }
+
+  public void setDate(Date date) {
+    this.date = date;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+  @Override
+  public String toString() {
+    return "MvcEventRollup [controller=" + controller + ", action=" + action
+        + ", date=" + date + ", count=" + count + "]";
+  }
+}
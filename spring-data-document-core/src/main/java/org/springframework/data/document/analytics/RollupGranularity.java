@@ -0,0 +1,52 @@
+package org.springframework.data.document.analytics;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * The size of the time buckets {@link MvcEvent}s are pre-aggregated into. Buckets are aligned in UTC.
+ */
+public enum RollupGranularity {
+
+  MINUTE(Calendar.MINUTE),
+
+  HOUR(Calendar.HOUR_OF_DAY),
+
+  DAY(Calendar.DAY_OF_MONTH);
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+  private final int calendarField;
+
+  private RollupGranularity(int calendarField) {
+    this.calendarField = calendarField;
+  }
+
+  /**
+   * Returns the start of the bucket the given date falls into.
+   *
+   * @param date must not be {@literal null}
+   * @return
+   */
+  public Date truncate(Date date) {
+
+    Calendar calendar = Calendar.getInstance(UTC);
+    calendar.setTime(date);
+    calendar.set(Calendar.MILLISECOND, 0);
+    calendar.set(Calendar.SECOND, 0);
+
+    if (calendarField == Calendar.MINUTE) {
+      return calendar.getTime();
+    }
+
+    calendar.set(Calendar.MINUTE, 0);
+
+    if (calendarField == Calendar.HOUR_OF_DAY) {
+      return calendar.getTime();
+    }
+
+    calendar.set(Calendar.HOUR_OF_DAY, 0);
+    return calendar.getTime();
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.springframework.data.document.mongodb.query.Update;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Keeps the documents entities were last loaded from or saved as, so that saving them again can be done by an
+ * {@link Update} of the top-level fields that changed rather than by replacing the whole document. Entities are
+ * tracked by identity and only weakly referenced. The documents are copied deeply, as values like {@link Date}s or
+ * arrays are shared with the entity and could otherwise be modified in place along with it.
+ */
+class ChangeTracker {
+
+  private static final String ID = "_id";
+
+  private final Map<IdentityKey, DBObject> snapshots = new HashMap<IdentityKey, DBObject>();
+  private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+
+  /**
+   * Records a copy of the given document as the persistent state of the given entity.
+   *
+   * @param entity   must not be {@literal null}
+   * @param document must not be {@literal null}
+   */
+  public synchronized void track(Object entity, DBObject document) {
+    expungeStaleEntries();
+    snapshots.put(new IdentityKey(entity, queue), (DBObject) copy(document));
+  }
+
+  /**
+   * Returns the document last recorded for the given entity.
+   *
+   * @param entity
+   * @return the snapshot or {@literal null} if the entity is not tracked.
+   */
+  public synchronized DBObject getSnapshot(Object entity) {
+    expungeStaleEntries();
+    return snapshots.get(new IdentityKey(entity, null));
+  }
+
+  /**
+   * Creates an {@link Update} turning the given snapshot into the given document. Changed and added top-level fields
+   * are {@code $set}, removed ones {@code $unset}. Arrays only appended to are updated using {@code $push} or
+   * {@code $pushAll}. The id is never part of the {@link Update}.
+   *
+   * @param snapshot must not be {@literal null}
+   * @param document must not be {@literal null}
+   * @return the {@link Update} or {@literal null} if the documents do not differ.
+   */
+  public static Update getUpdate(DBObject snapshot, DBObject document) {
+
+    Update update = new Update();
+    boolean changed = false;
+
+    for (String key : document.keySet()) {
+
+      if (ID.equals(key)) {
+        continue;
+      }
+
+      Object value = document.get(key);
+
+      if (!snapshot.containsField(key)) {
+        update.set(key, value);
+        changed = true;
+        continue;
+      }
+
+      Object previous = snapshot.get(key);
+      List<?> previousList = asList(previous);
+      List<?> list = asList(value);
+
+      if (previousList != null && list != null) {
+
+        if (previousList.equals(list)) {
+          continue;
+        }
+
+        int size = previousList.size();
+
+        if (size > 0 && list.size() > size && previousList.equals(list.subList(0, size))) {
+          List<?> appended = list.subList(size, list.size());
+          if (appended.size() == 1) {
+            update.push(key, appended.get(0));
+          } else {
+            update.pushAll(key, appended.toArray());
+          }
+        } else {
+          update.set(key, value);
+        }
+
+        changed = true;
+
+      } else if (!ObjectUtils.nullSafeEquals(previous, value)) {
+        update.set(key, value);
+        changed = true;
+      }
+    }
+
+    for (String key : snapshot.keySet()) {
+      if (!document.containsField(key)) {
+        update.unset(key);
+        changed = true;
+      }
+    }
+
+    return changed ? update : null;
+  }
+
+  /**
+   * Returns the given value as {@link List} if it is a {@link List} or an array.
+   *
+   * @param value
+   * @return
+   */
+  private static List<?> asList(Object value) {
+
+    if (value instanceof List) {
+      return (List<?>) value;
+    }
+    if (value instanceof Object[]) {
+      return Arrays.asList((Object[]) value);
+    }
+    if (value != null && value.getClass().isArray() && !(value instanceof byte[])) {
+      int length = Array.getLength(value);
+      List<Object> result = new ArrayList<Object>(length);
+      for (int i = 0; i < length; i++) {
+        result.add(Array.get(value, i));
+      }
+      return result;
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns a copy of the given value not sharing any mutable state with it. Documents, lists, {@link Date}s and arrays
+   * are copied, all other values are considered immutable.
+   *
+   * @param value
+   * @return
+   */
+  private static Object copy(Object value) {
+
+    if (value instanceof List) {
+      BasicDBList result = new BasicDBList();
+      for (Object element : (List<?>) value) {
+        result.add(copy(element));
+      }
+      return result;
+    }
+
+    if (value instanceof DBObject) {
+      DBObject source = (DBObject) value;
+      DBObject result = new BasicDBObject();
+      for (String key : source.keySet()) {
+        result.put(key, copy(source.get(key)));
+      }
+      return result;
+    }
+
+    if (value instanceof Date) {
+      return new Date(((Date) value).getTime());
+    }
+
+    if (value != null && value.getClass().isArray()) {
+      int length = Array.getLength(value);
+      Object result = Array.newInstance(value.getClass().getComponentType(), length);
+      for (int i = 0; i < length; i++) {
+        Array.set(result, i, copy(Array.get(value, i)));
+      }
+      return result;
+    }
+
+    return value;
+  }
+
+  private void expungeStaleEntries() {
+
+    Reference<?> reference;
+    while ((reference = queue.poll()) != null) {
+      snapshots.remove(reference);
+    }
+  }
+
+  /**
+   * Weak reference to an entity comparing by identity.
+   */
+  private static class IdentityKey extends WeakReference<Object> {
+
+    private final int hashCode;
+
+    public IdentityKey(Object entity, ReferenceQueue<Object> queue) {
+      super(entity, queue);
+      this.hashCode = System.identityHashCode(entity);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof IdentityKey)) {
+        return false;
+      }
+
+      Object referent = get();
+      return referent != null && referent == ((IdentityKey) obj).get();
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
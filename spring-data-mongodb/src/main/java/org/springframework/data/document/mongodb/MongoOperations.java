@@ -22,7 +22,15 @@ import com.mongodb.CommandResult;
 import com.mongodb.DBCollection;
 import com.mongodb.DBObject;
 import com.mongodb.WriteResult;
+import org.springframework.data.document.mongodb.convert.MongoConverter;
+import org.springframework.data.document.mongodb.geo.GeoResults;
+import org.springframework.data.document.mongodb.mapreduce.GroupBy;
+import org.springframework.data.document.mongodb.mapreduce.GroupByResults;
+import org.springframework.data.document.mongodb.mapreduce.MapReduceOptions;
+import org.springframework.data.document.mongodb.mapreduce.MapReduceResults;
+import org.springframework.data.document.mongodb.query.Criteria;
 import org.springframework.data.document.mongodb.query.IndexDefinition;
+import org.springframework.data.document.mongodb.query.NearQuery;
 import org.springframework.data.document.mongodb.query.Query;
 import org.springframework.data.document.mongodb.query.Update;
 
@@ -117,6 +125,22 @@ public interface MongoOperations {
    */
   <T> T executeInSession(DbCallback<T> action);
 
+  /**
+   * Executes the given {@link DbCallback} within the same connection to the database, sending all inserts, saves,
+   * updates and removes issued through this template from within the callback unacknowledged. The batch is confirmed
+   * with a single getLastError using the configured {@link com.mongodb.WriteConcern} once the callback returns, so
+   * that the writes cost a single round trip. Versioned saves and updates remain acknowledged individually.
+   * <p/>
+   * A failure of any of the writes is reported for the batch as a whole. It is ignored in case of
+   * {@link WriteResultChecking#NONE}, logged in case of {@link WriteResultChecking#LOG} and raised as
+   * {@link org.springframework.dao.DataIntegrityViolationException} otherwise.
+   *
+   * @param <T>    return type
+   * @param action callback that specified the MongoDB actions to perform on the DB instance
+   * @return a result object returned by the action or <tt>null</tt>
+   */
+  <T> T executeInBatch(DbCallback<T> action);
+
   /**
    * Create an uncapped collection with the provided name.
    *
@@ -475,6 +499,94 @@ public interface MongoOperations {
   <T> T findAndRemove(String collectionName, Query query,
                 Class<T> targetClass, MongoReader<T> reader);
 
+  /**
+   * Execute a map-reduce operation on the specified collection returning the results inline. The map and reduce
+   * functions can either be given as JavaScript or as resource location (e.g. {@code classpath:map.js}).
+   * <p/>
+   * The result documents are converted using the configured {@link MongoConverter}.
+   *
+   * @param inputCollectionName the collection to run the map-reduce operation against
+   * @param mapFunction         the JavaScript map function or a resource location of it
+   * @param reduceFunction      the JavaScript reduce function or a resource location of it
+   * @param targetClass         the parameterized type of the returned results
+   * @return the map-reduce results
+   */
+  <T> MapReduceResults<T> mapReduce(String inputCollectionName, String mapFunction, String reduceFunction,
+                                    Class<T> targetClass);
+
+  /**
+   * Execute a map-reduce operation on the specified collection using the given {@link MapReduceOptions}, e.g. to
+   * write the results to an output collection or to apply a finalize function. Results written to an output
+   * collection stay on the server unless {@link MapReduceOptions#loadOutputCollection(boolean)} is set.
+   *
+   * @param inputCollectionName the collection to run the map-reduce operation against
+   * @param mapFunction         the JavaScript map function or a resource location of it
+   * @param reduceFunction      the JavaScript reduce function or a resource location of it
+   * @param mapReduceOptions    options to customize the operation, may be {@literal null}
+   * @param targetClass         the parameterized type of the returned results
+   * @return the map-reduce results
+   */
+  <T> MapReduceResults<T> mapReduce(String inputCollectionName, String mapFunction, String reduceFunction,
+                                    MapReduceOptions mapReduceOptions, Class<T> targetClass);
+
+  /**
+   * Execute a map-reduce operation on the documents of the specified collection that match the given {@link Query}.
+   * The query's sort and limit are passed on to the server as well, a limit given by the options as well has to
+   * match the query's one.
+   *
+   * @param query               the query to select the documents fed into the map function
+   * @param inputCollectionName the collection to run the map-reduce operation against
+   * @param mapFunction         the JavaScript map function or a resource location of it
+   * @param reduceFunction      the JavaScript reduce function or a resource location of it
+   * @param mapReduceOptions    options to customize the operation, may be {@literal null}
+   * @param targetClass         the parameterized type of the returned results
+   * @return the map-reduce results
+   */
+  <T> MapReduceResults<T> mapReduce(Query query, String inputCollectionName, String mapFunction,
+                                    String reduceFunction, MapReduceOptions mapReduceOptions, Class<T> targetClass);
+
+  /**
+   * Execute a group operation on all documents of the specified collection.
+   *
+   * @param inputCollectionName the collection to run the group operation against
+   * @param groupBy             the key, initial document and functions of the group operation
+   * @param targetClass         the parameterized type of the returned results
+   * @return the grouped results
+   */
+  <T> GroupByResults<T> group(String inputCollectionName, GroupBy groupBy, Class<T> targetClass);
+
+  /**
+   * Execute a group operation on the documents of the specified collection that match the given {@link Criteria}.
+   *
+   * @param criteria            the condition documents have to match to be considered, may be {@literal null}
+   * @param inputCollectionName the collection to run the group operation against
+   * @param groupBy             the key, initial document and functions of the group operation
+   * @param targetClass         the parameterized type of the returned results
+   * @return the grouped results
+   */
+  <T> GroupByResults<T> group(Criteria criteria, String inputCollectionName, GroupBy groupBy, Class<T> targetClass);
+
+  /**
+   * Returns the documents of the default collection closest to the point of the given {@link NearQuery} together
+   * with their distance, using the geoNear command. Requires a geospatial index on the collection.
+   *
+   * @param near        the point and options of the geoNear command
+   * @param targetClass the parameterized type of the returned results
+   * @return the results ordered by ascending distance
+   */
+  <T> GeoResults<T> geoNear(NearQuery near, Class<T> targetClass);
+
+  /**
+   * Returns the documents of the specified collection closest to the point of the given {@link NearQuery} together
+   * with their distance, using the geoNear command. Requires a geospatial index on the collection.
+   *
+   * @param collectionName name of the collection to query
+   * @param near           the point and options of the geoNear command
+   * @param targetClass    the parameterized type of the returned results
+   * @return the results ordered by ascending distance
+   */
+  <T> GeoResults<T> geoNear(String collectionName, NearQuery near, Class<T> targetClass);
+
   /**
    * Insert the object into the default collection.
    * <p/>
@@ -667,6 +779,32 @@ public interface MongoOperations {
   WriteResult updateFirst(String collectionName, Query query,
                           Update update);
 
+  /**
+   * Updates the first object that is found in the specified collection that matches the query document criteria
+   * with the provided updated document. Property names used in the query and update are translated into the keys
+   * the properties of the given entity class are stored under.
+   *
+   * @param collectionName name of the collection to update the object in
+   * @param query          the query that specifies the criteria used to select a record to be updated
+   * @param update         the update that contains the updated object or $ operators to manipulate the existing
+   *                       object.
+   * @param entityClass    the class whose mapping metadata shall be used to translate property names
+   */
+  WriteResult updateFirst(String collectionName, Query query, Update update, Class<?> entityClass);
+
+  /**
+   * Applies the given update to the document backing the given entity, which has to have a property annotated with
+   * {@link org.springframework.data.document.mongodb.mapping.Version}. The document is selected by the entity's id and
+   * version and the version is incremented atomically, as it is in the entity.
+   *
+   * @param collectionName name of the collection to update the object in
+   * @param entity         the versioned entity whose document shall be updated
+   * @param update         the update to apply
+   * @throws org.springframework.dao.OptimisticLockingFailureException if the document has been modified or removed
+   *                                                                   concurrently
+   */
+  WriteResult updateVersioned(String collectionName, Object entity, Update update);
+
   /**
    * Updates all objects that are found in the default collection that matches the query document criteria
    * with the provided updated document.
@@ -689,6 +827,42 @@ public interface MongoOperations {
   WriteResult updateMulti(String collectionName, Query query,
                           Update update);
 
+  /**
+   * Updates all objects that are found in the specified collection that matches the query document criteria
+   * with the provided updated document. Property names used in the query and update are translated into the keys
+   * the properties of the given entity class are stored under.
+   *
+   * @param collectionName name of the collection to update the object in
+   * @param query          the query that specifies the criteria used to select a record to be updated
+   * @param update         the update that contains the updated object or $ operators to manipulate the existing
+   *                       object.
+   * @param entityClass    the class whose mapping metadata shall be used to translate property names
+   */
+  WriteResult updateMulti(String collectionName, Query query, Update update, Class<?> entityClass);
+
+  /**
+   * Updates the first object that is found in the default collection that matches the query document criteria
+   * with the provided updated document. If no object matches, a new one is inserted built from the equality
+   * criteria of the query with the update document applied to it.
+   *
+   * @param queryDoc  the query document that specifies the criteria used to select a record to be upserted
+   * @param updateDoc the update document that contains the updated object or $ operators to manipulate the
+   *                  existing object.
+   */
+  WriteResult upsert(Query query, Update update);
+
+  /**
+   * Updates the first object that is found in the specified collection that matches the query document criteria
+   * with the provided updated document. If no object matches, a new one is inserted built from the equality
+   * criteria of the query with the update document applied to it.
+   *
+   * @param collectionName name of the collection to upsert the object in
+   * @param queryDoc       the query document that specifies the criteria used to select a record to be upserted
+   * @param updateDoc      the update document that contains the updated object or $ operators to manipulate the
+   *                       existing object.
+   */
+  WriteResult upsert(String collectionName, Query query, Update update);
+
   /**
    * Remove all documents from the default collection that match the provided query document criteria.
    *
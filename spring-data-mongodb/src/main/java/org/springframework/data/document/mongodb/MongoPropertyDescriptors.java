@@ -16,6 +16,7 @@
 package org.springframework.data.document.mongodb;
 
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.math.BigInteger;
@@ -23,6 +24,7 @@ import java.util.*;
 
 import org.bson.types.ObjectId;
 import org.springframework.beans.BeanUtils;
+import org.springframework.data.document.mongodb.mapping.Packed;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 
@@ -35,6 +37,7 @@ import org.springframework.util.ReflectionUtils;
 public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescriptors.MongoPropertyDescriptor> {
 
   private final Collection<MongoPropertyDescriptors.MongoPropertyDescriptor> descriptors;
+  private final Map<String, MongoPropertyDescriptors.MongoPropertyDescriptor> descriptorsByName;
   private final MongoPropertyDescriptors.MongoPropertyDescriptor idDescriptor;
 
   /**
@@ -46,17 +49,20 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 
     Assert.notNull(type);
     Set<MongoPropertyDescriptors.MongoPropertyDescriptor> descriptors = new HashSet<MongoPropertyDescriptors.MongoPropertyDescriptor>();
+    Map<String, MongoPropertyDescriptors.MongoPropertyDescriptor> descriptorsByName = new HashMap<String, MongoPropertyDescriptors.MongoPropertyDescriptor>();
     MongoPropertyDescriptors.MongoPropertyDescriptor idDesciptor = null;
 
     for (PropertyDescriptor candidates : BeanUtils.getPropertyDescriptors(type)) {
       MongoPropertyDescriptor descriptor = new MongoPropertyDescriptors.MongoPropertyDescriptor(candidates, type);
       descriptors.add(descriptor);
+      descriptorsByName.put(descriptor.getName(), descriptor);
       if (descriptor.isIdProperty()) {
         idDesciptor = descriptor;
       }
     }
 
     this.descriptors = Collections.unmodifiableSet(descriptors);
+    this.descriptorsByName = descriptorsByName;
     this.idDescriptor = idDesciptor;
   }
 
@@ -69,6 +75,16 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
     return idDescriptor;
   }
 
+  /**
+   * Returns the {@link MongoPropertyDescriptor} for the property with the given name.
+   *
+   * @param name
+   * @return the descriptor or {@literal null} if the type does not have a property with the given name.
+   */
+  public MongoPropertyDescriptors.MongoPropertyDescriptor getDescriptor(String name) {
+    return descriptorsByName.get(name);
+  }
+
   /*
     * (non-Javadoc)
     *
@@ -100,6 +116,13 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
 
     private final PropertyDescriptor delegate;
     private final Class<?> owningType;
+    private final Field field;
+    private final Method readMethod;
+    private final Method writeMethod;
+    private final boolean idProperty;
+    private final boolean mappable;
+    private final boolean packed;
+    private final Type typeToSet;
 
     /**
      * Creates a new {@link MongoPropertyDescriptor} for the given {@link PropertyDescriptor}.
@@ -111,6 +134,29 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
       Assert.notNull(descriptor);
       this.delegate = descriptor;
       this.owningType = owningType;
+      this.field = owningType == null ? null : ReflectionUtils.findField(owningType, descriptor.getName());
+      this.idProperty = ID_PROPERTY.equals(delegate.getName()) || ID_KEY.equals(delegate.getName());
+
+      boolean isNotClassAttribute = !delegate.getName().equals("class");
+      this.readMethod = delegate.getReadMethod();
+      this.writeMethod = delegate.getWriteMethod();
+
+      boolean hasGetter = readMethod != null;
+      this.mappable = isNotClassAttribute && hasGetter && field != null;
+      this.packed = field != null && field.isAnnotationPresent(Packed.class);
+
+      this.typeToSet = writeMethod != null ? writeMethod.getGenericParameterTypes()[0]
+          : readMethod == null ? null : readMethod.getGenericReturnType();
+
+      if (field != null) {
+        ReflectionUtils.makeAccessible(field);
+      }
+      if (readMethod != null) {
+        ReflectionUtils.makeAccessible(readMethod);
+      }
+      if (writeMethod != null) {
+        ReflectionUtils.makeAccessible(writeMethod);
+      }
     }
 
     /**
@@ -119,7 +165,7 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
      * @return
      */
     public boolean isIdProperty() {
-      return ID_PROPERTY.equals(delegate.getName()) || ID_KEY.equals(delegate.getName());
+      return idProperty;
     }
 
     /**
@@ -158,12 +204,43 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
      * @return
      */
     public boolean isMappable() {
-      
-      boolean isNotClassAttribute = !delegate.getName().equals("class");
-      boolean hasGetter = delegate.getReadMethod() != null;
-      boolean hasField = ReflectionUtils.findField(owningType, delegate.getName()) != null;
-      
-      return isNotClassAttribute && hasGetter && hasField;
+      return mappable;
+    }
+
+    /**
+     * Returns whether the backing field is annotated with {@link Packed}.
+     *
+     * @return
+     */
+    public boolean isPacked() {
+      return packed;
+    }
+
+    /**
+     * Returns the field backing the property, made accessible already.
+     *
+     * @return the field or {@literal null} if the property is not backed by a field of the same name.
+     */
+    public Field getField() {
+      return field;
+    }
+
+    /**
+     * Returns the getter of the property, made accessible already.
+     *
+     * @return
+     */
+    public Method getReadMethod() {
+      return readMethod;
+    }
+
+    /**
+     * Returns the setter of the property, made accessible already.
+     *
+     * @return
+     */
+    public Method getWriteMethod() {
+      return writeMethod;
     }
 
     /**
@@ -182,10 +259,7 @@ public class MongoPropertyDescriptors implements Iterable<MongoPropertyDescripto
      * @return
      */
     public Type getTypeToSet() {
-
-      Method method = delegate.getWriteMethod();
-      return method == null ? delegate.getReadMethod().getGenericReturnType()
-          : method.getGenericParameterTypes()[0];
+      return typeToSet;
     }
 
     /**
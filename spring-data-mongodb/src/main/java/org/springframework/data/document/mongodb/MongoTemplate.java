@@ -16,8 +16,10 @@
 
 package org.springframework.data.document.mongodb;
 
-import java.beans.IntrospectionException;
-import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -50,23 +52,44 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.document.InvalidDocumentStoreApiUsageException;
 import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
 import org.springframework.data.document.mongodb.convert.MappingMongoConverter;
 import org.springframework.data.document.mongodb.convert.MongoConverter;
 import org.springframework.data.document.mongodb.convert.SimpleMongoConverter;
+import org.springframework.data.document.mongodb.geo.GeoResult;
+import org.springframework.data.document.mongodb.geo.GeoResults;
+import org.springframework.data.document.mongodb.mapreduce.GroupBy;
+import org.springframework.data.document.mongodb.mapreduce.GroupByResults;
+import org.springframework.data.document.mongodb.mapreduce.MapReduceOptions;
+import org.springframework.data.document.mongodb.mapreduce.MapReduceResults;
+import org.springframework.data.document.mongodb.mapping.MongoPersistentEntity;
+import org.springframework.data.document.mongodb.mapping.MongoPersistentProperty;
 import org.springframework.data.document.mongodb.mapping.event.AfterConvertEvent;
 import org.springframework.data.document.mongodb.mapping.event.AfterLoadEvent;
 import org.springframework.data.document.mongodb.mapping.event.AfterSaveEvent;
 import org.springframework.data.document.mongodb.mapping.event.BeforeConvertEvent;
 import org.springframework.data.document.mongodb.mapping.event.BeforeSaveEvent;
 import org.springframework.data.document.mongodb.mapping.event.MongoMappingEvent;
+import org.springframework.data.document.mongodb.query.Criteria;
 import org.springframework.data.document.mongodb.query.IndexDefinition;
+import org.springframework.data.document.mongodb.query.NearQuery;
 import org.springframework.data.document.mongodb.query.Query;
 import org.springframework.data.document.mongodb.query.Update;
+import org.springframework.data.mapping.model.MappingContext;
+import org.springframework.data.mapping.model.PersistentEntity;
+import org.springframework.data.mapping.model.PersistentProperty;
 import org.springframework.jca.cci.core.ConnectionCallback;
 import org.springframework.util.Assert;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.ResourceUtils;
 
 /**
  * Primary implementation of {@link MongoOperations}.
@@ -94,6 +117,22 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     */
   private WriteResultChecking writeResultChecking = WriteResultChecking.NONE;
 
+  /*
+    * Whether to restrict queries without a fields specification to the properties mapped for the target type.
+    */
+  private boolean projectMappedFields = false;
+
+  /*
+    * Whether to keep the documents entities were loaded from to only update changed fields when saving them.
+    */
+  private boolean trackChanges = false;
+  private final ChangeTracker changeTracker = new ChangeTracker();
+
+  /*
+    * Marks the threads currently executing a batch, whose writes are sent unacknowledged.
+    */
+  private final ThreadLocal<Boolean> batches = new ThreadLocal<Boolean>();
+
   private MongoConverter mongoConverter;
   private final Mongo mongo;
   private final MongoExceptionTranslator exceptionTranslator = new MongoExceptionTranslator();
@@ -382,18 +421,66 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
         cursor = preparer.prepare(cursor);
       }
 
+      if (!(mongoConverter instanceof MappingMongoConverter)) {
+
+        List<T> result = new ArrayList<T>();
+
+        for (DBObject object : cursor) {
+          result.add(objectCallback.doWith(object));
+        }
+
+        return result;
+      }
+
+      // Resolve the references of a bounded chunk of documents at once
+      MappingMongoConverter converter = (MappingMongoConverter) mongoConverter;
+      int chunkSize = converter.getDbRefBatchSize();
+
       List<T> result = new ArrayList<T>();
+      List<DBObject> chunk = new ArrayList<DBObject>();
 
       for (DBObject object : cursor) {
-        result.add(objectCallback.doWith(object));
+        chunk.add(object);
+        if (chunk.size() == chunkSize) {
+          readChunk(chunk, objectCallback, converter, result);
+          chunk.clear();
+        }
       }
 
+      readChunk(chunk, objectCallback, converter, result);
       return result;
     } catch (MongoException e) {
       throw potentiallyConvertRuntimeException(e);
     }
   }
 
+  /**
+   * Applies the given {@link DbObjectCallback} to the given documents within a batch of the given
+   * {@link MappingMongoConverter}, so the references they contain are loaded with as few queries as possible.
+   *
+   * @param chunk          the documents to read
+   * @param objectCallback the {@link DbObjectCallback} to transform {@link DBObject}s into the actual domain type
+   * @param converter      the {@link MappingMongoConverter} to start the batch on
+   * @param result         the {@link List} to add the read objects to
+   */
+  private <T> void readChunk(List<DBObject> chunk, DbObjectCallback<T> objectCallback,
+                             MappingMongoConverter converter, List<T> result) {
+
+    if (chunk.isEmpty()) {
+      return;
+    }
+
+    converter.startBatch(chunk);
+
+    try {
+      for (DBObject object : chunk) {
+        result.add(objectCallback.doWith(object));
+      }
+    } finally {
+      converter.endBatch();
+    }
+  }
+
   /* (non-Javadoc)
     * @see org.springframework.data.document.mongodb.MongoOperations#executeInSession(org.springframework.data.document.mongodb.DBCallback)
     */
@@ -411,6 +498,100 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     });
   }
 
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#executeInBatch(org.springframework.data.document.mongodb.DbCallback)
+    */
+  public <T> T executeInBatch(final DbCallback<T> action) {
+
+    Assert.notNull(action);
+
+    if (batches.get() != null) {
+      return execute(action);
+    }
+
+    return executeInSession(new DbCallback<T>() {
+      public T doInDB(DB db) throws MongoException, DataAccessException {
+        batches.set(Boolean.TRUE);
+        try {
+          db.resetError();
+          T result = action.doInDB(db);
+          confirmBatch(db);
+          return result;
+        } finally {
+          batches.remove();
+        }
+      }
+    });
+  }
+
+  /**
+   * Waits for the writes of the current batch to be acknowledged using the configured {@link WriteConcern} (or
+   * {@link WriteConcern#SAFE} if none or an unacknowledged one is configured) and reports the last error raised by any
+   * of them according to the configured {@link WriteResultChecking}.
+   *
+   * @param db
+   */
+  private void confirmBatch(DB db) {
+
+    CommandResult lastError = db.getLastError(getAcknowledgedWriteConcern());
+
+    if (WriteResultChecking.NONE == this.writeResultChecking) {
+      return;
+    }
+
+    Object error = lastError.get("err");
+    int operationsBefore = 0;
+
+    if (error == null) {
+      CommandResult previousError = db.getPreviousError();
+      error = previousError.get("err");
+      operationsBefore = previousError.containsField("nPrev") ? ((Number) previousError.get("nPrev")).intValue() : 0;
+    }
+
+    if (error == null) {
+      return;
+    }
+
+    String message = "Execution of batch failed: " + error + (operationsBefore > 1 ? " (" + (operationsBefore - 1)
+        + " operations before its end)" : "");
+
+    if (WriteResultChecking.LOG == this.writeResultChecking) {
+      LOGGER.error(message);
+    } else {
+      throw new DataIntegrityViolationException(message);
+    }
+  }
+
+  /**
+   * Returns the {@link WriteConcern} to send writes with. Writes of a batch are sent unacknowledged, as the batch is
+   * confirmed as a whole.
+   *
+   * @return the {@link WriteConcern} or {@literal null} to use the one set for the DB or collection.
+   */
+  private WriteConcern getWriteConcernToUse() {
+    return batches.get() == null ? writeConcern : WriteConcern.NORMAL;
+  }
+
+  /**
+   * Returns the {@link WriteConcern} to use for writes whose outcome has to be known. That's the configured one if it
+   * waits for the server to acknowledge writes, {@link WriteConcern#SAFE} otherwise, or {@link WriteConcern#FSYNC_SAFE}
+   * if the configured one asks for fsync.
+   *
+   * @return
+   */
+  private WriteConcern getAcknowledgedWriteConcern() {
+
+    if (writeConcern == null) {
+      return WriteConcern.SAFE;
+    }
+
+    if (writeConcern.getW() >= 1) {
+      return writeConcern;
+    }
+
+    return writeConcern.fsync() ? WriteConcern.FSYNC_SAFE : WriteConcern.SAFE;
+  }
+
   /* (non-Javadoc)
     * @see org.springframework.data.document.mongodb.MongoOperations#createCollection(java.lang.String)
     */
@@ -514,7 +695,8 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
 
   public <T> List<T> find(String collectionName, final Query query, Class<T> targetClass) {
     CursorPreparer cursorPreparer = null;
-    if (query.getSkip() > 0 || query.getLimit() > 0 || query.getSortObject() != null) {
+    final DBObject sort = getMappedObject(query.getSortObject(), targetClass, mongoConverter);
+    if (query.getSkip() > 0 || query.getLimit() > 0 || sort != null) {
       cursorPreparer = new CursorPreparer() {
 
         public DBCursor prepare(DBCursor cursor) {
@@ -526,8 +708,8 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
             if (query.getLimit() > 0) {
               cursorToUse = cursorToUse.limit(query.getLimit());
             }
-            if (query.getSortObject() != null) {
-              cursorToUse = cursorToUse.sort(query.getSortObject());
+            if (sort != null) {
+              cursorToUse = cursorToUse.sort(sort);
             }
           } catch (MongoException e) {
             throw potentiallyConvertRuntimeException(e);
@@ -570,6 +752,160 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     return doFindAndRemove(collectionName, query.getQueryObject(), query.getFieldsObject(), query.getSortObject(), targetClass, reader);
   }
 
+  // Map-reduce and group methods that are executed on the server and return converted results.
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#mapReduce(java.lang.String, java.lang.String, java.lang.String, java.lang.Class)
+    */
+  public <T> MapReduceResults<T> mapReduce(String inputCollectionName, String mapFunction, String reduceFunction,
+                                           Class<T> targetClass) {
+    return mapReduce(null, inputCollectionName, mapFunction, reduceFunction, null, targetClass);
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#mapReduce(java.lang.String, java.lang.String, java.lang.String, org.springframework.data.document.mongodb.mapreduce.MapReduceOptions, java.lang.Class)
+    */
+  public <T> MapReduceResults<T> mapReduce(String inputCollectionName, String mapFunction, String reduceFunction,
+                                           MapReduceOptions mapReduceOptions, Class<T> targetClass) {
+    return mapReduce(null, inputCollectionName, mapFunction, reduceFunction, mapReduceOptions, targetClass);
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#mapReduce(org.springframework.data.document.mongodb.query.Query, java.lang.String, java.lang.String, java.lang.String, org.springframework.data.document.mongodb.mapreduce.MapReduceOptions, java.lang.Class)
+    */
+  public <T> MapReduceResults<T> mapReduce(Query query, String inputCollectionName, String mapFunction,
+                                           String reduceFunction, MapReduceOptions mapReduceOptions, Class<T> targetClass) {
+
+    Assert.notNull(inputCollectionName);
+    Assert.hasText(mapFunction);
+    Assert.hasText(reduceFunction);
+    Assert.notNull(targetClass);
+
+    MapReduceOptions options = mapReduceOptions == null ? new MapReduceOptions() : mapReduceOptions;
+
+    DBObject command = new BasicDBObject();
+    command.put("mapreduce", inputCollectionName);
+    command.put("map", replaceWithResourceIfNecessary(mapFunction));
+    command.put("reduce", replaceWithResourceIfNecessary(reduceFunction));
+    command.put("out", options.getOutputObject());
+
+    if (options.getFinalizeFunction() != null) {
+      command.put("finalize", replaceWithResourceIfNecessary(options.getFinalizeFunction()));
+    }
+
+    if (query != null) {
+      command.put("query", query.getQueryObject());
+      if (query.getSortObject() != null) {
+        command.put("sort", query.getSortObject());
+      }
+      if (query.getLimit() > 0) {
+        command.put("limit", query.getLimit());
+      }
+    }
+
+    DBObject optionsObject = options.getOptionsObject();
+    for (String key : optionsObject.keySet()) {
+      Object value = optionsObject.get(key);
+      if (command.containsField(key) && !command.get(key).equals(value)) {
+        throw new InvalidDocumentStoreApiUsageException("Map-reduce option " + key + " = " + value
+            + " conflicts with the value " + command.get(key) + " given by the query");
+      }
+      command.put(key, value);
+    }
+
+    CommandResult commandResult = executeCommand(command);
+    handleCommandError(commandResult, command);
+
+    List<T> mappedResults = readCommandResults(commandResult.get("results"), targetClass);
+    MapReduceResults<T> results = new MapReduceResults<T>(mappedResults, commandResult);
+
+    if (options.isLoadOutputCollection() && results.getOutputCollection() != null
+        && options.getOutputDatabase() == null) {
+      mappedResults.addAll(getCollection(results.getOutputCollection(), targetClass));
+    }
+
+    return results;
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#group(java.lang.String, org.springframework.data.document.mongodb.mapreduce.GroupBy, java.lang.Class)
+    */
+  public <T> GroupByResults<T> group(String inputCollectionName, GroupBy groupBy, Class<T> targetClass) {
+    return group(null, inputCollectionName, groupBy, targetClass);
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#group(org.springframework.data.document.mongodb.query.Criteria, java.lang.String, org.springframework.data.document.mongodb.mapreduce.GroupBy, java.lang.Class)
+    */
+  public <T> GroupByResults<T> group(Criteria criteria, String inputCollectionName, GroupBy groupBy, Class<T> targetClass) {
+
+    Assert.notNull(inputCollectionName);
+    Assert.notNull(groupBy);
+    Assert.hasText(groupBy.getReduceFunction());
+    Assert.notNull(targetClass);
+
+    DBObject group = groupBy.getGroupByObject();
+    group.put("ns", inputCollectionName);
+    group.put("$reduce", replaceWithResourceIfNecessary(groupBy.getReduceFunction()));
+
+    if (groupBy.getKeyFunction() != null) {
+      group.put("$keyf", replaceWithResourceIfNecessary(groupBy.getKeyFunction()));
+    }
+    if (groupBy.getFinalizeFunction() != null) {
+      group.put("finalize", replaceWithResourceIfNecessary(groupBy.getFinalizeFunction()));
+    }
+    if (criteria != null) {
+      group.put("cond", criteria.getCriteriaObject());
+    }
+
+    DBObject command = new BasicDBObject("group", group);
+
+    CommandResult commandResult = executeCommand(command);
+    handleCommandError(commandResult, command);
+
+    return new GroupByResults<T>(readCommandResults(commandResult.get("retval"), targetClass), commandResult);
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#geoNear(org.springframework.data.document.mongodb.query.NearQuery, java.lang.Class)
+    */
+  public <T> GeoResults<T> geoNear(NearQuery near, Class<T> targetClass) {
+    return geoNear(getRequiredDefaultCollectionName(), near, targetClass);
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#geoNear(java.lang.String, org.springframework.data.document.mongodb.query.NearQuery, java.lang.Class)
+    */
+  public <T> GeoResults<T> geoNear(String collectionName, NearQuery near, Class<T> targetClass) {
+
+    Assert.notNull(collectionName);
+    Assert.notNull(near);
+    Assert.notNull(targetClass);
+
+    DBObject command = new BasicDBObject("geoNear", collectionName);
+    command.putAll(near.toDBObject());
+
+    CommandResult commandResult = executeCommand(command);
+    handleCommandError(commandResult, command);
+
+    List<GeoResult<T>> results = new ArrayList<GeoResult<T>>();
+    Object rawResults = commandResult.get("results");
+
+    if (rawResults instanceof Iterable) {
+      ReadDbObjectCallback<T> callback = new ReadDbObjectCallback<T>(mongoConverter, targetClass);
+      for (Object element : (Iterable<?>) rawResults) {
+        DBObject result = (DBObject) element;
+        T content = callback.doWith((DBObject) result.get("obj"));
+        results.add(new GeoResult<T>(content, toDouble(result.get("dis"))));
+      }
+    }
+
+    DBObject stats = (DBObject) commandResult.get("stats");
+    double averageDistance = stats == null ? 0 : toDouble(stats.get("avgDistance"));
+
+    return new GeoResults<T>(results, averageDistance);
+  }
+
   /* (non-Javadoc)
     * @see org.springframework.data.document.mongodb.MongoOperations#insert(java.lang.Object)
     */
@@ -595,15 +931,15 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     * @see org.springframework.data.document.mongodb.MongoOperations#insert(java.lang.String, T, org.springframework.data.document.mongodb.MongoWriter)
     */
   public <T> void insert(String collectionName, T objectToSave, MongoWriter<T> writer) {
-    BasicDBObject dbDoc = new BasicDBObject();
 
     maybeEmitEvent(new BeforeConvertEvent<T>(objectToSave));
-    writer.write(objectToSave, dbDoc);
+    DBObject dbDoc = toDbObject(objectToSave, writer);
 
     maybeEmitEvent(new BeforeSaveEvent<T>(objectToSave, dbDoc));
     Object id = insertDBObject(collectionName, dbDoc);
 
     populateIdIfNecessary(objectToSave, id);
+    trackIfNecessary(objectToSave, dbDoc);
     maybeEmitEvent(new AfterSaveEvent<T>(objectToSave, dbDoc));
   }
 
@@ -637,10 +973,9 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
 
     List<DBObject> dbObjectList = new ArrayList<DBObject>();
     for (T o : listToSave) {
-      BasicDBObject dbDoc = new BasicDBObject();
 
       maybeEmitEvent(new BeforeConvertEvent<T>(o));
-      writer.write(o, dbDoc);
+      DBObject dbDoc = toDbObject(o, writer);
 
       maybeEmitEvent(new BeforeSaveEvent<T>(o, dbDoc));
       dbObjectList.add(dbDoc);
@@ -650,6 +985,7 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
       if (i < ids.size()) {
         T obj = listToSave.get(i);
         populateIdIfNecessary(obj, ids.get(i));
+        trackIfNecessary(obj, dbObjectList.get(i));
         maybeEmitEvent(new AfterSaveEvent<T>(obj, dbObjectList.get(i)));
       }
     }
@@ -680,18 +1016,264 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     * @see org.springframework.data.document.mongodb.MongoOperations#save(java.lang.String, T, org.springframework.data.document.mongodb.MongoWriter)
     */
   public <T> void save(String collectionName, T objectToSave, MongoWriter<T> writer) {
-    BasicDBObject dbDoc = new BasicDBObject();
+
+    MongoPersistentEntity<?> versionedEntity = getVersionedEntity(objectToSave, writer);
+    if (versionedEntity != null) {
+      doSaveVersioned(collectionName, objectToSave, writer, versionedEntity.getVersionProperty());
+      return;
+    }
 
     maybeEmitEvent(new BeforeConvertEvent<T>(objectToSave));
-    writer.write(objectToSave, dbDoc);
+    DBObject dbDoc = toDbObject(objectToSave, writer);
 
     maybeEmitEvent(new BeforeSaveEvent<T>(objectToSave, dbDoc));
+
+    if (trackChanges && updateChangedFields(collectionName, objectToSave, dbDoc)) {
+      maybeEmitEvent(new AfterSaveEvent<T>(objectToSave, dbDoc));
+      return;
+    }
+
     Object id = saveDBObject(collectionName, dbDoc);
 
     populateIdIfNecessary(objectToSave, id);
+    trackIfNecessary(objectToSave, dbDoc);
     maybeEmitEvent(new AfterSaveEvent<T>(objectToSave, dbDoc));
   }
 
+  /**
+   * Updates the top-level fields of the given document that changed since the given entity was loaded or saved the
+   * last time. Entities not tracked yet, e.g. new ones, have to be saved in full.
+   *
+   * @param collectionName
+   * @param entity
+   * @param dbDoc
+   * @return whether the entity was tracked and the changes have been written.
+   */
+  private boolean updateChangedFields(String collectionName, Object entity, DBObject dbDoc) {
+
+    DBObject snapshot = changeTracker.getSnapshot(entity);
+    Object id = dbDoc.get(ID);
+
+    if (snapshot == null || id == null || !id.equals(snapshot.get(ID))) {
+      return false;
+    }
+
+    Update update = ChangeTracker.getUpdate(snapshot, dbDoc);
+
+    if (update != null) {
+      updateFirst(collectionName, new Query(Criteria.where(ID).is(id)), update);
+    }
+
+    changeTracker.track(entity, dbDoc);
+    return true;
+  }
+
+  /**
+   * Saves the given entity if the stored document still carries the version the entity was loaded with and increments
+   * the version. Entities without a version or id are inserted with an initial version of {@literal 0}.
+   *
+   * @param collectionName
+   * @param objectToSave
+   * @param writer
+   * @param versionProperty
+   */
+  private <T> void doSaveVersioned(String collectionName, T objectToSave, MongoWriter<T> writer,
+                                   MongoPersistentProperty versionProperty) {
+
+    Number version = getVersion(objectToSave, versionProperty);
+    setVersion(objectToSave, versionProperty, version == null ? 0 : version.longValue() + 1);
+    boolean saved = false;
+
+    try {
+
+      maybeEmitEvent(new BeforeConvertEvent<T>(objectToSave));
+      DBObject dbDoc = toDbObject(objectToSave, writer);
+
+      maybeEmitEvent(new BeforeSaveEvent<T>(objectToSave, dbDoc));
+      Object id = dbDoc.get(ID);
+
+      if (version == null || id == null) {
+        populateIdIfNecessary(objectToSave, insertDBObject(collectionName, dbDoc));
+      } else {
+
+        DBObject query = new BasicDBObject(ID, id);
+        query.put(versionProperty.getFieldName(), version);
+
+        DBObject snapshot = trackChanges ? changeTracker.getSnapshot(objectToSave) : null;
+        Update update = snapshot != null && id.equals(snapshot.get(ID)) ? ChangeTracker.getUpdate(snapshot, dbDoc)
+            : null;
+
+        if (doVersionedUpdate(collectionName, query, update == null ? dbDoc : update.getUpdateObject()).getN() == 0) {
+          throw new OptimisticLockingFailureException("Cannot save entity " + objectToSave + " with version "
+              + version + " to collection " + collectionName + ", it has been modified or removed concurrently");
+        }
+      }
+
+      saved = true;
+      trackIfNecessary(objectToSave, dbDoc);
+      maybeEmitEvent(new AfterSaveEvent<T>(objectToSave, dbDoc));
+
+    } finally {
+      if (!saved) {
+        setVersion(objectToSave, versionProperty, version);
+      }
+    }
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#updateVersioned(java.lang.String, java.lang.Object, org.springframework.data.document.mongodb.query.Update)
+    */
+  public WriteResult updateVersioned(String collectionName, Object entity, Update update) {
+
+    Assert.notNull(entity);
+    Assert.notNull(update);
+
+    MongoPersistentEntity<?> versionedEntity = getVersionedEntity(entity, mongoConverter);
+    if (versionedEntity == null) {
+      throw new InvalidDocumentStoreApiUsageException("Entity " + entity + " does not have a version property");
+    }
+
+    MongoPersistentProperty versionProperty = versionedEntity.getVersionProperty();
+    Number version = getVersion(entity, versionProperty);
+    Object id = getIdToQuery(entity, versionedEntity.getIdProperty());
+
+    if (version == null || id == null) {
+      throw new InvalidDocumentStoreApiUsageException("Cannot update entity " + entity + " without id and version");
+    }
+
+    DBObject query = new BasicDBObject(ID, id);
+    query.put(versionProperty.getFieldName(), version);
+
+    // Copy the update as not to add the version increment to the given one
+    DBObject updateObject = new BasicDBObject(getMappedObject(update.getUpdateObject(), entity.getClass(),
+        mongoConverter).toMap());
+    DBObject inc = (DBObject) updateObject.get("$inc");
+    inc = inc == null ? new BasicDBObject() : new BasicDBObject(inc.toMap());
+    inc.put(versionProperty.getFieldName(), 1);
+    updateObject.put("$inc", inc);
+
+    WriteResult wr = doVersionedUpdate(collectionName, query, updateObject);
+    if (wr.getN() == 0) {
+      throw new OptimisticLockingFailureException("Cannot update entity " + entity + " with version " + version
+          + " in collection " + collectionName + ", it has been modified or removed concurrently");
+    }
+
+    setVersion(entity, versionProperty, version.longValue() + 1);
+    return wr;
+  }
+
+  /**
+   * Executes the given update acknowledged, even if the configured {@link WriteConcern} doesn't wait for the server,
+   * so that the number of updated documents is known.
+   *
+   * @param collectionName
+   * @param query
+   * @param updateObject
+   * @return
+   */
+  private WriteResult doVersionedUpdate(String collectionName, final DBObject query, final DBObject updateObject) {
+    return execute(collectionName, new CollectionCallback<WriteResult>() {
+      public WriteResult doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+        return collection.update(query, updateObject, false, false, getAcknowledgedWriteConcern());
+      }
+    });
+  }
+
+  /**
+   * Returns the {@link MongoPersistentEntity} of the given object if it is written by a {@link MappingMongoConverter}
+   * and has a version property.
+   *
+   * @param entity
+   * @param writer
+   * @return
+   */
+  private MongoPersistentEntity<?> getVersionedEntity(Object entity, MongoWriter<?> writer) {
+
+    if (entity == null || !(writer instanceof MappingMongoConverter)) {
+      return null;
+    }
+
+    MappingContext mappingContext = ((MappingMongoConverter) writer).getMappingContext();
+    PersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(entity.getClass());
+
+    if (persistentEntity == null) {
+      persistentEntity = mappingContext.addPersistentEntity(entity.getClass());
+    }
+
+    if (persistentEntity instanceof MongoPersistentEntity
+        && ((MongoPersistentEntity<?>) persistentEntity).hasVersionProperty()) {
+      return (MongoPersistentEntity<?>) persistentEntity;
+    }
+
+    return null;
+  }
+
+  private Object getIdToQuery(Object entity, PersistentProperty idProperty) {
+
+    if (idProperty == null) {
+      return null;
+    }
+
+    Field field = idProperty.getField();
+    ReflectionUtils.makeAccessible(field);
+    Object id = ReflectionUtils.getField(field, entity);
+
+    if ((id instanceof String && ObjectId.isValid((String) id)) || id instanceof BigInteger) {
+      return mongoConverter.convertObjectId(id);
+    }
+
+    return id;
+  }
+
+  private static Number getVersion(Object entity, MongoPersistentProperty versionProperty) {
+
+    Field field = versionProperty.getField();
+    ReflectionUtils.makeAccessible(field);
+    return (Number) ReflectionUtils.getField(field, entity);
+  }
+
+  private static void setVersion(Object entity, MongoPersistentProperty versionProperty, Number version) {
+
+    Field field = versionProperty.getField();
+    Class<?> type = field.getType();
+    Object value = version;
+
+    if (version != null) {
+      value = type == int.class || type == Integer.class ? Integer.valueOf(version.intValue()) : Long.valueOf(version
+          .longValue());
+    }
+
+    ReflectionUtils.makeAccessible(field);
+    ReflectionUtils.setField(field, entity, value);
+  }
+
+  private void trackIfNecessary(Object entity, DBObject dbDoc) {
+    if (trackChanges && null != entity && null != dbDoc) {
+      changeTracker.track(entity, dbDoc);
+    }
+  }
+
+
+  /**
+   * Converts the given object into a {@link DBObject} using the given {@link MongoWriter}. A
+   * {@link MappingMongoConverter} configured to write directly hands out a {@link DBObject} reading the entity's
+   * properties while it is encoded instead of copying them first, unless changes are tracked, which requires a
+   * detached copy.
+   *
+   * @param objectToSave
+   * @param writer
+   * @return
+   */
+  private <T> DBObject toDbObject(T objectToSave, MongoWriter<T> writer) {
+
+    if (!trackChanges && writer instanceof MappingMongoConverter && ((MappingMongoConverter) writer).isWriteDirectly()) {
+      return ((MappingMongoConverter) writer).toDBObject(objectToSave);
+    }
+
+    DBObject dbDoc = new BasicDBObject();
+    writer.write(objectToSave, dbDoc);
+    return dbDoc;
+  }
 
   protected Object insertDBObject(String collectionName, final DBObject dbDoc) {
 
@@ -701,10 +1283,11 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
 
     return execute(collectionName, new CollectionCallback<Object>() {
       public Object doInCollection(DBCollection collection) throws MongoException, DataAccessException {
-        if (writeConcern == null) {
+        WriteConcern concern = getWriteConcernToUse();
+        if (concern == null) {
           collection.insert(dbDoc);
         } else {
-          collection.insert(dbDoc, writeConcern);
+          collection.insert(dbDoc, concern);
         }
         return dbDoc.get(ID);
       }
@@ -719,10 +1302,11 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
 
     execute(collectionName, new CollectionCallback<Void>() {
       public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
-        if (writeConcern == null) {
+        WriteConcern concern = getWriteConcernToUse();
+        if (concern == null) {
           collection.insert(dbDocList);
         } else {
-          collection.insert(dbDocList.toArray((DBObject[]) new BasicDBObject[dbDocList.size()]), writeConcern);
+          collection.insert(dbDocList.toArray((DBObject[]) new BasicDBObject[dbDocList.size()]), concern);
         }
         return null;
       }
@@ -749,10 +1333,11 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
 
     return execute(collectionName, new CollectionCallback<Object>() {
       public Object doInCollection(DBCollection collection) throws MongoException, DataAccessException {
-        if (writeConcern == null) {
+        WriteConcern concern = getWriteConcernToUse();
+        if (concern == null) {
           collection.save(dbDoc);
         } else {
-          collection.save(dbDoc, writeConcern);
+          collection.save(dbDoc, concern);
         }
         return dbDoc.get(ID);
       }
@@ -770,40 +1355,86 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     * @see org.springframework.data.document.mongodb.MongoOperations#updateFirst(java.lang.String, com.mongodb.DBObject, com.mongodb.DBObject)
     */
   public WriteResult updateFirst(String collectionName, final Query query, final Update update) {
+    return doUpdate(collectionName, query.getQueryObject(), update.getUpdateObject(), false);
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#updateFirst(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update, java.lang.Class)
+    */
+  public WriteResult updateFirst(String collectionName, Query query, Update update, Class<?> entityClass) {
+    return doUpdate(collectionName, getMappedObject(query.getQueryObject(), entityClass, mongoConverter),
+        getMappedObject(update.getUpdateObject(), entityClass, mongoConverter), false);
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#updateMulti(com.mongodb.DBObject, com.mongodb.DBObject)
+    */
+  public WriteResult updateMulti(Query query, Update update) {
+    return updateMulti(getRequiredDefaultCollectionName(), query, update);
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#updateMulti(java.lang.String, com.mongodb.DBObject, com.mongodb.DBObject)
+    */
+  public WriteResult updateMulti(String collectionName, final Query query, final Update update) {
+    return doUpdate(collectionName, query.getQueryObject(), update.getUpdateObject(), true);
+  }
+
+  /* (non-Javadoc)
+    * @see org.springframework.data.document.mongodb.MongoOperations#updateMulti(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update, java.lang.Class)
+    */
+  public WriteResult updateMulti(String collectionName, Query query, Update update, Class<?> entityClass) {
+    return doUpdate(collectionName, getMappedObject(query.getQueryObject(), entityClass, mongoConverter),
+        getMappedObject(update.getUpdateObject(), entityClass, mongoConverter), true);
+  }
+
+  /**
+   * Applies the given update to the first or all documents matching the given query.
+   *
+   * @param collectionName
+   * @param queryObject
+   * @param updateObject
+   * @param multi
+   * @return
+   */
+  protected WriteResult doUpdate(String collectionName, final DBObject queryObject, final DBObject updateObject,
+                                 final boolean multi) {
     return execute(collectionName, new CollectionCallback<WriteResult>() {
       public WriteResult doInCollection(DBCollection collection) throws MongoException, DataAccessException {
         WriteResult wr;
-        if (writeConcern == null) {
-          wr = collection.update(query.getQueryObject(), update.getUpdateObject());
+        WriteConcern concern = getWriteConcernToUse();
+        if (concern == null) {
+          wr = multi ? collection.updateMulti(queryObject, updateObject) : collection.update(queryObject, updateObject);
         } else {
-          wr = collection.update(query.getQueryObject(), update.getUpdateObject(), false, false, writeConcern);
+          wr = collection.update(queryObject, updateObject, false, multi, concern);
         }
-        handleAnyWriteResultErrors(wr, query.getQueryObject(), "update with '" + update.getUpdateObject() + "'");
+        handleAnyWriteResultErrors(wr, queryObject, "update with '" + updateObject + "'");
         return wr;
       }
     });
   }
 
   /* (non-Javadoc)
-    * @see org.springframework.data.document.mongodb.MongoOperations#updateMulti(com.mongodb.DBObject, com.mongodb.DBObject)
+    * @see org.springframework.data.document.mongodb.MongoOperations#upsert(org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update)
     */
-  public WriteResult updateMulti(Query query, Update update) {
-    return updateMulti(getRequiredDefaultCollectionName(), query, update);
+  public WriteResult upsert(Query query, Update update) {
+    return upsert(getRequiredDefaultCollectionName(), query, update);
   }
 
   /* (non-Javadoc)
-    * @see org.springframework.data.document.mongodb.MongoOperations#updateMulti(java.lang.String, com.mongodb.DBObject, com.mongodb.DBObject)
+    * @see org.springframework.data.document.mongodb.MongoOperations#upsert(java.lang.String, org.springframework.data.document.mongodb.query.Query, org.springframework.data.document.mongodb.query.Update)
     */
-  public WriteResult updateMulti(String collectionName, final Query query, final Update update) {
+  public WriteResult upsert(String collectionName, final Query query, final Update update) {
     return execute(collectionName, new CollectionCallback<WriteResult>() {
       public WriteResult doInCollection(DBCollection collection) throws MongoException, DataAccessException {
-        WriteResult wr = null;
-        if (writeConcern == null) {
-          wr = collection.updateMulti(query.getQueryObject(), update.getUpdateObject());
+        WriteResult wr;
+        WriteConcern concern = getWriteConcernToUse();
+        if (concern == null) {
+          wr = collection.update(query.getQueryObject(), update.getUpdateObject(), true, false);
         } else {
-          wr = collection.update(query.getQueryObject(), update.getUpdateObject(), false, true, writeConcern);
+          wr = collection.update(query.getQueryObject(), update.getUpdateObject(), true, false, concern);
         }
-        handleAnyWriteResultErrors(wr, query.getQueryObject(), "update with '" + update.getUpdateObject() + "'");
+        handleAnyWriteResultErrors(wr, query.getQueryObject(), "upsert with '" + update.getUpdateObject() + "'");
         return wr;
       }
     });
@@ -823,10 +1454,11 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     execute(collectionName, new CollectionCallback<Void>() {
       public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
         WriteResult wr = null;
-        if (writeConcern == null) {
+        WriteConcern concern = getWriteConcernToUse();
+        if (concern == null) {
           wr = collection.remove(query.getQueryObject());
         } else {
-          wr = collection.remove(query.getQueryObject(), writeConcern);
+          wr = collection.remove(query.getQueryObject(), concern);
         }
         handleAnyWriteResultErrors(wr, query.getQueryObject(), "remove");
         return null;
@@ -905,9 +1537,11 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     if (readerToUse == null) {
       readerToUse = this.mongoConverter;
     }
+    query = getMappedObject(query, targetClass, readerToUse);
+    fields = getMappedObject(fields, targetClass, readerToUse);
     substituteMappedIdIfNecessary(query, targetClass, readerToUse);
-    return execute(new FindOneCallback(query, fields), new ReadDbObjectCallback<T>(readerToUse, targetClass),
-        collectionName);
+    return execute(new FindOneCallback(query, getFieldsToRead(fields, targetClass, readerToUse)),
+        new ReadDbObjectCallback<T>(readerToUse, targetClass), collectionName);
   }
 
   /**
@@ -930,9 +1564,11 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
    * @return the List of converted objects.
    */
   protected <T> List<T> doFind(String collectionName, DBObject query, DBObject fields, Class<T> targetClass, CursorPreparer preparer) {
+    query = getMappedObject(query, targetClass, mongoConverter);
+    fields = getMappedObject(fields, targetClass, mongoConverter);
     substituteMappedIdIfNecessary(query, targetClass, mongoConverter);
-    return executeEach(new FindCallback(query, fields), preparer, new ReadDbObjectCallback<T>(mongoConverter, targetClass),
-        collectionName);
+    return executeEach(new FindCallback(query, getFieldsToRead(fields, targetClass, mongoConverter)), preparer,
+        new ReadDbObjectCallback<T>(mongoConverter, targetClass), collectionName);
   }
 
   /**
@@ -948,9 +1584,11 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
    * @return the List of converted objects.
    */
   protected <T> List<T> doFind(String collectionName, DBObject query, DBObject fields, Class<T> targetClass, MongoReader<T> reader) {
+    query = getMappedObject(query, targetClass, reader);
+    fields = getMappedObject(fields, targetClass, reader);
     substituteMappedIdIfNecessary(query, targetClass, reader);
-    return executeEach(new FindCallback(query, fields), null, new ReadDbObjectCallback<T>(reader, targetClass),
-        collectionName);
+    return executeEach(new FindCallback(query, getFieldsToRead(fields, targetClass, reader)), null,
+        new ReadDbObjectCallback<T>(reader, targetClass), collectionName);
   }
 
   protected DBObject convertToDbObject(CollectionOptions collectionOptions) {
@@ -986,11 +1624,28 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     if (readerToUse == null) {
       readerToUse = this.mongoConverter;
     }
+    query = getMappedObject(query, targetClass, readerToUse);
+    fields = getMappedObject(fields, targetClass, readerToUse);
+    sort = getMappedObject(sort, targetClass, readerToUse);
     substituteMappedIdIfNecessary(query, targetClass, readerToUse);
     return execute(new FindAndRemoveCallback(query, fields, sort), new ReadDbObjectCallback<T>(readerToUse, targetClass),
         collectionName);
   }
 
+  /**
+   * Translates the keys of the given query, fields, sort or update object into the keys the properties of the given
+   * type are stored under if the given converter is a {@link MappingMongoConverter}.
+   *
+   * @param object
+   * @param type
+   * @param converter
+   * @return
+   */
+  private DBObject getMappedObject(DBObject object, Class<?> type, Object converter) {
+    return object == null || type == null || !(converter instanceof MappingMongoConverter) ? object
+        : ((MappingMongoConverter) converter).getMappedObject(object, type);
+  }
+
   /**
    * Populates the id property of the saved object, if it's not set already.
    *
@@ -1004,7 +1659,7 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     }
 
     ConfigurablePropertyAccessor bw = PropertyAccessorFactory.forDirectFieldAccess(savedObject);
-    MongoPropertyDescriptor idDescriptor = new MongoPropertyDescriptors(savedObject.getClass()).getIdDescriptor();
+    MongoPropertyDescriptor idDescriptor = getPropertyDescriptors(savedObject.getClass()).getIdDescriptor();
 
     if (idDescriptor == null) {
       return;
@@ -1021,6 +1676,18 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     }
   }
 
+  /**
+   * Returns the {@link MongoPropertyDescriptors} of the given type, cached by the {@link SimpleMongoConverter} if one is
+   * used.
+   *
+   * @param type
+   * @return
+   */
+  private MongoPropertyDescriptors getPropertyDescriptors(Class<?> type) {
+    return mongoConverter instanceof SimpleMongoConverter ? ((SimpleMongoConverter) mongoConverter)
+        .getPropertyDescriptors(type) : new MongoPropertyDescriptors(type);
+  }
+
   /**
    * Substitutes the id key if it is found in he query. Any 'id' keys will be replaced with '_id' and the value converted
    * to an ObjectId if possible. This conversion should match the way that the id fields are converted during read
@@ -1048,10 +1715,8 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
       // no ids in this query
       return;
     }
-    final MongoPropertyDescriptor descriptor;
-    try {
-      descriptor = new MongoPropertyDescriptor(new PropertyDescriptor(idKey, targetClass), targetClass);
-    } catch (IntrospectionException e) {
+    final MongoPropertyDescriptor descriptor = getPropertyDescriptors(targetClass).getDescriptor(idKey);
+    if (descriptor == null || descriptor.getReadMethod() == null || descriptor.getWriteMethod() == null) {
       // no property descriptor for this key
       return;
     }
@@ -1075,6 +1740,27 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
   }
 
 
+  /**
+   * Returns the fields specification to use for reading documents into the given type. If no fields were given
+   * explicitly and {@link #setProjectMappedFields(boolean)} is enabled, this will be the properties mapped by the
+   * {@link MappingMongoConverter} for the type.
+   *
+   * @param fields
+   * @param targetClass
+   * @param reader
+   * @return
+   */
+  private DBObject getFieldsToRead(DBObject fields, Class<?> targetClass, MongoReader<?> reader) {
+
+    if (!projectMappedFields || !(reader instanceof MappingMongoConverter)
+        || (fields != null && !fields.keySet().isEmpty())) {
+      return fields;
+    }
+
+    DBObject mappedFields = ((MappingMongoConverter) reader).getMappedFields(targetClass);
+    return mappedFields == null ? fields : mappedFields;
+  }
+
   private String getRequiredDefaultCollectionName() {
     String name = getDefaultCollectionName();
     if (name == null) {
@@ -1084,6 +1770,68 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     return name;
   }
 
+  /**
+   * Returns the content of the given resource if the given function is a resource location (e.g.
+   * {@code classpath:map.js}), otherwise the function as is.
+   *
+   * @param function
+   * @return
+   */
+  private String replaceWithResourceIfNecessary(String function) {
+
+    if (!ResourceUtils.isUrl(function)) {
+      return function;
+    }
+
+    ResourceLoader resourceLoader = applicationContext == null ? new DefaultResourceLoader() : applicationContext;
+    Resource resource = resourceLoader.getResource(function);
+
+    try {
+      return FileCopyUtils.copyToString(new InputStreamReader(resource.getInputStream(), "UTF-8"));
+    } catch (IOException e) {
+      throw new InvalidDocumentStoreApiUsageException("Cannot read function from " + function, e);
+    }
+  }
+
+  /**
+   * Converts the given list of result documents of a command into the given target type.
+   *
+   * @param results
+   * @param targetClass
+   * @return
+   */
+  private <T> List<T> readCommandResults(Object results, Class<T> targetClass) {
+
+    List<T> mappedResults = new ArrayList<T>();
+
+    if (!(results instanceof Iterable)) {
+      return mappedResults;
+    }
+
+    ReadDbObjectCallback<T> callback = new ReadDbObjectCallback<T>(mongoConverter, targetClass);
+    for (Object result : (Iterable<?>) results) {
+      mappedResults.add(callback.doWith((DBObject) result));
+    }
+    return mappedResults;
+  }
+
+  /**
+   * Throws an {@link InvalidDocumentStoreApiUsageException} if the given command did not execute successfully.
+   *
+   * @param result
+   * @param command
+   */
+  private void handleCommandError(CommandResult result, DBObject command) {
+    if (!result.ok()) {
+      throw new InvalidDocumentStoreApiUsageException("Command execution of " + command.toString() + " failed: "
+          + result.getErrorMessage());
+    }
+  }
+
+  private static double toDouble(Object value) {
+    return value instanceof Number ? ((Number) value).doubleValue() : 0;
+  }
+
   /**
    * Checks and handles any errors.
    * <p/>
@@ -1091,7 +1839,7 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
    * throw exception in later versions
    */
   private void handleAnyWriteResultErrors(WriteResult wr, DBObject query, String operation) {
-    if (WriteResultChecking.NONE == this.writeResultChecking) {
+    if (WriteResultChecking.NONE == this.writeResultChecking || batches.get() != null) {
       return;
     }
     String error = wr.getError();
@@ -1277,6 +2025,7 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
       }
       T source = reader.read(type, object);
       if (null != source) {
+        trackIfNecessary(source, object);
         maybeEmitEvent(new AfterConvertEvent<T>(object, source));
       }
       return source;
@@ -1294,4 +2043,27 @@ public class MongoTemplate implements InitializingBean, MongoOperations, Applica
     this.writeResultChecking = resultChecking;
   }
 
+  /**
+   * Configures whether queries not selecting any fields explicitly shall only return the fields mapped to properties
+   * of the target type, so that unmapped parts of large documents are neither transferred nor decoded. Only applies
+   * if a {@link MappingMongoConverter} is used. Defaults to {@literal false}.
+   *
+   * @param projectMappedFields
+   */
+  public void setProjectMappedFields(boolean projectMappedFields) {
+    this.projectMappedFields = projectMappedFields;
+  }
+
+  /**
+   * Configures whether to keep the documents entities were loaded from, inserted or saved as, so that saving them
+   * again only sends the top-level fields that changed using {@code $set}, {@code $unset} and {@code $push} rather
+   * than replacing the whole document. Entities not known to the template yet are saved in full. Note that an update
+   * does not re-create a document that has been removed in the meantime. Defaults to {@literal false}.
+   *
+   * @param trackChanges
+   */
+  public void setTrackChanges(boolean trackChanges) {
+    this.trackChanges = trackChanges;
+  }
+
 }
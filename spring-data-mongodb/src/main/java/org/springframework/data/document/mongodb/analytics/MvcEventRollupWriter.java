@@ -0,0 +1,267 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.analytics;
+
+import static org.springframework.data.document.mongodb.query.Criteria.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.document.analytics.MvcEvent;
+import org.springframework.data.document.analytics.MvcEventRollup;
+import org.springframework.data.document.analytics.RollupGranularity;
+import org.springframework.data.document.mongodb.MongoOperations;
+import org.springframework.data.document.mongodb.query.Index;
+import org.springframework.data.document.mongodb.query.Order;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.query.Update;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.Assert;
+
+/**
+ * Records {@link MvcEvent}s as pre-aggregated counters. Every event increments one bucket document per
+ * {@link RollupGranularity} and controller action using an upsert with {@code $inc}, so that reports only have to
+ * read a handful of bucket documents instead of scanning the raw events. Storing the raw events is optional and
+ * limited to a configurable retention window. Expired events are removed by {@link #purgeExpiredEvents()}, which is
+ * scheduled on the configured {@link TaskScheduler} or has to be invoked periodically by the caller if there is none.
+ */
+public class MvcEventRollupWriter implements InitializingBean, DisposableBean {
+
+  public static final String DEFAULT_ROLLUP_COLLECTION_PREFIX = "mvc.rollup";
+
+  public static final String DEFAULT_EVENT_COLLECTION = "mvc";
+
+  private static final String CONTROLLER = "controller";
+  private static final String ACTION = "action";
+  private static final String DATE = "date";
+  private static final String COUNT = "count";
+
+  private final MongoOperations mongoOperations;
+
+  private String rollupCollectionPrefix = DEFAULT_ROLLUP_COLLECTION_PREFIX;
+
+  private String eventCollection = DEFAULT_EVENT_COLLECTION;
+
+  private RollupGranularity[] granularities = RollupGranularity.values();
+
+  private boolean storeEvents = false;
+
+  private long eventRetentionMillis = 0;
+
+  private TaskScheduler taskScheduler;
+
+  private long purgeIntervalMillis = 60 * 60 * 1000;
+
+  private ScheduledFuture<?> purgeTask;
+
+  /**
+   * Creates a new {@link MvcEventRollupWriter} using the given {@link MongoOperations}.
+   *
+   * @param mongoOperations must not be {@literal null}
+   */
+  public MvcEventRollupWriter(MongoOperations mongoOperations) {
+    Assert.notNull(mongoOperations);
+    this.mongoOperations = mongoOperations;
+  }
+
+  /**
+   * Sets the prefix of the collections the buckets are stored in. The lower case name of the
+   * {@link RollupGranularity} gets appended, e.g. {@code mvc.rollup.hour}. Defaults to
+   * {@value #DEFAULT_ROLLUP_COLLECTION_PREFIX}.
+   *
+   * @param rollupCollectionPrefix
+   */
+  public void setRollupCollectionPrefix(String rollupCollectionPrefix) {
+    Assert.hasText(rollupCollectionPrefix);
+    this.rollupCollectionPrefix = rollupCollectionPrefix;
+  }
+
+  /**
+   * Sets the collection raw events are stored in if {@link #setStoreEvents(boolean)} is enabled. Defaults to
+   * {@value #DEFAULT_EVENT_COLLECTION}.
+   *
+   * @param eventCollection
+   */
+  public void setEventCollection(String eventCollection) {
+    Assert.hasText(eventCollection);
+    this.eventCollection = eventCollection;
+  }
+
+  /**
+   * Sets the granularities to maintain buckets for. Defaults to all {@link RollupGranularity}s.
+   *
+   * @param granularities
+   */
+  public void setGranularities(RollupGranularity... granularities) {
+    Assert.notEmpty(granularities);
+    this.granularities = granularities;
+  }
+
+  /**
+   * Whether to store the raw {@link MvcEvent}s in addition to the buckets. Defaults to {@literal false}.
+   *
+   * @param storeEvents
+   */
+  public void setStoreEvents(boolean storeEvents) {
+    this.storeEvents = storeEvents;
+  }
+
+  /**
+   * Sets how long raw events are kept, in milliseconds. A value of {@literal 0} keeps them forever. Expired events are
+   * only removed if a {@link TaskScheduler} is configured or {@link #purgeExpiredEvents()} is invoked periodically.
+   *
+   * @param eventRetentionMillis
+   */
+  public void setEventRetentionMillis(long eventRetentionMillis) {
+    Assert.isTrue(eventRetentionMillis >= 0, "Retention must not be negative!");
+    this.eventRetentionMillis = eventRetentionMillis;
+  }
+
+  /**
+   * Sets the {@link TaskScheduler} to run {@link #purgeExpiredEvents()} on if a retention is configured.
+   *
+   * @param taskScheduler
+   */
+  public void setTaskScheduler(TaskScheduler taskScheduler) {
+    this.taskScheduler = taskScheduler;
+  }
+
+  /**
+   * Sets the number of milliseconds between two scheduled purges of expired events. Defaults to one hour.
+   *
+   * @param purgeIntervalMillis
+   */
+  public void setPurgeIntervalMillis(long purgeIntervalMillis) {
+    Assert.isTrue(purgeIntervalMillis > 0, "Purge interval must be greater than zero!");
+    this.purgeIntervalMillis = purgeIntervalMillis;
+  }
+
+  /**
+   * Creates a unique index on controller, action and bucket date for every bucket collection and schedules the purge
+   * of expired events if a {@link TaskScheduler} and a retention are configured.
+   *
+   * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+   */
+  public void afterPropertiesSet() {
+    for (RollupGranularity granularity : granularities) {
+      Index index = new Index(CONTROLLER, Order.ASCENDING).on(ACTION, Order.ASCENDING).on(DATE, Order.ASCENDING)
+          .unique();
+      mongoOperations.ensureIndex(getRollupCollection(granularity), index);
+    }
+
+    if (taskScheduler != null && eventRetentionMillis > 0) {
+      purgeTask = taskScheduler.scheduleWithFixedDelay(new Runnable() {
+        public void run() {
+          purgeExpiredEvents();
+        }
+      }, purgeIntervalMillis);
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.beans.factory.DisposableBean#destroy()
+   */
+  public void destroy() {
+    if (purgeTask != null) {
+      purgeTask.cancel(false);
+      purgeTask = null;
+    }
+  }
+
+  /**
+   * Increments the buckets the given event falls into and stores the raw event if configured to. Events without a
+   * date are recorded at the current time, which is set on the event.
+   *
+   * @param event must not be {@literal null}
+   */
+  public void write(MvcEvent event) {
+
+    Assert.notNull(event);
+    Assert.hasText(event.getController(), "Event must have a controller!");
+    Assert.hasText(event.getAction(), "Event must have an action!");
+
+    if (event.getDate() == null) {
+      event.setDate(new Date());
+    }
+
+    Date date = event.getDate();
+
+    for (RollupGranularity granularity : granularities) {
+      Query query = getBucketQuery(event.getController(), event.getAction(), granularity.truncate(date));
+      mongoOperations.upsert(getRollupCollection(granularity), query, new Update().inc(COUNT, 1L));
+    }
+
+    if (storeEvents) {
+      mongoOperations.insert(eventCollection, event);
+    }
+  }
+
+  /**
+   * Returns the buckets of the given granularity for the given controller action, ordered by date. Buckets are
+   * selected if their start lies within {@code from} (inclusive) and {@code to} (exclusive).
+   *
+   * @param granularity must not be {@literal null}
+   * @param controller
+   * @param action
+   * @param from        must not be {@literal null}
+   * @param to          must not be {@literal null}
+   * @return
+   */
+  public List<MvcEventRollup> findRollups(RollupGranularity granularity, String controller, String action, Date from,
+                                          Date to) {
+
+    Assert.notNull(granularity);
+    Assert.notNull(from);
+    Assert.notNull(to);
+
+    Query query = new Query(where(CONTROLLER).is(controller).and(ACTION).is(action).and(DATE)
+        .gte(granularity.truncate(from)).lt(to));
+    query.sort().on(DATE, Order.ASCENDING);
+
+    return mongoOperations.find(getRollupCollection(granularity), query, MvcEventRollup.class);
+  }
+
+  /**
+   * Removes all raw events older than the configured retention window. Does nothing if no retention is configured.
+   */
+  public void purgeExpiredEvents() {
+
+    if (eventRetentionMillis == 0) {
+      return;
+    }
+
+    Date threshold = new Date(System.currentTimeMillis() - eventRetentionMillis);
+    mongoOperations.remove(eventCollection, new Query(where(DATE).lt(threshold)));
+  }
+
+  /**
+   * Returns the name of the collection the buckets of the given granularity are stored in.
+   *
+   * @param granularity
+   * @return
+   */
+  public String getRollupCollection(RollupGranularity granularity) {
+    return rollupCollectionPrefix + "." + granularity.name().toLowerCase();
+  }
+
+  private Query getBucketQuery(String controller, String action, Date bucket) {
+    return new Query(where(CONTROLLER).is(controller).and(ACTION).is(action).and(DATE).is(bucket));
+  }
+}
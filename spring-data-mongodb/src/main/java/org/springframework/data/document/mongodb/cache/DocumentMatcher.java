@@ -0,0 +1,393 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.mongodb.DBObject;
+import org.springframework.data.document.InvalidDocumentStoreApiUsageException;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Evaluates query and sort objects against {@link DBObject}s in memory. Supports equality, {@code $ne}, {@code $in},
+ * {@code $nin}, {@code $gt}, {@code $gte}, {@code $lt}, {@code $lte}, {@code $exists}, {@code $size}, {@code $all},
+ * {@code $regex}, {@code $not}, {@code $or}, {@code $and} and {@code $nor} on dotted paths. Other operators are
+ * rejected.
+ */
+abstract class DocumentMatcher {
+
+  private DocumentMatcher() {
+  }
+
+  /**
+   * Returns whether the given document matches the given query object.
+   *
+   * @param document must not be {@literal null}
+   * @param query    can be {@literal null}
+   * @return
+   */
+  public static boolean matches(DBObject document, DBObject query) {
+
+    if (query == null) {
+      return true;
+    }
+
+    for (String key : query.keySet()) {
+
+      Object expected = query.get(key);
+
+      if ("$or".equals(key)) {
+        if (!matchesAny(document, expected)) {
+          return false;
+        }
+      } else if ("$nor".equals(key)) {
+        if (matchesAny(document, expected)) {
+          return false;
+        }
+      } else if ("$and".equals(key)) {
+        for (Object element : asList(expected)) {
+          if (!matches(document, (DBObject) element)) {
+            return false;
+          }
+        }
+      } else if (key.startsWith("$")) {
+        throw new InvalidDocumentStoreApiUsageException("Operator " + key + " can't be evaluated in memory");
+      } else if (!matchesValue(getValue(document, key), expected)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns a {@link Comparator} ordering documents as the given sort object would.
+   *
+   * @param sort must not be {@literal null}
+   * @return
+   */
+  public static Comparator<DBObject> getComparator(final DBObject sort) {
+
+    return new Comparator<DBObject>() {
+      public int compare(DBObject left, DBObject right) {
+
+        for (String key : sort.keySet()) {
+
+          Object direction = sort.get(key);
+          boolean descending = direction instanceof Number && ((Number) direction).intValue() < 0;
+          int result = compareNullsFirst(getSortValue(getValue(left, key), descending), getSortValue(getValue(right,
+              key), descending));
+
+          if (result != 0) {
+            return descending ? -result : result;
+          }
+        }
+
+        return 0;
+      }
+    };
+  }
+
+  /**
+   * Returns the value of the given dotted path in the given document, descending into embedded documents and into
+   * lists for numeric segments. Other segments applied to a list descend into each of its embedded documents, as the
+   * server does, collecting their values into a list.
+   *
+   * @param document
+   * @param path
+   * @return the value or {@literal null} if the path doesn't exist.
+   */
+  public static Object getValue(DBObject document, String path) {
+    return getValue(document, path.split("\\."), 0);
+  }
+
+  private static Object getValue(Object current, String[] segments, int index) {
+
+    if (index == segments.length) {
+      return current;
+    }
+
+    String segment = segments[index];
+
+    if (current instanceof List && isIndex(segment)) {
+      List<?> list = (List<?>) current;
+      int position = Integer.parseInt(segment);
+      return getValue(position < list.size() ? list.get(position) : null, segments, index + 1);
+    }
+
+    if (current instanceof List) {
+
+      List<Object> values = new ArrayList<Object>();
+
+      for (Object element : (List<?>) current) {
+
+        Object value = element instanceof DBObject && !(element instanceof List) ? getValue(element, segments, index)
+            : null;
+
+        if (value instanceof Collection) {
+          values.addAll((Collection<?>) value);
+        } else if (value != null) {
+          values.add(value);
+        }
+      }
+
+      return values.isEmpty() ? null : values;
+    }
+
+    if (current instanceof DBObject) {
+      return getValue(((DBObject) current).get(segment), segments, index + 1);
+    }
+
+    return null;
+  }
+
+  private static boolean matchesAny(DBObject document, Object queries) {
+
+    for (Object element : asList(queries)) {
+      if (matches(document, (DBObject) element)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean matchesValue(Object actual, Object expected) {
+
+    if (expected instanceof Pattern) {
+      return matchesPattern(actual, (Pattern) expected);
+    }
+
+    if (!isOperatorObject(expected)) {
+      return equalsOrContains(actual, expected);
+    }
+
+    DBObject operators = (DBObject) expected;
+
+    for (String operator : operators.keySet()) {
+      if (!matchesOperator(actual, operator, operators.get(operator))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean matchesOperator(Object actual, String operator, Object operand) {
+
+    if ("$ne".equals(operator)) {
+      return !equalsOrContains(actual, operand);
+    } else if ("$in".equals(operator)) {
+      return containsAny(actual, asList(operand));
+    } else if ("$nin".equals(operator)) {
+      return !containsAny(actual, asList(operand));
+    } else if ("$all".equals(operator)) {
+      for (Object element : asList(operand)) {
+        if (!equalsOrContains(actual, element)) {
+          return false;
+        }
+      }
+      return true;
+    } else if ("$gt".equals(operator)) {
+      Integer result = compare(actual, operand);
+      return result != null && result > 0;
+    } else if ("$gte".equals(operator)) {
+      Integer result = compare(actual, operand);
+      return result != null && result >= 0;
+    } else if ("$lt".equals(operator)) {
+      Integer result = compare(actual, operand);
+      return result != null && result < 0;
+    } else if ("$lte".equals(operator)) {
+      Integer result = compare(actual, operand);
+      return result != null && result <= 0;
+    } else if ("$exists".equals(operator)) {
+      return isTrue(operand) == (actual != null);
+    } else if ("$size".equals(operator)) {
+      return actual instanceof Collection && operand instanceof Number
+          && ((Collection<?>) actual).size() == ((Number) operand).intValue();
+    } else if ("$regex".equals(operator)) {
+      return matchesPattern(actual, operand instanceof Pattern ? (Pattern) operand : Pattern.compile(operand
+          .toString()));
+    } else if ("$not".equals(operator)) {
+      return !matchesValue(actual, operand);
+    }
+
+    throw new InvalidDocumentStoreApiUsageException("Operator " + operator + " can't be evaluated in memory");
+  }
+
+  private static boolean matchesPattern(Object actual, Pattern pattern) {
+
+    if (actual instanceof Collection) {
+      for (Object element : (Collection<?>) actual) {
+        if (matchesPattern(element, pattern)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    return actual instanceof String && pattern.matcher((String) actual).find();
+  }
+
+  private static boolean containsAny(Object actual, List<?> candidates) {
+
+    for (Object candidate : candidates) {
+      if (candidate instanceof Pattern ? matchesPattern(actual, (Pattern) candidate) : equalsOrContains(actual,
+          candidate)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean equalsOrContains(Object actual, Object expected) {
+
+    if (actual instanceof Collection && !(expected instanceof Collection)) {
+      for (Object element : (Collection<?>) actual) {
+        if (valueEquals(element, expected)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    return valueEquals(actual, expected);
+  }
+
+  private static boolean valueEquals(Object left, Object right) {
+
+    if (left instanceof Number && right instanceof Number) {
+      return ((Number) left).doubleValue() == ((Number) right).doubleValue();
+    }
+
+    if (left instanceof Collection && right instanceof Collection) {
+      return asList(left).equals(asList(right));
+    }
+
+    return ObjectUtils.nullSafeEquals(left, right);
+  }
+
+  /**
+   * Compares the given values if they are of comparable types.
+   *
+   * @param left
+   * @param right
+   * @return the comparison result or {@literal null} if the values can't be compared.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Integer compare(Object left, Object right) {
+
+    if (left instanceof Number && right instanceof Number) {
+      return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+    }
+
+    if (left instanceof Comparable && right != null && left.getClass().equals(right.getClass())) {
+      return ((Comparable) left).compareTo(right);
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the value to sort by for the given value, which is the smallest element of a list for ascending and the
+   * largest for descending order, as the server does.
+   *
+   * @param value
+   * @param descending
+   * @return
+   */
+  private static Object getSortValue(Object value, boolean descending) {
+
+    if (!(value instanceof Collection)) {
+      return value;
+    }
+
+    Object result = null;
+
+    for (Object element : (Collection<?>) value) {
+      int comparison = compareNullsFirst(element, result);
+      if (result == null || (descending ? comparison > 0 : comparison < 0)) {
+        result = element;
+      }
+    }
+
+    return result;
+  }
+
+  private static boolean isTrue(Object value) {
+    return value instanceof Number ? ((Number) value).doubleValue() != 0 : Boolean.TRUE.equals(value);
+  }
+
+  private static int compareNullsFirst(Object left, Object right) {
+
+    if (left == null || right == null) {
+      return left == null ? (right == null ? 0 : -1) : 1;
+    }
+
+    Integer result = compare(left, right);
+    return result == null ? 0 : result;
+  }
+
+  private static boolean isOperatorObject(Object value) {
+
+    if (!(value instanceof DBObject) || value instanceof List || ((DBObject) value).keySet().isEmpty()) {
+      return false;
+    }
+
+    for (String key : ((DBObject) value).keySet()) {
+      if (!key.startsWith("$")) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean isIndex(String segment) {
+
+    for (int i = 0; i < segment.length(); i++) {
+      if (!Character.isDigit(segment.charAt(i))) {
+        return false;
+      }
+    }
+
+    return segment.length() > 0;
+  }
+
+  private static List<?> asList(Object value) {
+
+    if (value instanceof List) {
+      return (List<?>) value;
+    }
+
+    if (value instanceof Collection) {
+      return Arrays.asList(((Collection<?>) value).toArray());
+    }
+
+    if (value instanceof Object[]) {
+      return Arrays.asList((Object[]) value);
+    }
+
+    return value == null ? Collections.emptyList() : Collections.singletonList(value);
+  }
+}
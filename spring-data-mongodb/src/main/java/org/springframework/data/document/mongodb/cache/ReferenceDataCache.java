@@ -0,0 +1,569 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.Bytes;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.document.mongodb.CollectionCallback;
+import org.springframework.data.document.mongodb.DbCallback;
+import org.springframework.data.document.mongodb.MongoTemplate;
+import org.springframework.data.document.mongodb.convert.MappingMongoConverter;
+import org.springframework.data.document.mongodb.convert.MongoConverter;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.util.Assert;
+
+/**
+ * Near cache of a small, rarely written collection. The whole collection is loaded into a {@link ReferenceDataSnapshot}
+ * of mapped entities with lookup maps for the configured properties, and queries are answered from it through the
+ * read methods of {@link org.springframework.data.document.mongodb.MongoOperations}. Refreshed snapshots are built
+ * aside and swapped in atomically, so readers never see a partially loaded collection.
+ * <p/>
+ * The collection is checked for changes every refresh interval. If a version key is configured, the snapshot is only
+ * reloaded if the version of any document changed or documents were added or removed. If the oplog is tailed, it is only reloaded if
+ * a write to the collection was seen since the last check. Otherwise it is reloaded on every check.
+ * <p/>
+ * The cached entities are shared between all callers and must not be modified.
+ *
+ * @param <T> the entity type
+ */
+public class ReferenceDataCache<T> implements InitializingBean, DisposableBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+  private static final String ID = "_id";
+  private static final String OPLOG_TIMESTAMP = "ts";
+  private static final String OPLOG_NAMESPACE = "ns";
+
+  private final MongoTemplate template;
+  private final String collectionName;
+  private final Class<T> entityClass;
+
+  private List<String> indexedProperties = Collections.emptyList();
+  private String versionKey;
+  private long refreshInterval = 60000;
+  private boolean tailOplog = false;
+  private String oplogName = "oplog.rs";
+
+  private volatile ReferenceDataSnapshot<T> snapshot;
+  private final AtomicBoolean changed = new AtomicBoolean();
+  private volatile boolean running = false;
+
+  private ScheduledExecutorService refresher;
+  private ExecutorService tailer;
+
+  /**
+   * Creates a new {@link ReferenceDataCache} for the given collection.
+   *
+   * @param template       must not be {@literal null}
+   * @param collectionName must not be {@literal null}
+   * @param entityClass    must not be {@literal null}
+   */
+  public ReferenceDataCache(MongoTemplate template, String collectionName, Class<T> entityClass) {
+
+    Assert.notNull(template);
+    Assert.hasText(collectionName);
+    Assert.notNull(entityClass);
+
+    this.template = template;
+    this.collectionName = collectionName;
+    this.entityClass = entityClass;
+  }
+
+  /**
+   * Sets the properties to build lookup maps for. Queries for equality on one of them are answered from the lookup
+   * map instead of scanning the snapshot.
+   *
+   * @param indexedProperties
+   */
+  public void setIndexedProperties(String... indexedProperties) {
+    this.indexedProperties = indexedProperties == null ? Collections.<String>emptyList() : Arrays
+        .asList(indexedProperties);
+  }
+
+  /**
+   * Sets the key of a numeric field that is increased on every write to a document, so that changes can be detected
+   * without reloading the collection. Each check reads the field of all documents.
+   *
+   * @param versionKey
+   */
+  public void setVersionKey(String versionKey) {
+    this.versionKey = versionKey;
+  }
+
+  /**
+   * Sets the number of milliseconds between checks for changes. Defaults to 60 seconds, 0 disables refreshing in the
+   * background. If the oplog is tailed, 0 reloads the collection right when a write to it is seen instead.
+   *
+   * @param refreshInterval
+   */
+  public void setRefreshInterval(long refreshInterval) {
+    Assert.isTrue(refreshInterval >= 0, "Refresh interval must not be negative!");
+    this.refreshInterval = refreshInterval;
+  }
+
+  /**
+   * Whether to detect changes by tailing the oplog instead of querying the collection. Requires a replica set or a
+   * master with an oplog. Defaults to {@literal false}.
+   *
+   * @param tailOplog
+   */
+  public void setTailOplog(boolean tailOplog) {
+    this.tailOplog = tailOplog;
+  }
+
+  /**
+   * Sets the name of the oplog collection in the {@literal local} database. Defaults to {@literal oplog.rs}, use
+   * {@literal oplog.$main} for master/slave setups.
+   *
+   * @param oplogName
+   */
+  public void setOplogName(String oplogName) {
+    Assert.hasText(oplogName);
+    this.oplogName = oplogName;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+   */
+  public void afterPropertiesSet() {
+
+    refresh();
+    running = true;
+
+    ThreadFactory threadFactory = new CacheThreadFactory(collectionName);
+
+    if (tailOplog) {
+      tailer = Executors.newSingleThreadExecutor(threadFactory);
+      tailer.execute(new Runnable() {
+        public void run() {
+          tailOplog();
+        }
+      });
+    }
+
+    if (refreshInterval > 0) {
+      refresher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+      refresher.scheduleWithFixedDelay(new Runnable() {
+        public void run() {
+          refreshIfChangedQuietly();
+        }
+      }, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.beans.factory.DisposableBean#destroy()
+   */
+  public void destroy() {
+
+    running = false;
+
+    if (refresher != null) {
+      refresher.shutdownNow();
+      refresher = null;
+    }
+
+    if (tailer != null) {
+      tailer.shutdownNow();
+      tailer = null;
+    }
+  }
+
+  /**
+   * Returns the current snapshot, loading the collection if it hasn't been loaded yet.
+   *
+   * @return
+   */
+  public ReferenceDataSnapshot<T> getSnapshot() {
+
+    ReferenceDataSnapshot<T> current = snapshot;
+    return current == null ? refresh() : current;
+  }
+
+  /**
+   * Loads the whole collection into a new snapshot and swaps it in.
+   *
+   * @return the new snapshot
+   */
+  public synchronized ReferenceDataSnapshot<T> refresh() {
+
+    Object version = getCurrentVersion();
+    List<DBObject> documents = template.execute(collectionName, new CollectionCallback<List<DBObject>>() {
+      public List<DBObject> doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+        return collection.find().toArray();
+      }
+    });
+
+    MongoConverter converter = template.getConverter();
+    List<T> entities = new ArrayList<T>(documents.size());
+
+    for (DBObject document : documents) {
+      entities.add(converter.read(entityClass, document));
+    }
+
+    Map<String, String> keysByProperty = new LinkedHashMap<String, String>();
+    for (String property : indexedProperties) {
+      keysByProperty.put(property, getMappedKey(property));
+    }
+
+    ReferenceDataSnapshot<T> refreshed = new ReferenceDataSnapshot<T>(documents, entities, keysByProperty, version);
+    this.snapshot = refreshed;
+
+    LOG.debug("Loaded {} documents of collection {}", documents.size(), collectionName);
+    return refreshed;
+  }
+
+  /**
+   * Reloads the collection if it changed since the current snapshot was loaded.
+   *
+   * @return whether the snapshot was reloaded
+   */
+  public boolean refreshIfChanged() {
+
+    ReferenceDataSnapshot<T> current = snapshot;
+
+    if (current == null) {
+      refresh();
+      return true;
+    }
+
+    if (tailOplog) {
+      if (!changed.getAndSet(false)) {
+        return false;
+      }
+    } else if (versionKey != null && current.getVersion() != null && current.getVersion().equals(getCurrentVersion())) {
+      return false;
+    }
+
+    refresh();
+    return true;
+  }
+
+  private void refreshIfChangedQuietly() {
+    try {
+      refreshIfChanged();
+    } catch (RuntimeException e) {
+      LOG.warn("Could not refresh cached collection " + collectionName, e);
+    }
+  }
+
+  /**
+   * Returns all entities of the cached collection.
+   *
+   * @param targetClass must be the entity class of the cache
+   * @return
+   * @see org.springframework.data.document.mongodb.MongoOperations#getCollection(Class)
+   */
+  public List<T> getCollection(Class<T> targetClass) {
+    assertEntityClass(targetClass);
+    return getSnapshot().getAll();
+  }
+
+  /**
+   * Returns the first cached entity matching the given query.
+   *
+   * @param query       must not be {@literal null}
+   * @param targetClass must be the entity class of the cache
+   * @return the entity or {@literal null} if none matches.
+   * @see org.springframework.data.document.mongodb.MongoOperations#findOne(Query, Class)
+   */
+  public T findOne(Query query, Class<T> targetClass) {
+    List<T> result = doFind(query, targetClass, 1);
+    return result.isEmpty() ? null : result.get(0);
+  }
+
+  /**
+   * Returns the cached entities matching the given query, honoring its sort, skip and limit. The fields specification
+   * is ignored as the entities are cached completely.
+   *
+   * @param query       must not be {@literal null}
+   * @param targetClass must be the entity class of the cache
+   * @return
+   * @see org.springframework.data.document.mongodb.MongoOperations#find(Query, Class)
+   */
+  public List<T> find(Query query, Class<T> targetClass) {
+    return doFind(query, targetClass, query.getLimit());
+  }
+
+  private List<T> doFind(Query query, Class<T> targetClass, int limit) {
+
+    Assert.notNull(query);
+    assertEntityClass(targetClass);
+
+    ReferenceDataSnapshot<T> current = getSnapshot();
+    DBObject queryObject = getMappedObject(query.getQueryObject());
+    List<DBObject> documents = current.getDocuments();
+
+    List<Integer> candidates = getCandidates(current, queryObject);
+    List<Integer> matches = new ArrayList<Integer>();
+
+    if (candidates == null) {
+      for (int i = 0; i < documents.size(); i++) {
+        if (DocumentMatcher.matches(documents.get(i), queryObject)) {
+          matches.add(i);
+        }
+      }
+    } else {
+      for (Integer candidate : candidates) {
+        if (DocumentMatcher.matches(documents.get(candidate), queryObject)) {
+          matches.add(candidate);
+        }
+      }
+    }
+
+    DBObject sort = getMappedObject(query.getSortObject());
+    if (sort != null) {
+      Collections.sort(matches, new PositionComparator(documents, sort));
+    }
+
+    int from = Math.min(query.getSkip(), matches.size());
+    int to = limit > 0 ? Math.min(from + limit, matches.size()) : matches.size();
+
+    List<T> result = new ArrayList<T>(to - from);
+    for (Integer position : matches.subList(from, to)) {
+      result.add(current.getEntity(position));
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the positions of the documents having the value the query asks for on a key a lookup map exists for.
+   *
+   * @param snapshot
+   * @param queryObject
+   * @return the positions or {@literal null} if the query doesn't test any key with a lookup map for equality.
+   */
+  private List<Integer> getCandidates(ReferenceDataSnapshot<T> snapshot, DBObject queryObject) {
+
+    for (String key : queryObject.keySet()) {
+
+      Object value = queryObject.get(key);
+
+      if (snapshot.hasLookup(key) && !(value instanceof DBObject) && !(value instanceof Pattern)) {
+        List<Integer> positions = snapshot.getPositions(key, value);
+        return positions == null ? Collections.<Integer>emptyList() : positions;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the values of the version key by the ids of the documents. The result changes with every write to any
+   * document as well as with every insert or removal, regardless of the versions involved.
+   *
+   * @return the version or {@literal null} if no version key is configured.
+   */
+  private Object getCurrentVersion() {
+
+    if (versionKey == null || tailOplog) {
+      return null;
+    }
+
+    return template.execute(collectionName, new CollectionCallback<Object>() {
+      public Object doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+        List<DBObject> documents = collection.find(new BasicDBObject(), new BasicDBObject(versionKey, 1)).toArray();
+        Map<Object, Object> versions = new HashMap<Object, Object>(documents.size());
+
+        for (DBObject document : documents) {
+          versions.put(document.get(ID), DocumentMatcher.getValue(document, versionKey));
+        }
+
+        return versions;
+      }
+    });
+  }
+
+  /**
+   * Tails the oplog for writes to the cached collection, flagging the snapshot as changed for each of them. Without a
+   * refresh interval the snapshot is reloaded right away instead. The oplog is read in insertion order from the last
+   * seen timestamp on, filtering the namespace on the client, so that the cursor is kept alive by writes to other
+   * collections and reopening it doesn't scan the whole oplog. Reopens the cursor after failures until the cache is
+   * destroyed.
+   */
+  private void tailOplog() {
+
+    final Object[] lastTimestamp = new Object[1];
+
+    while (running && !Thread.currentThread().isInterrupted()) {
+
+      if (refreshInterval == 0) {
+        refreshIfChangedQuietly();
+      }
+
+      try {
+        template.execute(new DbCallback<Void>() {
+          public Void doInDB(DB db) throws MongoException, DataAccessException {
+
+            String namespace = db.getName() + "." + collectionName;
+            DBCollection oplog = db.getMongo().getDB("local").getCollection(oplogName);
+
+            if (lastTimestamp[0] == null) {
+              DBCursor latest = oplog.find().sort(new BasicDBObject("$natural", -1)).limit(1);
+              lastTimestamp[0] = latest.hasNext() ? latest.next().get(OPLOG_TIMESTAMP) : null;
+              // Writes since the initial load might precede the position we start tailing from
+              changed.set(true);
+            }
+
+            DBObject query = new BasicDBObject();
+            if (lastTimestamp[0] != null) {
+              query.put(OPLOG_TIMESTAMP, new BasicDBObject("$gt", lastTimestamp[0]));
+            }
+
+            DBObject fields = new BasicDBObject(OPLOG_TIMESTAMP, 1);
+            fields.put(OPLOG_NAMESPACE, 1);
+
+            DBCursor cursor = oplog.find(query, fields).sort(new BasicDBObject("$natural", 1))
+                .addOption(Bytes.QUERYOPTION_TAILABLE).addOption(Bytes.QUERYOPTION_AWAITDATA);
+            if (lastTimestamp[0] != null) {
+              cursor.addOption(Bytes.QUERYOPTION_OPLOGREPLAY);
+            }
+
+            try {
+              while (running && cursor.hasNext()) {
+
+                DBObject entry = cursor.next();
+                lastTimestamp[0] = entry.get(OPLOG_TIMESTAMP);
+
+                if (namespace.equals(entry.get(OPLOG_NAMESPACE))) {
+                  changed.set(true);
+                  if (refreshInterval == 0) {
+                    refreshIfChanged();
+                  }
+                }
+              }
+            } finally {
+              cursor.close();
+            }
+
+            return null;
+          }
+        });
+      } catch (RuntimeException e) {
+        if (running) {
+          LOG.warn("Tailing the oplog for collection " + collectionName + " failed, retrying", e);
+          changed.set(true);
+        }
+      }
+
+      if (running) {
+        try {
+          Thread.sleep(1000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  private String getMappedKey(String property) {
+
+    MongoConverter converter = template.getConverter();
+    String key = converter instanceof MappingMongoConverter ? ((MappingMongoConverter) converter).getMappedKey(
+        property, entityClass) : property;
+
+    return "id".equals(key) ? ID : key;
+  }
+
+  private DBObject getMappedObject(DBObject object) {
+
+    if (object == null) {
+      return null;
+    }
+
+    MongoConverter converter = template.getConverter();
+    DBObject mapped = converter instanceof MappingMongoConverter ? ((MappingMongoConverter) converter)
+        .getMappedObject(object, entityClass) : object;
+
+    if (mapped.containsField("id") && !mapped.containsField(ID)) {
+      DBObject result = new BasicDBObject();
+      for (String key : mapped.keySet()) {
+        result.put("id".equals(key) ? ID : key, mapped.get(key));
+      }
+      return result;
+    }
+
+    return mapped;
+  }
+
+  private void assertEntityClass(Class<?> targetClass) {
+    Assert.isTrue(targetClass == null || targetClass.isAssignableFrom(entityClass), "Cache for " + entityClass
+        + " can't return " + targetClass);
+  }
+
+  private static class PositionComparator implements Comparator<Integer> {
+
+    private final List<DBObject> documents;
+    private final Comparator<DBObject> comparator;
+
+    public PositionComparator(List<DBObject> documents, DBObject sort) {
+      this.documents = documents;
+      this.comparator = DocumentMatcher.getComparator(sort);
+    }
+
+    public int compare(Integer left, Integer right) {
+      return comparator.compare(documents.get(left), documents.get(right));
+    }
+  }
+
+  private static class CacheThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final String collectionName;
+
+    public CacheThreadFactory(String collectionName) {
+      this.collectionName = collectionName;
+    }
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "mongo-reference-data-cache-" + collectionName + "-"
+          + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
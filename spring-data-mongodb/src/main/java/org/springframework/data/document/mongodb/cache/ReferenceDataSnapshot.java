@@ -0,0 +1,202 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mongodb.DBObject;
+import org.springframework.data.document.InvalidDocumentStoreApiUsageException;
+
+/**
+ * Immutable in-memory copy of a whole collection, holding the documents, the entities mapped from them and lookup
+ * maps from the values of configured keys to the entities having them. Snapshots are never changed once built, a
+ * {@link ReferenceDataCache} replaces them as a whole instead.
+ *
+ * @param <T> the entity type
+ */
+public class ReferenceDataSnapshot<T> {
+
+  private final List<DBObject> documents;
+  private final List<T> entities;
+  private final Map<String, Map<Object, List<Integer>>> lookups;
+  private final Map<String, String> keysByProperty;
+  private final Object version;
+
+  /**
+   * Creates a new {@link ReferenceDataSnapshot} of the given documents and the entities mapped from them.
+   *
+   * @param documents      must not be {@literal null}
+   * @param entities       must not be {@literal null} and have the same size as the documents
+   * @param keysByProperty the stored keys to build lookup maps for, by the property names they are looked up with
+   * @param version        the version of the collection the documents were read at, can be {@literal null}
+   */
+  ReferenceDataSnapshot(List<DBObject> documents, List<T> entities, Map<String, String> keysByProperty, Object version) {
+
+    this.documents = Collections.unmodifiableList(new ArrayList<DBObject>(documents));
+    this.entities = Collections.unmodifiableList(new ArrayList<T>(entities));
+    this.keysByProperty = Collections.unmodifiableMap(new HashMap<String, String>(keysByProperty));
+    this.version = version;
+
+    Map<String, Map<Object, List<Integer>>> lookups = new HashMap<String, Map<Object, List<Integer>>>();
+
+    for (String key : keysByProperty.values()) {
+
+      Map<Object, List<Integer>> lookup = new HashMap<Object, List<Integer>>();
+
+      for (int i = 0; i < this.documents.size(); i++) {
+
+        Object value = DocumentMatcher.getValue(this.documents.get(i), key);
+
+        for (Object element : value instanceof List ? (List<?>) value : Collections.singletonList(value)) {
+
+          Object lookupKey = getLookupKey(element);
+          List<Integer> positions = lookup.get(lookupKey);
+
+          if (positions == null) {
+            positions = new ArrayList<Integer>(1);
+            lookup.put(lookupKey, positions);
+          }
+
+          positions.add(i);
+        }
+      }
+
+      lookups.put(key, lookup);
+    }
+
+    this.lookups = lookups;
+  }
+
+  /**
+   * Returns all entities of the collection.
+   *
+   * @return
+   */
+  public List<T> getAll() {
+    return entities;
+  }
+
+  /**
+   * Returns the entities whose given property has the given value, using the lookup map built for the property.
+   *
+   * @param property must be one of the properties lookup maps were configured for
+   * @param value    can be {@literal null}
+   * @return
+   */
+  public List<T> get(String property, Object value) {
+
+    String key = keysByProperty.get(property);
+
+    if (key == null) {
+      throw new InvalidDocumentStoreApiUsageException("No lookup map configured for property " + property);
+    }
+
+    List<Integer> positions = getPositions(key, value);
+
+    if (positions == null) {
+      return Collections.emptyList();
+    }
+
+    List<T> result = new ArrayList<T>(positions.size());
+    for (Integer position : positions) {
+      result.add(entities.get(position));
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the first entity whose given property has the given value.
+   *
+   * @param property must be one of the properties lookup maps were configured for
+   * @param value    can be {@literal null}
+   * @return the entity or {@literal null} if none has the given value.
+   */
+  public T getOne(String property, Object value) {
+    List<T> result = get(property, value);
+    return result.isEmpty() ? null : result.get(0);
+  }
+
+  /**
+   * Returns the number of documents in the snapshot.
+   *
+   * @return
+   */
+  public int size() {
+    return entities.size();
+  }
+
+  /**
+   * Returns the version of the collection the snapshot was read at.
+   *
+   * @return the version or {@literal null} if the collection isn't versioned.
+   */
+  public Object getVersion() {
+    return version;
+  }
+
+  List<DBObject> getDocuments() {
+    return documents;
+  }
+
+  /**
+   * Returns the positions of the documents having the given value for the given stored key.
+   *
+   * @param key
+   * @param value
+   * @return the positions or {@literal null} if there's no lookup map for the given key or no document has the value.
+   */
+  List<Integer> getPositions(String key, Object value) {
+    Map<Object, List<Integer>> lookup = lookups.get(key);
+    return lookup == null ? null : lookup.get(getLookupKey(value));
+  }
+
+  boolean hasLookup(String key) {
+    return lookups.containsKey(key);
+  }
+
+  T getEntity(int position) {
+    return entities.get(position);
+  }
+
+  /**
+   * Normalizes numbers so that lookups don't depend on the numeric type a value was stored or given as. Integral
+   * values are represented as {@link Long}, including floating point ones without fraction, all others as
+   * {@link Double}.
+   *
+   * @param value
+   * @return
+   */
+  private static Object getLookupKey(Object value) {
+
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      return ((Number) value).longValue();
+    }
+
+    if (!(value instanceof Number)) {
+      return value;
+    }
+
+    double doubleValue = ((Number) value).doubleValue();
+    long longValue = (long) doubleValue;
+
+    return longValue == doubleValue ? (Object) longValue : (Object) doubleValue;
+  }
+}
@@ -0,0 +1,4 @@
+/**
+ * Near caching of small, rarely written collections.
+ */
+package org.springframework.data.document.mongodb.cache;
@@ -35,6 +35,7 @@ import org.springframework.data.document.mongodb.convert.MappingMongoConverter;
 import org.springframework.data.document.mongodb.mapping.Document;
 import org.springframework.data.document.mongodb.mapping.MongoPersistentEntityIndexCreator;
 import org.springframework.data.document.mongodb.mapping.MongoMappingContext;
+import org.springframework.data.document.mongodb.mapping.MongoMappingContextPrewarmer;
 import org.springframework.util.StringUtils;
 import org.w3c.dom.Element;
 
@@ -48,6 +49,8 @@ public class MongoMappingConverterParser extends AbstractBeanDefinitionParser {
   private static final String INDEX_HELPER = "indexCreationHelper";
   private static final String TEMPLATE = "mongoTemplate";
   private static final String BASE_PACKAGE = "base-package";
+  private static final String PREWARM_POOL_SIZE = "prewarm-pool-size";
+  private static final String PREWARMER = "mappingContextPrewarmer";
 
   @Override
   protected String resolveId(Element element, AbstractBeanDefinition definition, ParserContext parserContext) throws BeanDefinitionStoreException {
@@ -60,20 +63,33 @@ public class MongoMappingConverterParser extends AbstractBeanDefinitionParser {
     BeanDefinitionRegistry registry = parserContext.getRegistry();
 
     String ctxRef = element.getAttribute("mapping-context-ref");
+    String prewarmerRef = null;
     if (!StringUtils.hasText(ctxRef)) {
       BeanDefinitionBuilder mappingContextBuilder = BeanDefinitionBuilder.genericBeanDefinition(MongoMappingContext.class);
-      
+      registry.registerBeanDefinition(MAPPING_CONTEXT, mappingContextBuilder.getBeanDefinition());
+      ctxRef = MAPPING_CONTEXT;
+
       Set<String> classesToAdd = getInititalEntityClasses(element, mappingContextBuilder);
       if (classesToAdd != null) {
-        mappingContextBuilder.addPropertyValue("initialEntitySet", classesToAdd);
+        BeanDefinitionBuilder prewarmerBuilder = BeanDefinitionBuilder.genericBeanDefinition(MongoMappingContextPrewarmer.class);
+        prewarmerBuilder.addConstructorArgReference(ctxRef);
+        prewarmerBuilder.addPropertyValue("initialEntitySet", classesToAdd);
+
+        String poolSize = element.getAttribute(PREWARM_POOL_SIZE);
+        if (StringUtils.hasText(poolSize)) {
+          prewarmerBuilder.addPropertyValue("poolSize", poolSize);
+        }
+
+        registry.registerBeanDefinition(PREWARMER, prewarmerBuilder.getBeanDefinition());
+        prewarmerRef = PREWARMER;
       }
-      
-      registry.registerBeanDefinition(MAPPING_CONTEXT, mappingContextBuilder.getBeanDefinition());
-      ctxRef = MAPPING_CONTEXT;
     }
 
     BeanDefinitionBuilder converterBuilder = BeanDefinitionBuilder.genericBeanDefinition(MappingMongoConverter.class);
     converterBuilder.addPropertyReference("mappingContext", ctxRef);
+    if (prewarmerRef != null) {
+      converterBuilder.addDependsOn(prewarmerRef);
+    }
 
     String autowire = element.getAttribute("autowire");
     if (StringUtils.hasText(autowire)) {
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+/**
+ * Strategy to compress the values of properties annotated with
+ * {@link org.springframework.data.document.mongodb.mapping.Compressed}.
+ */
+public interface CompressionCodec {
+
+  /**
+   * Compresses the given data.
+   *
+   * @param data will never be {@literal null}
+   * @return
+   */
+  byte[] compress(byte[] data);
+
+  /**
+   * Decompresses the given data previously compressed by {@link #compress(byte[])}.
+   *
+   * @param data will never be {@literal null}
+   * @return
+   * @throws IllegalArgumentException in case the data cannot be decompressed
+   */
+  byte[] decompress(byte[] data);
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Resolves {@link DBRef}s for the documents of a single read. All references contained in the documents handed to
+ * {@link #register(Iterable)} are grouped by target collection. As soon as the first reference of a collection is
+ * requested, all registered references into that collection are loaded with one {@code $in} query per chunk of ids.
+ * References never requested, e.g. lazily loaded ones, don't cause any query. Every reference is fetched at most once,
+ * documents referenced multiple times are served from the cache. Instances are not thread-safe and meant to be
+ * discarded after the read.
+ */
+public class DBRefResolver {
+
+  public static final int DEFAULT_BATCH_SIZE = 500;
+
+  private final int batchSize;
+  private final Map<Key, DBObject> cache = new HashMap<Key, DBObject>();
+  private final Map<Key, Map<Key, DBRef>> pending = new HashMap<Key, Map<Key, DBRef>>();
+
+  /**
+   * Creates a new {@link DBRefResolver} using the {@link #DEFAULT_BATCH_SIZE}.
+   */
+  public DBRefResolver() {
+    this(DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates a new {@link DBRefResolver} loading at most the given number of documents per query.
+   *
+   * @param batchSize must be greater than zero
+   */
+  public DBRefResolver(int batchSize) {
+    Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Registers all not yet resolved {@link DBRef}s contained in the given documents, including nested documents and
+   * lists, to be loaded together.
+   *
+   * @param dbos must not be {@literal null}
+   */
+  public void register(Iterable<? extends DBObject> dbos) {
+    for (DBObject dbo : dbos) {
+      collect(dbo);
+    }
+  }
+
+  /**
+   * Returns the document the given {@link DBRef} points to, fetching it if it has not been loaded before.
+   *
+   * @param ref must not be {@literal null}
+   * @return the referenced document or {@literal null} if it does not exist
+   */
+  public DBObject fetch(DBRef ref) {
+
+    Key key = new Key(ref);
+
+    if (cache.containsKey(key)) {
+      return cache.get(key);
+    }
+
+    Map<Key, DBRef> refs = pending.remove(new Key(ref.getDB(), ref.getRef(), null));
+    if (refs != null) {
+      load(new ArrayList<DBRef>(refs.values()));
+      if (cache.containsKey(key)) {
+        return cache.get(key);
+      }
+    }
+
+    DBObject dbo = ref.fetch();
+    cache.put(key, dbo);
+    return dbo;
+  }
+
+  private void collect(Object value) {
+
+    if (value instanceof DBRef) {
+
+      DBRef ref = (DBRef) value;
+      Key key = new Key(ref);
+
+      if (!cache.containsKey(key)) {
+        Key collection = new Key(ref.getDB(), ref.getRef(), null);
+        Map<Key, DBRef> refs = pending.get(collection);
+        if (refs == null) {
+          refs = new LinkedHashMap<Key, DBRef>();
+          pending.put(collection, refs);
+        }
+        refs.put(key, ref);
+      }
+
+    } else if (value instanceof DBObject) {
+
+      DBObject dbo = (DBObject) value;
+      for (String key : dbo.keySet()) {
+        collect(dbo.get(key));
+      }
+    }
+  }
+
+  private void load(List<DBRef> refs) {
+
+    DBRef first = refs.get(0);
+
+    for (int start = 0; start < refs.size(); start += batchSize) {
+
+      List<DBRef> chunk = refs.subList(start, Math.min(start + batchSize, refs.size()));
+
+      List<Object> ids = new ArrayList<Object>(chunk.size());
+      for (DBRef ref : chunk) {
+        ids.add(ref.getId());
+        cache.put(new Key(ref), null);
+      }
+
+      DBCursor cursor = first.getDB().getCollection(first.getRef()).find(
+          new BasicDBObject("_id", new BasicDBObject("$in", ids)));
+
+      try {
+        for (DBObject dbo : cursor) {
+          cache.put(new Key(first.getDB(), first.getRef(), dbo.get("_id")), dbo);
+        }
+      } finally {
+        cursor.close();
+      }
+    }
+  }
+
+  /**
+   * Identifies a referenced document by database, collection and id.
+   */
+  private static class Key {
+
+    private final String database;
+    private final String collection;
+    private final Object id;
+
+    public Key(DBRef ref) {
+      this(ref.getDB(), ref.getRef(), ref.getId());
+    }
+
+    public Key(DB db, String collection, Object id) {
+      this.database = db == null ? null : db.getName();
+      this.collection = collection;
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (this == obj) {
+        return true;
+      }
+
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+
+      Key that = (Key) obj;
+      return ObjectUtils.nullSafeEquals(this.database, that.database)
+          && ObjectUtils.nullSafeEquals(this.collection, that.collection) && ObjectUtils.nullSafeEquals(this.id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = 17;
+      result += 31 * ObjectUtils.nullSafeHashCode(database);
+      result += 31 * ObjectUtils.nullSafeHashCode(collection);
+      result += 31 * ObjectUtils.nullSafeHashCode(id);
+      return result;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link CompressionCodec} using the deflate algorithm of {@link Deflater} and {@link Inflater}.
+ */
+public class DeflateCompressionCodec implements CompressionCodec {
+
+  private static final int BUFFER_SIZE = 4096;
+
+  private final int level;
+
+  /**
+   * Creates a new {@link DeflateCompressionCodec} favouring speed over compression ratio.
+   */
+  public DeflateCompressionCodec() {
+    this(Deflater.BEST_SPEED);
+  }
+
+  /**
+   * Creates a new {@link DeflateCompressionCodec} using the given compression level.
+   *
+   * @param level between {@link Deflater#BEST_SPEED} and {@link Deflater#BEST_COMPRESSION}
+   */
+  public DeflateCompressionCodec(int level) {
+    Assert.isTrue(level >= Deflater.BEST_SPEED && level <= Deflater.BEST_COMPRESSION, "Invalid compression level!");
+    this.level = level;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.convert.CompressionCodec#compress(byte[])
+   */
+  public byte[] compress(byte[] data) {
+
+    Deflater deflater = new Deflater(level);
+
+    try {
+      deflater.setInput(data);
+      deflater.finish();
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(data.length / 4, 64));
+      byte[] buffer = new byte[BUFFER_SIZE];
+
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+
+      return out.toByteArray();
+
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.convert.CompressionCodec#decompress(byte[])
+   */
+  public byte[] decompress(byte[] data) {
+
+    Inflater inflater = new Inflater();
+
+    try {
+      inflater.setInput(data);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+      byte[] buffer = new byte[BUFFER_SIZE];
+
+      while (!inflater.finished()) {
+        int count = inflater.inflate(buffer);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalArgumentException("Compressed data is truncated or requires a dictionary");
+        }
+        out.write(buffer, 0, count);
+      }
+
+      return out.toByteArray();
+
+    } catch (DataFormatException e) {
+      throw new IllegalArgumentException("Invalid compressed data", e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.annotation.PersistenceConstructor;
+import org.springframework.data.mapping.MappingBeanHelper;
+import org.springframework.data.mapping.model.PersistentProperty;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Accessor for the properties and the default constructor of a single persistent type. Fields, accessor methods and
+ * the constructor are looked up and made accessible once and then invoked directly. Whenever a value would need
+ * conversion or a member cannot be used directly the calls fall back to {@link MappingBeanHelper}.
+ */
+class EntityAccessor {
+
+  private final Constructor<?> defaultConstructor;
+
+  private final ConcurrentMap<PersistentProperty, PropertyAccessor> accessors = new ConcurrentHashMap<PersistentProperty, PropertyAccessor>();
+
+  /**
+   * Creates a new {@link EntityAccessor} for the given type.
+   *
+   * @param type must not be {@literal null}
+   */
+  public EntityAccessor(Class<?> type) {
+    this.defaultConstructor = findDefaultConstructor(type);
+  }
+
+  /**
+   * Creates a new instance of the type using its default constructor.
+   *
+   * @return the new instance or {@literal null} if the type has to be instantiated through its persistence
+   *         constructor.
+   */
+  public Object newInstance() {
+
+    if (defaultConstructor == null) {
+      return null;
+    }
+
+    try {
+      return defaultConstructor.newInstance();
+    } catch (InvocationTargetException e) {
+      ReflectionUtils.handleInvocationTargetException(e);
+    } catch (Exception e) {
+      ReflectionUtils.handleReflectionException(e);
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the value of the given property of the given bean.
+   *
+   * @param bean
+   * @param property
+   * @param type             the type the value shall be returned as
+   * @param fieldAccessOnly whether to read the field directly instead of using a getter
+   * @return
+   * @throws IllegalAccessException
+   * @throws InvocationTargetException
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getProperty(Object bean, PersistentProperty property, Class<T> type, boolean fieldAccessOnly)
+      throws IllegalAccessException, InvocationTargetException {
+
+    PropertyAccessor accessor = getAccessor(property);
+    Object value = accessor == null ? null : accessor.get(bean, fieldAccessOnly);
+
+    if (accessor == null || !ClassUtils.isAssignableValue(type, value)) {
+      return MappingBeanHelper.getProperty(bean, property, type, fieldAccessOnly);
+    }
+
+    return (T) value;
+  }
+
+  /**
+   * Sets the given property of the given bean to the given value.
+   *
+   * @param bean
+   * @param property
+   * @param value
+   * @param fieldAccessOnly whether to write the field directly instead of using a setter
+   * @throws IllegalAccessException
+   * @throws InvocationTargetException
+   */
+  public void setProperty(Object bean, PersistentProperty property, Object value, boolean fieldAccessOnly)
+      throws IllegalAccessException, InvocationTargetException {
+
+    PropertyAccessor accessor = getAccessor(property);
+
+    if (accessor == null || !accessor.canSet(value, fieldAccessOnly)) {
+      MappingBeanHelper.setProperty(bean, property, value, fieldAccessOnly);
+      return;
+    }
+
+    accessor.set(bean, value, fieldAccessOnly);
+  }
+
+  private PropertyAccessor getAccessor(PersistentProperty property) {
+
+    if (property == null || property.getField() == null) {
+      return null;
+    }
+
+    PropertyAccessor accessor = accessors.get(property);
+
+    if (accessor == null) {
+      accessor = new PropertyAccessor(property.getField());
+      accessors.putIfAbsent(property, accessor);
+    }
+
+    return accessor;
+  }
+
+  private static Constructor<?> findDefaultConstructor(Class<?> type) {
+
+    if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+      return null;
+    }
+
+    Constructor<?> defaultConstructor = null;
+
+    for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+      if (constructor.isAnnotationPresent(PersistenceConstructor.class)) {
+        return null;
+      }
+      if (constructor.getParameterTypes().length == 0) {
+        defaultConstructor = constructor;
+      }
+    }
+
+    if (defaultConstructor != null) {
+      ReflectionUtils.makeAccessible(defaultConstructor);
+    }
+
+    return defaultConstructor;
+  }
+
+  /**
+   * Direct accessor for a single property backed by its field and, if available, its getter and setter.
+   */
+  private static class PropertyAccessor {
+
+    private final Field field;
+    private final Method getter;
+    private final Method setter;
+
+    public PropertyAccessor(Field field) {
+
+      PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(field.getDeclaringClass(), field.getName());
+
+      this.field = field;
+      this.getter = descriptor == null ? null : descriptor.getReadMethod();
+      this.setter = descriptor == null ? null : descriptor.getWriteMethod();
+
+      ReflectionUtils.makeAccessible(field);
+      if (getter != null) {
+        ReflectionUtils.makeAccessible(getter);
+      }
+      if (setter != null) {
+        ReflectionUtils.makeAccessible(setter);
+      }
+    }
+
+    public boolean canSet(Object value, boolean fieldAccessOnly) {
+      Class<?> type = fieldAccessOnly || setter == null ? field.getType() : setter.getParameterTypes()[0];
+      return value == null ? !type.isPrimitive() : ClassUtils.isAssignableValue(type, value);
+    }
+
+    public Object get(Object bean, boolean fieldAccessOnly) throws IllegalAccessException, InvocationTargetException {
+      return fieldAccessOnly || getter == null ? field.get(bean) : getter.invoke(bean);
+    }
+
+    public void set(Object bean, Object value, boolean fieldAccessOnly) throws IllegalAccessException,
+        InvocationTargetException {
+      if (fieldAccessOnly || setter == null) {
+        field.set(bean, value);
+      } else {
+        setter.invoke(bean, value);
+      }
+    }
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+import org.bson.BSONObject;
+import org.bson.types.ObjectId;
+import org.springframework.data.mapping.AssociationHandler;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.model.Association;
+import org.springframework.data.mapping.model.PersistentEntity;
+import org.springframework.data.mapping.model.PersistentProperty;
+
+/**
+ * {@link DBObject} backed by a mapped entity. Instead of copying all properties into a {@link com.mongodb.BasicDBObject}
+ * upfront, values are read from the entity when the driver encodes the document, embedded entities are exposed as
+ * {@link EntityDBObject} themselves. The keys and properties to read are described by a {@link WritePlan} shared by all
+ * instances of the same entity.
+ */
+class EntityDBObject implements DBObject {
+
+  private final MappingMongoConverter converter;
+  private final WritePlan plan;
+  private final Object entity;
+
+  private final Object[] values;
+  private final boolean[] resolved;
+  private Map<String, Object> additionalValues;
+  private boolean partial = false;
+
+  /**
+   * Creates a new {@link EntityDBObject} for the given entity.
+   *
+   * @param converter must not be {@literal null}
+   * @param plan      must not be {@literal null}
+   * @param entity    must not be {@literal null}
+   */
+  public EntityDBObject(MappingMongoConverter converter, WritePlan plan, Object entity) {
+    this.converter = converter;
+    this.plan = plan;
+    this.entity = entity;
+    this.values = new Object[plan.keys.length];
+    this.resolved = new boolean[plan.keys.length];
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.bson.BSONObject#get(java.lang.String)
+   */
+  public Object get(String key) {
+
+    if (additionalValues != null && additionalValues.containsKey(key)) {
+      return additionalValues.get(key);
+    }
+
+    Integer index = plan.indexes.get(key);
+    return index == null ? null : getValue(index);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.bson.BSONObject#put(java.lang.String, java.lang.Object)
+   */
+  public Object put(String key, Object value) {
+
+    Integer index = plan.indexes.get(key);
+
+    if (index == null) {
+      if (additionalValues == null) {
+        additionalValues = new LinkedHashMap<String, Object>();
+      }
+      return additionalValues.put(key, value);
+    }
+
+    Object previous = getValue(index);
+    values[index] = value;
+    return previous;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.bson.BSONObject#putAll(org.bson.BSONObject)
+   */
+  public void putAll(BSONObject o) {
+    for (String key : o.keySet()) {
+      put(key, o.get(key));
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.bson.BSONObject#putAll(java.util.Map)
+   */
+  @SuppressWarnings("rawtypes")
+  public void putAll(Map m) {
+    for (Object entry : m.entrySet()) {
+      put(((Map.Entry) entry).getKey().toString(), ((Map.Entry) entry).getValue());
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.bson.BSONObject#removeField(java.lang.String)
+   */
+  public Object removeField(String key) {
+
+    if (additionalValues != null && additionalValues.containsKey(key)) {
+      return additionalValues.remove(key);
+    }
+
+    Integer index = plan.indexes.get(key);
+    if (index == null) {
+      return null;
+    }
+
+    Object previous = getValue(index);
+    values[index] = null;
+    return previous;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.bson.BSONObject#containsKey(java.lang.String)
+   */
+  @Deprecated
+  public boolean containsKey(String key) {
+    return containsField(key);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.bson.BSONObject#containsField(java.lang.String)
+   */
+  public boolean containsField(String key) {
+    return get(key) != null || (additionalValues != null && additionalValues.containsKey(key));
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.bson.BSONObject#keySet()
+   */
+  public Set<String> keySet() {
+
+    Set<String> keys = new LinkedHashSet<String>();
+
+    for (int i = 0; i < plan.keys.length; i++) {
+      if (getValue(i) != null) {
+        keys.add(plan.keys[i]);
+      }
+    }
+
+    if (additionalValues != null) {
+      keys.addAll(additionalValues.keySet());
+    }
+
+    return keys;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.bson.BSONObject#toMap()
+   */
+  @SuppressWarnings("rawtypes")
+  public Map toMap() {
+    Map<String, Object> map = new LinkedHashMap<String, Object>();
+    for (String key : keySet()) {
+      map.put(key, get(key));
+    }
+    return map;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see com.mongodb.DBObject#markAsPartialObject()
+   */
+  public void markAsPartialObject() {
+    this.partial = true;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see com.mongodb.DBObject#isPartialObject()
+   */
+  public boolean isPartialObject() {
+    return partial;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return JSON.serialize(this);
+  }
+
+  private Object getValue(int index) {
+
+    if (!resolved[index]) {
+      values[index] = converter.getValueToWrite(entity, plan.properties[index], plan.types[index],
+          plan.associations[index]);
+      resolved[index] = true;
+    }
+
+    return values[index];
+  }
+
+  /**
+   * The keys of a mapped entity in the order they are written and the properties backing them.
+   */
+  static class WritePlan {
+
+    private final String[] keys;
+    private final PersistentProperty[] properties;
+    private final Class<?>[] types;
+    private final boolean[] associations;
+    private final Map<String, Integer> indexes;
+
+    /**
+     * Creates a new {@link WritePlan} for the given {@link PersistentEntity}.
+     *
+     * @param entity must not be {@literal null}
+     */
+    public WritePlan(PersistentEntity<?> entity) {
+
+      final Map<String, PersistentProperty> properties = new LinkedHashMap<String, PersistentProperty>();
+      final Set<String> associations = new LinkedHashSet<String>();
+
+      PersistentProperty idProperty = entity.getIdProperty();
+      if (idProperty != null) {
+        properties.put("_id", idProperty);
+      }
+
+      entity.doWithProperties(new PropertyHandler() {
+        public void doWithPersistentProperty(PersistentProperty property) {
+          properties.put(MappingMongoConverter.getKey(property), property);
+        }
+      });
+
+      entity.doWithAssociations(new AssociationHandler() {
+        public void doWithAssociation(Association association) {
+          PersistentProperty property = association.getInverse();
+          String key = MappingMongoConverter.getKey(property);
+          properties.put(key, property);
+          associations.add(key);
+        }
+      });
+
+      int size = properties.size();
+      this.keys = properties.keySet().toArray(new String[size]);
+      this.properties = properties.values().toArray(new PersistentProperty[size]);
+      this.types = new Class<?>[size];
+      this.associations = new boolean[size];
+
+      Map<String, Integer> indexes = new LinkedHashMap<String, Integer>();
+
+      for (int i = 0; i < size; i++) {
+        this.types[i] = "_id".equals(keys[i]) && this.properties[i] == idProperty ? ObjectId.class : this.properties[i]
+            .getType();
+        this.associations[i] = associations.contains(keys[i]);
+        indexes.put(keys[i], i);
+      }
+
+      this.indexes = Collections.unmodifiableMap(indexes);
+    }
+  }
+}
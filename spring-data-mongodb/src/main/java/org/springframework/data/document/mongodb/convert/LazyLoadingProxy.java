@@ -0,0 +1,44 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+/**
+ * Interface implemented by the proxies injected for lazily resolved {@link org.springframework.data.document.mongodb.mapping.DBRef}
+ * properties.
+ */
+public interface LazyLoadingProxy {
+
+  /**
+   * Returns whether the reference has been resolved already.
+   *
+   * @return
+   */
+  boolean isResolved();
+
+  /**
+   * Returns the referenced object, resolving the reference if necessary.
+   *
+   * @return
+   */
+  Object getTarget();
+
+  /**
+   * Returns the {@link com.mongodb.DBRef} or the list of {@link com.mongodb.DBRef}s the proxy was created for.
+   *
+   * @return
+   */
+  Object getSource();
+}
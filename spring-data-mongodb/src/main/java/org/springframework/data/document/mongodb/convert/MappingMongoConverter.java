@@ -16,17 +16,26 @@
 
 package org.springframework.data.document.mongodb.convert;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.math.BigInteger;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
@@ -36,6 +45,7 @@ import com.mongodb.DBRef;
 import com.mongodb.Mongo;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.bson.types.Binary;
 import org.bson.types.ObjectId;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
@@ -48,7 +58,12 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.support.ConversionServiceFactory;
 import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.data.document.mongodb.mapping.Compressed;
+import org.springframework.data.document.mongodb.mapping.MongoPersistentProperty;
+import org.springframework.data.document.mongodb.mapping.Packed;
+import org.springframework.data.document.mongodb.mapping.TypeAlias;
 import org.springframework.data.mapping.AssociationHandler;
+import org.springframework.data.mapping.BasicMappingContext;
 import org.springframework.data.mapping.MappingBeanHelper;
 import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.model.Association;
@@ -60,6 +75,8 @@ import org.springframework.data.mapping.model.PreferredConstructor;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * {@link MongoConverter} that uses a {@link MappingContext} to do sophisticated mapping of domain objects to
@@ -71,17 +88,32 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
 public class MappingMongoConverter implements MongoConverter, ApplicationContextAware, InitializingBean {
 
   private static final String CUSTOM_TYPE_KEY = "_class";
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+  private static final StandardEvaluationContext EMPTY_EVALUATION_CONTEXT = new StandardEvaluationContext();
   @SuppressWarnings({"unchecked"})
   private static final List<Class<?>> MONGO_TYPES = Arrays.asList(Number.class, Date.class, String.class, DBObject.class);
   protected static final Log log = LogFactory.getLog(MappingMongoConverter.class);
 
   protected final GenericConversionService conversionService = ConversionServiceFactory.createDefaultConversionService();
   protected final Map<Class<?>, Class<?>> customTypeMapping = new HashMap<Class<?>, Class<?>>();
+  private final ConcurrentMap<Class<?>, EntityAccessor> accessors = new ConcurrentHashMap<Class<?>, EntityAccessor>();
+  private final ConcurrentMap<Class<?>, Boolean> spelEntities = new ConcurrentHashMap<Class<?>, Boolean>();
+  private final ConcurrentMap<String, Expression> expressions = new ConcurrentHashMap<String, Expression>();
+  private final ConcurrentMap<Class<?>, DBObject> mappedFields = new ConcurrentHashMap<Class<?>, DBObject>();
+  private final ConcurrentMap<Class<?>, Map<String, PersistentProperty>> propertiesByName = new ConcurrentHashMap<Class<?>, Map<String, PersistentProperty>>();
+  private final ConcurrentMap<Class<?>, EntityDBObject.WritePlan> writePlans = new ConcurrentHashMap<Class<?>, EntityDBObject.WritePlan>();
+  private boolean writeDirectly = false;
+  private final ThreadLocal<DBRefResolver> resolvers = new ThreadLocal<DBRefResolver>();
+  private final ThreadLocal<Integer> batchDepth = new ThreadLocal<Integer>();
+  private int dbRefBatchSize = DBRefResolver.DEFAULT_BATCH_SIZE;
   protected SpelExpressionParser spelExpressionParser = new SpelExpressionParser();
   protected MappingContext mappingContext;
   protected ApplicationContext applicationContext;
   protected boolean autowirePersistentBeans = false;
   protected boolean useFieldAccessOnly = true;
+  protected CompressionCodec compressionCodec = new DeflateCompressionCodec();
+  protected TypeAliasRegistry typeAliasRegistry = new TypeAliasRegistry();
+  private volatile int typeAliasEntityCount = 0;
   protected Mongo mongo;
   protected String defaultDatabase;
 
@@ -134,6 +166,20 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     this.mongo = mongo;
   }
 
+  public TypeAliasRegistry getTypeAliasRegistry() {
+    return typeAliasRegistry;
+  }
+
+  /**
+   * Sets the {@link TypeAliasRegistry} to map types to the type hints stored in documents and back.
+   *
+   * @param typeAliasRegistry must not be {@literal null}
+   */
+  public void setTypeAliasRegistry(TypeAliasRegistry typeAliasRegistry) {
+    Assert.notNull(typeAliasRegistry);
+    this.typeAliasRegistry = typeAliasRegistry;
+  }
+
   public String getDefaultDatabase() {
     return defaultDatabase;
   }
@@ -150,6 +196,21 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     this.autowirePersistentBeans = autowirePersistentBeans;
   }
 
+  public CompressionCodec getCompressionCodec() {
+    return compressionCodec;
+  }
+
+  /**
+   * Sets the {@link CompressionCodec} to be used for properties annotated with {@link Compressed}. Defaults to a
+   * {@link DeflateCompressionCodec}. Changing the codec requires already stored values to be migrated.
+   *
+   * @param compressionCodec must not be {@literal null}
+   */
+  public void setCompressionCodec(CompressionCodec compressionCodec) {
+    Assert.notNull(compressionCodec);
+    this.compressionCodec = compressionCodec;
+  }
+
   public boolean isUseFieldAccessOnly() {
     return useFieldAccessOnly;
   }
@@ -166,12 +227,94 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     return conversionService.convert(id, ObjectId.class);
   }
 
-  @SuppressWarnings({"unchecked", "rawtypes"})
   public <S extends Object> S read(Class<S> clazz, final DBObject dbo) {
     if (null == dbo) {
       return null;
     }
 
+    if (resolvers.get() != null) {
+      return readInternal(clazz, dbo);
+    }
+
+    startBatch(Collections.singleton(dbo));
+    try {
+      return readInternal(clazz, dbo);
+    } finally {
+      endBatch();
+    }
+  }
+
+  /**
+   * Binds a {@link DBRefResolver} to the current thread that loads the {@link DBRef}s contained in the given documents
+   * with as few queries as possible. All reads until {@link #endBatch()} is called resolve references through it.
+   * Nested calls add the references of the given documents to the already bound resolver.
+   *
+   * @param dbos must not be {@literal null}
+   */
+  public void startBatch(Iterable<? extends DBObject> dbos) {
+
+    DBRefResolver resolver = resolvers.get();
+    if (resolver == null) {
+      resolver = new DBRefResolver(dbRefBatchSize);
+      resolvers.set(resolver);
+      batchDepth.set(1);
+    } else {
+      batchDepth.set(batchDepth.get() + 1);
+    }
+
+    resolver.register(dbos);
+  }
+
+  /**
+   * Ends the batch started by {@link #startBatch(Iterable)} and discards the loaded references once the outermost
+   * batch ends.
+   */
+  public void endBatch() {
+
+    Integer depth = batchDepth.get();
+    if (depth == null || depth <= 1) {
+      resolvers.remove();
+      batchDepth.remove();
+    } else {
+      batchDepth.set(depth - 1);
+    }
+  }
+
+  /**
+   * Sets the maximum number of referenced documents to load with a single query. Defaults to
+   * {@link DBRefResolver#DEFAULT_BATCH_SIZE}.
+   *
+   * @param dbRefBatchSize
+   */
+  public void setDbRefBatchSize(int dbRefBatchSize) {
+    this.dbRefBatchSize = dbRefBatchSize;
+  }
+
+  /**
+   * Returns the maximum number of referenced documents to load with a single query. Also used as the number of
+   * documents whose references are resolved together when reading a cursor.
+   *
+   * @return
+   */
+  public int getDbRefBatchSize() {
+    return dbRefBatchSize;
+  }
+
+  /**
+   * Returns the document the given {@link DBRef} points to, using the {@link DBRefResolver} bound to the current
+   * thread if available.
+   *
+   * @param ref
+   * @return
+   */
+  protected DBObject fetch(DBRef ref) {
+    DBRefResolver resolver = resolvers.get();
+    return resolver == null ? ref.fetch() : resolver.fetch(ref);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private <S extends Object> S readInternal(Class<S> clazz, final DBObject dbo) {
+
     if ((clazz.isArray()
         || (clazz.isAssignableFrom(Collection.class)
         || clazz.isAssignableFrom(List.class)))
@@ -202,47 +345,52 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     return read(persistentEntity, dbo);
   }
 
-  private <S extends Object> S read(PersistentEntity<S> entity, final DBObject dbo) {
+  private <S extends Object> S read(final PersistentEntity<S> entity, final DBObject dbo) {
 
-    final StandardEvaluationContext spelCtx = new StandardEvaluationContext();
-    if (null != applicationContext) {
-      spelCtx.setBeanResolver(new BeanFactoryResolver(applicationContext));
-    }
-    String[] keySet = dbo.keySet().toArray(new String[]{});
-    for (String key : keySet) {
-      spelCtx.setVariable(key, dbo.get(key));
-    }
+    final StandardEvaluationContext spelCtx = usesSpEL(entity) ? new DBObjectEvaluationContext(dbo)
+        : EMPTY_EVALUATION_CONTEXT;
 
+    final EntityAccessor accessor = getAccessor(entity.getType());
     final List<String> ctorParamNames = new ArrayList<String>();
-    final S instance = MappingBeanHelper.constructInstance(entity, new PreferredConstructor.ParameterValueProvider() {
-      public Object getParameterValue(PreferredConstructor.Parameter parameter) {
-        String name = parameter.getName();
-        Class<?> type = parameter.getType();
-        Object obj = dbo.get(name);
-        if (obj instanceof DBRef) {
-          ctorParamNames.add(name);
-          return read(type, ((DBRef) obj).fetch());
-        } else if (obj instanceof DBObject) {
-          ctorParamNames.add(name);
-          return read(type, ((DBObject) obj));
-        } else if (null != obj && obj.getClass().isAssignableFrom(type)) {
-          ctorParamNames.add(name);
-          return obj;
-        } else if (null != obj) {
-          ctorParamNames.add(name);
-          return conversionService.convert(obj, type);
-        }
 
-        return null;
-      }
-    }, spelCtx);
+    @SuppressWarnings("unchecked")
+    S newInstance = (S) accessor.newInstance();
+    if (newInstance == null) {
+      newInstance = MappingBeanHelper.constructInstance(entity, new PreferredConstructor.ParameterValueProvider() {
+        public Object getParameterValue(PreferredConstructor.Parameter parameter) {
+          String name = parameter.getName();
+          Class<?> type = parameter.getType();
+          PersistentProperty property = getPropertiesByName(entity).get(name);
+          Object obj = dbo.get(property == null ? name : getKey(property));
+          if (null != obj && PrimitiveArrays.isPrimitiveArray(type)) {
+            ctorParamNames.add(name);
+            return PrimitiveArrays.read(obj, type);
+          } else if (obj instanceof DBRef) {
+            ctorParamNames.add(name);
+            return read(type, fetch((DBRef) obj));
+          } else if (obj instanceof DBObject) {
+            ctorParamNames.add(name);
+            return read(type, ((DBObject) obj));
+          } else if (null != obj && obj.getClass().isAssignableFrom(type)) {
+            ctorParamNames.add(name);
+            return obj;
+          } else if (null != obj) {
+            ctorParamNames.add(name);
+            return conversionService.convert(obj, type);
+          }
+
+          return null;
+        }
+      }, spelCtx);
+    }
+    final S instance = newInstance;
 
     // Set the ID
     PersistentProperty idProperty = entity.getIdProperty();
     if (dbo.containsField("_id") || null != idProperty) {
       Object idObj = dbo.get("_id");
       try {
-        MappingBeanHelper.setProperty(instance, idProperty, idObj, useFieldAccessOnly);
+        accessor.setProperty(instance, idProperty, idObj, useFieldAccessOnly);
       } catch (IllegalAccessException e) {
         throw new MappingException(e.getMessage(), e);
       } catch (InvocationTargetException e) {
@@ -259,7 +407,7 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
 
         Object obj = getValueInternal(prop, dbo, spelCtx, prop.getValueAnnotation());
         try {
-          MappingBeanHelper.setProperty(instance, prop, obj, useFieldAccessOnly);
+          accessor.setProperty(instance, prop, obj, useFieldAccessOnly);
         } catch (IllegalAccessException e) {
           throw new MappingException(e.getMessage(), e);
         } catch (InvocationTargetException e) {
@@ -274,7 +422,7 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
         PersistentProperty inverseProp = association.getInverse();
         Object obj = getValueInternal(inverseProp, dbo, spelCtx, inverseProp.getValueAnnotation());
         try {
-          MappingBeanHelper.setProperty(instance, inverseProp, obj);
+          accessor.setProperty(instance, inverseProp, obj, false);
         } catch (IllegalAccessException e) {
           throw new MappingException(e.getMessage(), e);
         } catch (InvocationTargetException e) {
@@ -321,12 +469,14 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
       }
     }
 
+    final EntityAccessor accessor = getAccessor(entity.getType());
+
     // Write the ID
     final PersistentProperty idProperty = entity.getIdProperty();
     if (!dbo.containsField("_id") && null != idProperty) {
       Object idObj = null;
       try {
-        idObj = MappingBeanHelper.getProperty(obj, idProperty, ObjectId.class, useFieldAccessOnly);
+        idObj = accessor.getProperty(obj, idProperty, ObjectId.class, useFieldAccessOnly);
       } catch (IllegalAccessException e) {
         throw new MappingException(e.getMessage(), e);
       } catch (InvocationTargetException e) {
@@ -341,18 +491,22 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     // Write the properties
     entity.doWithProperties(new PropertyHandler() {
       public void doWithPersistentProperty(PersistentProperty prop) {
-        String name = prop.getName();
+        String name = getKey(prop);
         Class<?> type = prop.getType();
         Object propertyObj = null;
         try {
-          propertyObj = MappingBeanHelper.getProperty(obj, prop, type, useFieldAccessOnly);
+          propertyObj = accessor.getProperty(obj, prop, type, useFieldAccessOnly);
         } catch (IllegalAccessException e) {
           throw new MappingException(e.getMessage(), e);
         } catch (InvocationTargetException e) {
           throw new MappingException(e.getMessage(), e);
         }
         if (null != propertyObj) {
-          if (!MappingBeanHelper.isSimpleType(propertyObj.getClass())) {
+          if (PrimitiveArrays.isPrimitiveArray(type)) {
+            dbo.put(name, getPrimitiveArrayToWrite(prop, propertyObj));
+          } else if (null != getCompressed(prop)) {
+            dbo.put(name, getCompressedValueToWrite(prop, propertyObj));
+          } else if (!MappingBeanHelper.isSimpleType(propertyObj.getClass())) {
             writePropertyInternal(prop, propertyObj, dbo);
           } else {
             dbo.put(name, propertyObj);
@@ -367,7 +521,7 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
         Class<?> type = inverseProp.getType();
         Object propertyObj = null;
         try {
-          propertyObj = MappingBeanHelper.getProperty(obj, inverseProp, type, useFieldAccessOnly);
+          propertyObj = accessor.getProperty(obj, inverseProp, type, useFieldAccessOnly);
         } catch (IllegalAccessException e) {
           throw new MappingException(e.getMessage(), e);
         } catch (InvocationTargetException e) {
@@ -380,6 +534,169 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     });
   }
 
+  /**
+   * Returns a {@link DBObject} exposing the properties of the given entity the same way {@link #write(Object, DBObject)}
+   * would write them, but reading them from the entity only when accessed, i.e. when the driver encodes the document.
+   * Embedded entities are exposed the same way, so no intermediate {@link BasicDBObject}s are created for them.
+   *
+   * @param obj must not be {@literal null}
+   * @return
+   */
+  public DBObject toDBObject(Object obj) {
+
+    Assert.notNull(obj);
+
+    PersistentEntity<?> entity = mappingContext.getPersistentEntity(obj.getClass());
+    if (entity == null) {
+      entity = mappingContext.addPersistentEntity(obj.getClass());
+      if (entity == null) {
+        throw new MappingException("Unable to map entity " + obj);
+      }
+    }
+
+    return new EntityDBObject(this, getWritePlan(entity), obj);
+  }
+
+  /**
+   * Configures whether {@link #toDBObject(Object)} shall be used to hand entities to the driver instead of
+   * {@link #write(Object, DBObject)}. Defaults to {@literal false}.
+   *
+   * @param writeDirectly
+   */
+  public void setWriteDirectly(boolean writeDirectly) {
+    this.writeDirectly = writeDirectly;
+  }
+
+  public boolean isWriteDirectly() {
+    return writeDirectly;
+  }
+
+  /**
+   * Returns the value to store for the given property of the given object. Simple values are returned as is, embedded
+   * entities as {@link EntityDBObject} and all other values the way {@link #writePropertyInternal(PersistentProperty,
+   * Object, DBObject)} converts them.
+   *
+   * @param obj
+   * @param prop
+   * @param type        the type to read the property value as
+   * @param association whether the property is an association
+   * @return
+   */
+  Object getValueToWrite(Object obj, PersistentProperty prop, Class<?> type, boolean association) {
+
+    Object value;
+    try {
+      value = getAccessor(obj.getClass()).getProperty(obj, prop, type, useFieldAccessOnly);
+    } catch (IllegalAccessException e) {
+      throw new MappingException(e.getMessage(), e);
+    } catch (InvocationTargetException e) {
+      throw new MappingException(e.getMessage(), e);
+    }
+
+    if (value == null) {
+      return null;
+    }
+
+    if (!association && PrimitiveArrays.isPrimitiveArray(prop.getType())) {
+      return getPrimitiveArrayToWrite(prop, value);
+    }
+
+    if (!association && null != getCompressed(prop)) {
+      return getCompressedValueToWrite(prop, value);
+    }
+
+    if (!association && (type == ObjectId.class || MappingBeanHelper.isSimpleType(value.getClass()))) {
+      return value;
+    }
+
+    if (!association && !prop.isCollection() && !(value instanceof Map) && !(value instanceof LazyLoadingProxy)
+        && !prop.getField().isAnnotationPresent(org.springframework.data.document.mongodb.mapping.DBRef.class)
+        && !customTypeMapping.containsKey(value.getClass())) {
+
+      PersistentEntity<?> entity = mappingContext.getPersistentEntity(prop.getTypeInformation());
+      if (entity != null) {
+        return new EntityDBObject(this, getWritePlan(entity), value);
+      }
+    }
+
+    DBObject dbo = new BasicDBObject();
+    writePropertyInternal(prop, value, dbo);
+    return dbo.get(getKey(prop));
+  }
+
+  /**
+   * Returns the given primitive array as is so that the driver writes it as array, or packed into a binary if the
+   * property is annotated with {@link Packed}.
+   *
+   * @param prop
+   * @param array
+   * @return
+   */
+  private Object getPrimitiveArrayToWrite(PersistentProperty prop, Object array) {
+    return prop.getField().isAnnotationPresent(Packed.class) ? PrimitiveArrays.pack(array) : array;
+  }
+
+  /**
+   * Returns the {@link Compressed} annotation of the given property if it is a {@link String} or {@code byte[]}.
+   *
+   * @param prop
+   * @return
+   */
+  private Compressed getCompressed(PersistentProperty prop) {
+
+    Class<?> type = prop.getType();
+
+    if (type != String.class && type != byte[].class) {
+      return null;
+    }
+
+    return prop.getField().getAnnotation(Compressed.class);
+  }
+
+  /**
+   * Compresses the given value of a property annotated with {@link Compressed} if it reaches the threshold and gets
+   * smaller by compressing it.
+   *
+   * @param prop
+   * @param value
+   * @return
+   */
+  private Object getCompressedValueToWrite(PersistentProperty prop, Object value) {
+
+    byte[] data = value instanceof String ? ((String) value).getBytes(UTF8) : (byte[]) value;
+
+    if (data.length < getCompressed(prop).threshold()) {
+      return value;
+    }
+
+    byte[] compressed = compressionCodec.compress(data);
+    return compressed.length < data.length ? new Binary(Compressed.BINARY_SUBTYPE, compressed) : value;
+  }
+
+  private Object decompress(PersistentProperty prop, Binary binary) {
+
+    byte[] data;
+    try {
+      data = compressionCodec.decompress(binary.getData());
+    } catch (IllegalArgumentException e) {
+      throw new MappingException("Unable to decompress property " + prop.getName(), e);
+    }
+
+    return prop.getType() == String.class ? new String(data, UTF8) : data;
+  }
+
+  private EntityDBObject.WritePlan getWritePlan(PersistentEntity<?> entity) {
+
+    EntityDBObject.WritePlan plan = writePlans.get(entity.getType());
+
+    if (plan == null) {
+      plan = new EntityDBObject.WritePlan(entity);
+      writePlans.put(entity.getType(), plan);
+    }
+
+    return plan;
+  }
+
   public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
     this.applicationContext = applicationContext;
   }
@@ -409,8 +726,28 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     org.springframework.data.document.mongodb.mapping.DBRef dbref = prop.getField()
         .getAnnotation(org.springframework.data.document.mongodb.mapping.DBRef.class);
 
-    String name = prop.getName();
+    String name = getKey(prop);
     Class<?> type = prop.getType();
+
+    if (obj instanceof LazyLoadingProxy) {
+      LazyLoadingProxy proxy = (LazyLoadingProxy) obj;
+      if (!proxy.isResolved()) {
+        dbo.put(name, proxy.getSource());
+        return;
+      }
+      obj = proxy.getTarget();
+    }
+
+    if (PrimitiveArrays.isPrimitiveArray(type)) {
+      dbo.put(name, getPrimitiveArrayToWrite(prop, obj));
+      return;
+    }
+
+    if (null != getCompressed(prop)) {
+      dbo.put(name, getCompressedValueToWrite(prop, obj));
+      return;
+    }
+
     if (prop.isCollection()) {
       BasicDBList dbList = new BasicDBList();
       Collection<?> coll = (type.isArray() ? Arrays.asList((Object[]) obj) : (Collection<?>) obj);
@@ -474,9 +811,9 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
               || componentType.isAssignableFrom(Collection.class)
               || componentType.isAssignableFrom(List.class)) {
             Class<?> ctype = val.getClass().getComponentType();
-            dbo.put("_class", (null != ctype ? ctype.getName() : componentType.getName()));
+            dbo.put(CUSTOM_TYPE_KEY, typeAliasRegistry.getAlias(null != ctype ? ctype : componentType));
           } else {
-            dbo.put("_class", componentType.getName());
+            dbo.put(CUSTOM_TYPE_KEY, typeAliasRegistry.getAlias(componentType));
           }
           write(val, newDbo);
           dbo.put(simpleKey, newDbo);
@@ -496,7 +833,7 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     PersistentProperty idProperty = targetEntity.getIdProperty();
     ObjectId id = null;
     try {
-      id = MappingBeanHelper.getProperty(target, idProperty, ObjectId.class, useFieldAccessOnly);
+      id = getAccessor(targetEntity.getType()).getProperty(target, idProperty, ObjectId.class, useFieldAccessOnly);
       if (null == id) {
         throw new MappingException("Cannot create a reference to an object with a NULL id.");
       }
@@ -522,17 +859,29 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
 
   @SuppressWarnings({"unchecked"})
   protected Object getValueInternal(PersistentProperty prop, DBObject dbo, StandardEvaluationContext ctx, Value spelExpr) {
-    String name = prop.getName();
+    String name = getKey(prop);
     Object o;
     if (null != spelExpr) {
-      Expression x = spelExpressionParser.parseExpression(spelExpr.value());
-      o = x.getValue(ctx);
+      o = getExpression(spelExpr.value()).getValue(ctx);
     } else {
       DBObject from = dbo;
       if (dbo instanceof DBRef) {
-        from = ((DBRef) dbo).fetch();
+        from = fetch((DBRef) dbo);
       }
       Object dbObj = from.get(name);
+      if (PrimitiveArrays.isPrimitiveArray(prop.getType())) {
+        return PrimitiveArrays.read(dbObj, prop.getType());
+      }
+      if (dbObj instanceof Binary && ((Binary) dbObj).getType() == Compressed.BINARY_SUBTYPE
+          && null != getCompressed(prop)) {
+        return decompress(prop, (Binary) dbObj);
+      }
+      if ((dbObj instanceof DBRef || (dbObj instanceof BasicDBList && prop.isCollection())) && isLazy(prop)) {
+        return createLazyLoadingProxy(prop, dbObj);
+      }
+      if (dbObj instanceof DBRef) {
+        dbObj = fetch((DBRef) dbObj);
+      }
       if (dbObj instanceof DBObject) {
         if (prop.isMap() && dbObj instanceof DBObject) {
 
@@ -560,7 +909,7 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
           for (int i = 0; i < dbObjList.size(); i++) {
             Object dbObjItem = dbObjList.get(i);
             if (dbObjItem instanceof DBRef) {
-              items[i] = read(prop.getComponentType(), ((DBRef) dbObjItem).fetch());
+              items[i] = read(prop.getComponentType(), fetch((DBRef) dbObjItem));
             } else if (dbObjItem instanceof DBObject) {
               items[i] = read(prop.getComponentType(), (DBObject) dbObjItem);
             } else {
@@ -586,6 +935,39 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     return o;
   }
 
+  /**
+   * Returns whether the given property is a reference to be resolved lazily. This requires the property to be
+   * declared as interface a proxy can be created for.
+   *
+   * @param prop
+   * @return
+   */
+  private boolean isLazy(PersistentProperty prop) {
+
+    org.springframework.data.document.mongodb.mapping.DBRef dbref = prop.getField().getAnnotation(
+        org.springframework.data.document.mongodb.mapping.DBRef.class);
+
+    if (dbref == null || !dbref.lazy() || !prop.getType().isInterface()) {
+      return false;
+    }
+
+    return !prop.isCollection() || prop.getType().isAssignableFrom(ArrayList.class);
+  }
+
+  /**
+   * Creates a proxy for the given property resolving the given {@link DBRef} or list of {@link DBRef}s on first
+   * access.
+   *
+   * @param prop
+   * @param source
+   * @return
+   */
+  private Object createLazyLoadingProxy(PersistentProperty prop, Object source) {
+    return Proxy.newProxyInstance(prop.getType().getClassLoader() == null ? getClass().getClassLoader() : prop
+        .getType().getClassLoader(), new Class<?>[]{prop.getType(), LazyLoadingProxy.class},
+        new LazyLoadingInterceptor(prop, source));
+  }
+
   /**
    * Returns the type to be used to convert the DBObject given to.
    *
@@ -599,16 +981,393 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
       return null;
     }
     
-    try {
-      return Class.forName(classToBeUsed.toString());
-    } catch (ClassNotFoundException e) {
-      throw new MappingException(e.getMessage(), e);
+    String alias = classToBeUsed.toString();
+    Class<?> type = typeAliasRegistry.getType(alias);
+
+    if (type == null && registerTypeAliases()) {
+      type = typeAliasRegistry.getType(alias);
+    }
+
+    if (type == null) {
+      throw new MappingException("Unable to resolve type hint '" + alias + "'!");
+    }
+
+    return type;
+  }
+
+  /**
+   * Registers the {@link TypeAlias} of all entities known to the {@link MappingContext} so far. The entities are only
+   * walked again once the {@link MappingContext} knows of more entities than at the previous call, so unresolvable
+   * type hints don't cause a scan each.
+   *
+   * @return whether any alias was registered
+   */
+  private boolean registerTypeAliases() {
+
+    if (!(mappingContext instanceof BasicMappingContext)) {
+      return false;
     }
+
+    Collection<?> entities = ((BasicMappingContext) mappingContext).getPersistentEntities();
+
+    if (entities.size() == typeAliasEntityCount) {
+      return false;
+    }
+
+    boolean registered = false;
+    for (Object entity : entities) {
+      registered |= typeAliasRegistry.register(((PersistentEntity<?>) entity).getType());
+    }
+    typeAliasEntityCount = entities.size();
+    return registered;
   }
 
   public void afterPropertiesSet() throws Exception {
   }
 
+  /**
+   * Returns a fields specification selecting only the fields the given type maps to properties, which can be used to
+   * avoid transferring and decoding the rest of a document. The result is cached per type.
+   *
+   * @param type must not be {@literal null}
+   * @return the fields specification or {@literal null} if the type can't be restricted to its mapped fields, e.g.
+   *         because it uses {@link Value} expressions that may refer to any field.
+   */
+  public DBObject getMappedFields(Class<?> type) {
+
+    DBObject fields = mappedFields.get(type);
+
+    if (fields == null) {
+
+      PersistentEntity<?> entity = mappingContext.getPersistentEntity(type);
+      if (entity == null) {
+        entity = mappingContext.addPersistentEntity(type);
+      }
+
+      final DBObject spec = new BasicDBObject();
+
+      if (entity != null && !usesSpEL(entity)) {
+        spec.put("_id", 1);
+        entity.doWithProperties(new PropertyHandler() {
+          public void doWithPersistentProperty(PersistentProperty property) {
+            spec.put(getKey(property), 1);
+          }
+        });
+        entity.doWithAssociations(new AssociationHandler() {
+          public void doWithAssociation(Association association) {
+            spec.put(getKey(association.getInverse()), 1);
+          }
+        });
+      }
+
+      mappedFields.put(type, spec);
+      fields = spec;
+    }
+
+    return fields.keySet().isEmpty() ? null : new BasicDBObject(fields.toMap());
+  }
+
+  /**
+   * Returns whether any property of the given entity or any of its constructor parameters is annotated with
+   * {@link Value}. The result is cached per type.
+   *
+   * @param entity
+   * @return
+   */
+  private boolean usesSpEL(PersistentEntity<?> entity) {
+
+    Class<?> type = entity.getType();
+    Boolean usesSpEL = spelEntities.get(type);
+
+    if (usesSpEL == null) {
+
+      final boolean[] found = new boolean[1];
+
+      entity.doWithProperties(new PropertyHandler() {
+        public void doWithPersistentProperty(PersistentProperty property) {
+          found[0] |= property.getValueAnnotation() != null;
+        }
+      });
+      entity.doWithAssociations(new AssociationHandler() {
+        public void doWithAssociation(Association association) {
+          found[0] |= association.getInverse().getValueAnnotation() != null;
+        }
+      });
+
+      for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+        for (Annotation[] annotations : constructor.getParameterAnnotations()) {
+          for (Annotation annotation : annotations) {
+            found[0] |= annotation instanceof Value;
+          }
+        }
+      }
+
+      usesSpEL = Boolean.valueOf(found[0]);
+      spelEntities.put(type, usesSpEL);
+    }
+
+    return usesSpEL.booleanValue();
+  }
+
+  /**
+   * Translates the given property path of the given type into the keys the properties are stored under, see
+   * {@link org.springframework.data.document.mongodb.mapping.Field}. Positional segments ({@literal $} or indexes) are
+   * kept as is, mapping stops at the first segment that is not a property of the current type.
+   *
+   * @param path must not be {@literal null}
+   * @param type must not be {@literal null}
+   * @return
+   */
+  public String getMappedKey(String path, Class<?> type) {
+
+    Assert.notNull(path);
+    PersistentEntity<?> entity = getEntityToMap(type);
+
+    if (entity == null) {
+      return path;
+    }
+
+    String[] segments = path.split("\\.");
+    StringBuilder builder = new StringBuilder(path.length());
+
+    for (int i = 0; i < segments.length; i++) {
+
+      String segment = segments[i];
+
+      if (i > 0) {
+        builder.append('.');
+      }
+
+      if (entity == null || isPositional(segment)) {
+        builder.append(segment);
+        continue;
+      }
+
+      PersistentProperty property = getPropertiesByName(entity).get(segment);
+
+      if (property == null) {
+        entity = null;
+        builder.append(segment);
+        continue;
+      }
+
+      builder.append(getKey(property));
+      Class<?> propertyType = property.isCollection() || property.isArray() ? property.getComponentType() : property
+          .getType();
+      entity = property.isMap() || propertyType == null ? null : getEntityToMap(propertyType);
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Returns a copy of the given query, fields, sort or update object with all keys translated into the keys the
+   * properties of the given type are stored under. Operator values (keys starting with {@literal $}) are translated
+   * recursively, operator objects given for a property, e.g. an {@literal $elemMatch}, against the property's type.
+   *
+   * @param object can be {@literal null}
+   * @param type must not be {@literal null}
+   * @return
+   */
+  public DBObject getMappedObject(DBObject object, Class<?> type) {
+
+    if (object == null || getEntityToMap(type) == null) {
+      return object;
+    }
+
+    DBObject result = new BasicDBObject();
+
+    for (String key : object.keySet()) {
+
+      Object value = object.get(key);
+
+      if (key.startsWith("$")) {
+        result.put(key, getMappedOperand(value, type));
+      } else if (isOperatorObject(value)) {
+        result.put(getMappedKey(key, type), getMappedOperand(value, getPropertyType(key, type)));
+      } else {
+        result.put(getMappedKey(key, type), value);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the type of the property the given path of the given type points to, or its component type for collections
+   * and arrays.
+   *
+   * @param path must not be {@literal null}
+   * @param type must not be {@literal null}
+   * @return the type or {@literal null} if the path doesn't point to a property of a mapped type.
+   */
+  private Class<?> getPropertyType(String path, Class<?> type) {
+
+    Class<?> propertyType = null;
+    PersistentEntity<?> entity = getEntityToMap(type);
+
+    for (String segment : path.split("\\.")) {
+
+      if (isPositional(segment)) {
+        continue;
+      }
+
+      PersistentProperty property = entity == null ? null : getPropertiesByName(entity).get(segment);
+
+      if (property == null || property.isMap()) {
+        return null;
+      }
+
+      propertyType = property.isCollection() || property.isArray() ? property.getComponentType() : property.getType();
+      entity = getEntityToMap(propertyType);
+    }
+
+    return propertyType;
+  }
+
+  private static boolean isOperatorObject(Object value) {
+
+    if (!(value instanceof DBObject) || value instanceof List || ((DBObject) value).keySet().isEmpty()) {
+      return false;
+    }
+
+    for (String key : ((DBObject) value).keySet()) {
+      if (!key.startsWith("$")) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private Object getMappedOperand(Object value, Class<?> type) {
+
+    if (value instanceof DBObject && !(value instanceof List)) {
+      return getMappedObject((DBObject) value, type);
+    }
+
+    if (value instanceof Collection || value instanceof Object[]) {
+
+      Collection<?> values = value instanceof Collection ? (Collection<?>) value : Arrays.asList((Object[]) value);
+      BasicDBList result = new BasicDBList();
+
+      for (Object element : values) {
+        result.add(element instanceof DBObject ? getMappedObject((DBObject) element, type) : element);
+      }
+
+      return result;
+    }
+
+    return value;
+  }
+
+  private static boolean isPositional(String segment) {
+
+    if ("$".equals(segment)) {
+      return true;
+    }
+
+    for (int i = 0; i < segment.length(); i++) {
+      if (!Character.isDigit(segment.charAt(i))) {
+        return false;
+      }
+    }
+
+    return segment.length() > 0;
+  }
+
+  private PersistentEntity<?> getEntityToMap(Class<?> type) {
+
+    if (type == null || mappingContext == null || type.isArray() || MappingBeanHelper.isSimpleType(type)
+        || DBObject.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+        || Collection.class.isAssignableFrom(type)) {
+      return null;
+    }
+
+    PersistentEntity<?> entity = mappingContext.getPersistentEntity(type);
+    return entity == null ? mappingContext.addPersistentEntity(type) : entity;
+  }
+
+  /**
+   * Returns all properties and association inverses of the given entity by their name. The result is cached per type.
+   *
+   * @param entity
+   * @return
+   */
+  private Map<String, PersistentProperty> getPropertiesByName(PersistentEntity<?> entity) {
+
+    Map<String, PersistentProperty> properties = propertiesByName.get(entity.getType());
+
+    if (properties == null) {
+
+      final Map<String, PersistentProperty> result = new HashMap<String, PersistentProperty>();
+
+      entity.doWithProperties(new PropertyHandler() {
+        public void doWithPersistentProperty(PersistentProperty property) {
+          result.put(property.getName(), property);
+        }
+      });
+      entity.doWithAssociations(new AssociationHandler() {
+        public void doWithAssociation(Association association) {
+          result.put(association.getInverse().getName(), association.getInverse());
+        }
+      });
+
+      properties = Collections.unmodifiableMap(result);
+      propertiesByName.put(entity.getType(), properties);
+    }
+
+    return properties;
+  }
+
+  /**
+   * Returns the key the given property is stored under in a {@link DBObject}.
+   *
+   * @param property must not be {@literal null}
+   * @return
+   */
+  static String getKey(PersistentProperty property) {
+    return property instanceof MongoPersistentProperty ? ((MongoPersistentProperty) property).getFieldName()
+        : MongoPersistentProperty.getFieldName(property.getField());
+  }
+
+  /**
+   * Returns the parsed {@link Expression} for the given expression string, parsing it only once.
+   *
+   * @param expressionString
+   * @return
+   */
+  private Expression getExpression(String expressionString) {
+
+    Expression expression = expressions.get(expressionString);
+
+    if (expression == null) {
+      expression = spelExpressionParser.parseExpression(expressionString);
+      expressions.put(expressionString, expression);
+    }
+
+    return expression;
+  }
+
+  /**
+   * Returns the cached {@link EntityAccessor} for the given type.
+   *
+   * @param type
+   * @return
+   */
+  private EntityAccessor getAccessor(Class<?> type) {
+
+    EntityAccessor accessor = accessors.get(type);
+
+    if (accessor == null) {
+      accessor = new EntityAccessor(type);
+      EntityAccessor existing = accessors.putIfAbsent(type, accessor);
+      accessor = existing == null ? accessor : existing;
+    }
+
+    return accessor;
+  }
+
   /**
    * Simple singleton to convert {@link ObjectId}s to their {@link String} representation.
    *
@@ -661,6 +1420,112 @@ public class MappingMongoConverter implements MongoConverter, ApplicationContext
     }
   }
 
+  /**
+   * {@link InvocationHandler} backing a {@link LazyLoadingProxy}. Resolves the reference on the first method call and
+   * delegates all calls to the resolved object afterwards.
+   */
+  private class LazyLoadingInterceptor implements InvocationHandler {
+
+    private final PersistentProperty property;
+    private final Object source;
+
+    private boolean resolved;
+    private Object target;
+
+    public LazyLoadingInterceptor(PersistentProperty property, Object source) {
+      this.property = property;
+      this.source = source;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+     */
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+      if (method.getDeclaringClass().equals(LazyLoadingProxy.class)) {
+        if ("isResolved".equals(method.getName())) {
+          return isResolved();
+        }
+        return "getSource".equals(method.getName()) ? source : resolve();
+      }
+
+      if (ReflectionUtils.isEqualsMethod(method) && args[0] == proxy) {
+        return true;
+      }
+
+      Object target = resolve();
+
+      if (target == null) {
+        throw new MappingException("Referenced document " + source + " does not exist!");
+      }
+
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    }
+
+    private synchronized boolean isResolved() {
+      return resolved;
+    }
+
+    private synchronized Object resolve() {
+
+      if (resolved) {
+        return target;
+      }
+
+      if (source instanceof DBRef) {
+        DBObject dbo = fetch((DBRef) source);
+        Class<?> type = dbo == null ? null : findTypeToBeUsed(dbo);
+        target = read(type == null ? property.getType() : type, dbo);
+      } else {
+        List<Object> items = new ArrayList<Object>();
+        for (Object item : (BasicDBList) source) {
+          if (item instanceof DBRef) {
+            items.add(read(property.getComponentType(), fetch((DBRef) item)));
+          } else if (item instanceof DBObject) {
+            items.add(read(property.getComponentType(), (DBObject) item));
+          } else {
+            items.add(item);
+          }
+        }
+        target = items;
+      }
+
+      resolved = true;
+      return target;
+    }
+  }
+
+  /**
+   * {@link StandardEvaluationContext} resolving variables from the {@link DBObject} being read on demand instead of
+   * copying all its keys upfront.
+   */
+  private class DBObjectEvaluationContext extends StandardEvaluationContext {
+
+    private final DBObject dbo;
+
+    public DBObjectEvaluationContext(DBObject dbo) {
+      this.dbo = dbo;
+      if (null != applicationContext) {
+        setBeanResolver(new BeanFactoryResolver(applicationContext));
+      }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.expression.spel.support.StandardEvaluationContext#lookupVariable(java.lang.String)
+     */
+    @Override
+    public Object lookupVariable(String name) {
+      Object value = super.lookupVariable(name);
+      return value != null ? value : dbo.get(name);
+    }
+  }
+
   protected class PersistentPropertyWrapper {
     private final PersistentProperty property;
     private final DBObject target;
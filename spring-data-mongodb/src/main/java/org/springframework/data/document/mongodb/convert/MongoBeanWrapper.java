@@ -18,6 +18,9 @@ package org.springframework.data.document.mongodb.convert;
 import static org.springframework.beans.PropertyAccessorFactory.forBeanPropertyAccess;
 import static org.springframework.beans.PropertyAccessorFactory.forDirectFieldAccess;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.ConfigurablePropertyAccessor;
 import org.springframework.beans.NotWritablePropertyException;
@@ -25,18 +28,25 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.data.document.mongodb.MongoPropertyDescriptors;
 import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Custom Mongo specific {@link BeanWrapper} to allow access to bean properties via {@link MongoPropertyDescriptor}s.
+ * Values are read and written through the cached fields and accessor methods of the descriptors directly. A
+ * {@link ConfigurablePropertyAccessor} is only created if a value needs conversion.
  *
  * @author Oliver Gierke
  */
 class MongoBeanWrapper {
 
-  private final ConfigurablePropertyAccessor accessor;
+  private final Object target;
+  private final ConversionService conversionService;
   private final MongoPropertyDescriptors descriptors;
   private final boolean fieldAccess;
 
+  private ConfigurablePropertyAccessor accessor;
+
   /**
    * Creates a new {@link MongoBeanWrapper} for the given target object and {@link ConversionService}.
    *
@@ -45,14 +55,29 @@ class MongoBeanWrapper {
    * @param fieldAccess
    */
   public MongoBeanWrapper(Object target, ConversionService conversionService, boolean fieldAccess) {
+    this(target, conversionService, new MongoPropertyDescriptors(target.getClass()), fieldAccess);
+  }
+
+  /**
+   * Creates a new {@link MongoBeanWrapper} for the given target object and {@link ConversionService} using the given,
+   * possibly cached, {@link MongoPropertyDescriptors} of the target's type.
+   *
+   * @param target
+   * @param conversionService
+   * @param descriptors
+   * @param fieldAccess
+   */
+  public MongoBeanWrapper(Object target, ConversionService conversionService, MongoPropertyDescriptors descriptors,
+                          boolean fieldAccess) {
 
     Assert.notNull(target);
     Assert.notNull(conversionService);
+    Assert.notNull(descriptors);
 
+    this.target = target;
+    this.conversionService = conversionService;
     this.fieldAccess = fieldAccess;
-    this.accessor = fieldAccess ? forDirectFieldAccess(target) : forBeanPropertyAccess(target);
-    this.accessor.setConversionService(conversionService);
-    this.descriptors = new MongoPropertyDescriptors(target.getClass());
+    this.descriptors = descriptors;
   }
 
   /**
@@ -72,7 +97,17 @@ class MongoBeanWrapper {
    */
   public Object getValue(MongoPropertyDescriptors.MongoPropertyDescriptor descriptor) {
     Assert.notNull(descriptor);
-    return accessor.getPropertyValue(descriptor.getName());
+
+    if (fieldAccess && descriptor.getField() != null) {
+      return ReflectionUtils.getField(descriptor.getField(), target);
+    }
+
+    Method readMethod = descriptor.getReadMethod();
+    if (!fieldAccess && readMethod != null) {
+      return ReflectionUtils.invokeMethod(readMethod, target);
+    }
+
+    return getAccessor().getPropertyValue(descriptor.getName());
   }
 
   /**
@@ -83,12 +118,39 @@ class MongoBeanWrapper {
    */
   public void setValue(MongoPropertyDescriptors.MongoPropertyDescriptor descriptor, Object value) {
     Assert.notNull(descriptor);
+
+    Field field = descriptor.getField();
+    if (fieldAccess && field != null && isAssignable(field.getType(), value)) {
+      ReflectionUtils.setField(field, target, value);
+      return;
+    }
+
+    Method writeMethod = descriptor.getWriteMethod();
+    if (!fieldAccess && writeMethod != null && isAssignable(writeMethod.getParameterTypes()[0], value)) {
+      ReflectionUtils.invokeMethod(writeMethod, target, value);
+      return;
+    }
+
     try {
-      accessor.setPropertyValue(descriptor.getName(), value);
+      getAccessor().setPropertyValue(descriptor.getName(), value);
     } catch (NotWritablePropertyException e) {
       if (!fieldAccess) {
         throw e;
       }
     }
   }
-}
\ No newline at end of file
+
+  private static boolean isAssignable(Class<?> type, Object value) {
+    return value == null ? !type.isPrimitive() : ClassUtils.isAssignableValue(type, value);
+  }
+
+  private ConfigurablePropertyAccessor getAccessor() {
+
+    if (accessor == null) {
+      accessor = fieldAccess ? forDirectFieldAccess(target) : forBeanPropertyAccess(target);
+      accessor.setConversionService(conversionService);
+    }
+
+    return accessor;
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import org.bson.types.Binary;
+import org.springframework.data.document.mongodb.mapping.Packed;
+import org.springframework.data.mapping.model.MappingException;
+
+/**
+ * Reads and writes arrays of primitive numeric types without going through the {@link
+ * org.springframework.core.convert.ConversionService}. Arrays are either handed to the driver as is or packed into a
+ * little-endian {@link Binary}, and read back from a list of numbers or from such a {@link Binary} directly into a
+ * primitive array.
+ */
+abstract class PrimitiveArrays {
+
+  private PrimitiveArrays() {
+  }
+
+  /**
+   * Returns whether the given type is an array of {@code int}, {@code long}, {@code short}, {@code float} or
+   * {@code double}.
+   *
+   * @param type
+   * @return
+   */
+  public static boolean isPrimitiveArray(Class<?> type) {
+
+    if (type == null || !type.isArray()) {
+      return false;
+    }
+
+    Class<?> componentType = type.getComponentType();
+    return componentType == int.class || componentType == long.class || componentType == double.class
+        || componentType == float.class || componentType == short.class;
+  }
+
+  /**
+   * Packs the given primitive array into a {@link Binary} of subtype {@link Packed#BINARY_SUBTYPE}.
+   *
+   * @param array must be a primitive array as defined by {@link #isPrimitiveArray(Class)}
+   * @return
+   */
+  public static Binary pack(Object array) {
+
+    ByteBuffer buffer;
+
+    if (array instanceof int[]) {
+      int[] values = (int[]) array;
+      buffer = allocate(values.length * 4);
+      buffer.asIntBuffer().put(values);
+    } else if (array instanceof long[]) {
+      long[] values = (long[]) array;
+      buffer = allocate(values.length * 8);
+      buffer.asLongBuffer().put(values);
+    } else if (array instanceof double[]) {
+      double[] values = (double[]) array;
+      buffer = allocate(values.length * 8);
+      buffer.asDoubleBuffer().put(values);
+    } else if (array instanceof float[]) {
+      float[] values = (float[]) array;
+      buffer = allocate(values.length * 4);
+      buffer.asFloatBuffer().put(values);
+    } else if (array instanceof short[]) {
+      short[] values = (short[]) array;
+      buffer = allocate(values.length * 2);
+      buffer.asShortBuffer().put(values);
+    } else {
+      throw new IllegalArgumentException("Cannot pack " + array.getClass().getName());
+    }
+
+    return new Binary(Packed.BINARY_SUBTYPE, buffer.array());
+  }
+
+  /**
+   * Reads the given value stored for a property of the given primitive array type. Supports packed {@link Binary}s as
+   * well as plain byte arrays, lists of {@link Number}s and arrays of the requested type.
+   *
+   * @param value     may be {@literal null}
+   * @param arrayType must be a primitive array type as defined by {@link #isPrimitiveArray(Class)}
+   * @return
+   */
+  public static Object read(Object value, Class<?> arrayType) {
+
+    if (value == null || arrayType.isInstance(value)) {
+      return value;
+    }
+    if (value instanceof Binary) {
+      return unpack(((Binary) value).getData(), arrayType.getComponentType());
+    }
+    if (value instanceof byte[]) {
+      return unpack((byte[]) value, arrayType.getComponentType());
+    }
+    if (value instanceof List) {
+      return fromList((List<?>) value, arrayType.getComponentType());
+    }
+
+    throw new MappingException("Cannot read " + value.getClass().getName() + " as " + arrayType.getSimpleName());
+  }
+
+  private static Object unpack(byte[] data, Class<?> componentType) {
+
+    ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+
+    if (componentType == int.class) {
+      int[] result = new int[data.length / 4];
+      buffer.asIntBuffer().get(result);
+      return result;
+    }
+    if (componentType == long.class) {
+      long[] result = new long[data.length / 8];
+      buffer.asLongBuffer().get(result);
+      return result;
+    }
+    if (componentType == double.class) {
+      double[] result = new double[data.length / 8];
+      buffer.asDoubleBuffer().get(result);
+      return result;
+    }
+    if (componentType == float.class) {
+      float[] result = new float[data.length / 4];
+      buffer.asFloatBuffer().get(result);
+      return result;
+    }
+
+    short[] result = new short[data.length / 2];
+    buffer.asShortBuffer().get(result);
+    return result;
+  }
+
+  private static Object fromList(List<?> values, Class<?> componentType) {
+
+    int size = values.size();
+
+    if (componentType == int.class) {
+      int[] result = new int[size];
+      for (int i = 0; i < size; i++) {
+        result[i] = ((Number) values.get(i)).intValue();
+      }
+      return result;
+    }
+    if (componentType == long.class) {
+      long[] result = new long[size];
+      for (int i = 0; i < size; i++) {
+        result[i] = ((Number) values.get(i)).longValue();
+      }
+      return result;
+    }
+    if (componentType == double.class) {
+      double[] result = new double[size];
+      for (int i = 0; i < size; i++) {
+        result[i] = ((Number) values.get(i)).doubleValue();
+      }
+      return result;
+    }
+    if (componentType == float.class) {
+      float[] result = new float[size];
+      for (int i = 0; i < size; i++) {
+        result[i] = ((Number) values.get(i)).floatValue();
+      }
+      return result;
+    }
+
+    short[] result = new short[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = ((Number) values.get(i)).shortValue();
+    }
+    return result;
+  }
+
+  private static ByteBuffer allocate(int size) {
+    return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+  }
+}
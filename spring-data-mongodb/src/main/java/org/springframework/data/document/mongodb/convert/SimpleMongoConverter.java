@@ -19,6 +19,8 @@ import java.lang.reflect.*;
 import java.math.BigInteger;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import com.mongodb.BasicDBList;
@@ -37,6 +39,7 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 import org.springframework.core.convert.support.ConversionServiceFactory;
 import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.data.document.mongodb.MongoPropertyDescriptors;
 import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
 import org.springframework.util.Assert;
 import org.springframework.util.comparator.CompoundComparator;
@@ -106,6 +109,11 @@ public class SimpleMongoConverter implements MongoConverter {
   }
 
   private final GenericConversionService conversionService;
+  private final Map<Type, List<Class<?>>> genericParameters = new ConcurrentHashMap<Type, List<Class<?>>>();
+  private final Map<Class<?>, WriteStrategy> writeStrategies = new ConcurrentHashMap<Class<?>, WriteStrategy>();
+  private final Map<Class<?>, Boolean> simpleTypes = new ConcurrentHashMap<Class<?>, Boolean>();
+  private final ConcurrentMap<Class<?>, MongoPropertyDescriptors> propertyDescriptors =
+      new ConcurrentHashMap<Class<?>, MongoPropertyDescriptors>();
 
   /**
    * Creates a {@link SimpleMongoConverter}.
@@ -134,19 +142,25 @@ public class SimpleMongoConverter implements MongoConverter {
    * @param converters
    */
   public void setConverters(Set<?> converters) {
-    for (Object converter : converters) {
-      boolean added = false;
-      if (converter instanceof Converter) {
-        this.conversionService.addConverter((Converter<?, ?>) converter);
-        added = true;
-      }
-      if (converter instanceof ConverterFactory) {
-        this.conversionService.addConverterFactory((ConverterFactory<?, ?>) converter);
-        added = true;
-      }
-      if (!added) {
-        throw new IllegalArgumentException("Given set contains element that is neither Converter nor ConverterFactory!");
+    try {
+      for (Object converter : converters) {
+        boolean added = false;
+        if (converter instanceof Converter) {
+          this.conversionService.addConverter((Converter<?, ?>) converter);
+          added = true;
+        }
+        if (converter instanceof ConverterFactory) {
+          this.conversionService.addConverterFactory((ConverterFactory<?, ?>) converter);
+          added = true;
+        }
+        if (!added) {
+          throw new IllegalArgumentException("Given set contains element that is neither Converter nor ConverterFactory!");
+        }
       }
+    } finally {
+      // Clear only once the converters are registered so that no write can cache a stale strategy in between
+      writeStrategies.clear();
+      simpleTypes.clear();
     }
   }
 
@@ -171,6 +185,8 @@ public class SimpleMongoConverter implements MongoConverter {
         // TODO validate Enums...
         if (descriptor.isEnum()) {
           writeValue(dbo, keyToUse, ((Enum) value).name());
+        } else if (descriptor.isPacked() && PrimitiveArrays.isPrimitiveArray(descriptor.getPropertyType())) {
+          dbo.put(keyToUse, PrimitiveArrays.pack(value));
         } else if (descriptor.isIdProperty() && descriptor.isOfIdType()) {
           if (value instanceof String && ObjectId.isValid((String) value)) {
             try {
@@ -202,60 +218,92 @@ public class SimpleMongoConverter implements MongoConverter {
    * @param value
    */
   private void writeValue(DBObject dbo, String keyToUse, Object value) {
-
-    if (!isSimpleType(value.getClass())) {
-      writeCompoundValue(dbo, keyToUse, value);
-    } else {
-      dbo.put(keyToUse, value);
-    }
+    writeValue(dbo, keyToUse, value, getWriteStrategy(value.getClass()));
   }
 
   /**
-   * Writes the given {@link CompoundComparator} value to the given {@link DBObject}.
+   * Writes the given value to the given {@link DBObject} using the given {@link WriteStrategy}.
    *
    * @param dbo
    * @param keyToUse
    * @param value
+   * @param strategy
    */
   @SuppressWarnings("unchecked")
-  private void writeCompoundValue(DBObject dbo, String keyToUse, Object value) {
-    if (value instanceof Map) {
-      writeMap(dbo, keyToUse, (Map<String, Object>) value);
-      return;
+  private void writeValue(DBObject dbo, String keyToUse, Object value, WriteStrategy strategy) {
+
+    switch (strategy.kind) {
+      case SIMPLE:
+        dbo.put(keyToUse, value);
+        return;
+      case MAP:
+        writeMap(dbo, keyToUse, (Map<String, Object>) value);
+        return;
+      case COLLECTION:
+        writeArray(dbo, keyToUse, ((Collection<Object>) value).toArray());
+        return;
+      case ARRAY:
+        writeArray(dbo, keyToUse, (Object[]) value);
+        return;
+      case CUSTOM:
+        dbo.put(keyToUse, conversionService.convert(value, strategy.targetType));
+        return;
+      default:
+        DBObject nestedDbo = new BasicDBObject();
+        write(value, nestedDbo);
+        dbo.put(keyToUse, nestedDbo);
+    }
+  }
+
+  /**
+   * Returns the {@link WriteStrategy} for values of the given type. Strategies are resolved once per type and cached
+   * until the set of registered converters changes.
+   *
+   * @param type
+   * @return
+   */
+  private WriteStrategy getWriteStrategy(Class<?> type) {
+
+    WriteStrategy strategy = writeStrategies.get(type);
+
+    if (strategy == null) {
+      strategy = resolveWriteStrategy(type);
+      writeStrategies.put(type, strategy);
     }
-    if (value instanceof Collection) {
-      // Should write a collection!
-      writeArray(dbo, keyToUse, ((Collection<Object>) value).toArray());
-      return;
+
+    return strategy;
+  }
+
+  private WriteStrategy resolveWriteStrategy(Class<?> type) {
+
+    if (isCachedSimpleType(type)) {
+      return WriteStrategy.SIMPLE;
     }
-    if (value instanceof Object[]) {
-      // Should write an array!
-      writeArray(dbo, keyToUse, (Object[]) value);
-      return;
+    if (Map.class.isAssignableFrom(type)) {
+      return WriteStrategy.MAP;
     }
-    
-    Class<?> customTargetType = getCustomTargetType(value);
-    if (customTargetType != null) {
-      dbo.put(keyToUse, conversionService.convert(value, customTargetType));
-      return;
+    if (Collection.class.isAssignableFrom(type)) {
+      return WriteStrategy.COLLECTION;
     }
-    
-    DBObject nestedDbo = new BasicDBObject();
-    write(value, nestedDbo);
-    dbo.put(keyToUse, nestedDbo);
+    if (Object[].class.isAssignableFrom(type)) {
+      return WriteStrategy.ARRAY;
+    }
+
+    Class<?> customTargetType = getCustomTargetType(type);
+    return customTargetType == null ? WriteStrategy.ENTITY : new WriteStrategy(WriteKind.CUSTOM, customTargetType);
   }
-  
+
   /**
    * Returns whether the {@link ConversionService} has a custom {@link Converter} registered that can convert the given
-   * object into one of the types supported by MongoDB.
+   * type into one of the types supported by MongoDB.
    * 
-   * @param obj
+   * @param type
    * @return
    */
-  private Class<?> getCustomTargetType(Object obj) {
+  private Class<?> getCustomTargetType(Class<?> type) {
     
     for (Class<?> mongoType : MONGO_TYPES) {
-      if (conversionService.canConvert(obj.getClass(), mongoType)) {
+      if (conversionService.canConvert(type, mongoType)) {
         return mongoType;
       }
     }
@@ -287,11 +335,7 @@ public class SimpleMongoConverter implements MongoConverter {
         Object entryValue = entry.getValue();
         String entryKey = entry.getKey();
 
-        if (!isSimpleType(entryValue.getClass())) {
-          writeCompoundValue(dboToPopulate, entryKey, entryValue);
-        } else {
-          dboToPopulate.put(entryKey, entryValue);
-        }
+        writeValue(dboToPopulate, entryKey, entryValue);
       }
       dbo.put(mapKey, dboToPopulate);
     }
@@ -311,7 +355,7 @@ public class SimpleMongoConverter implements MongoConverter {
       dboValues = new Object[array.length];
       int i = 0;
       for (Object o : array) {
-        if (!isSimpleType(o.getClass())) {
+        if (getWriteStrategy(o.getClass()) != WriteStrategy.SIMPLE) {
           DBObject dboValue = new BasicDBObject();
           write(o, dboValue);
           dboValues[i] = dboValue;
@@ -337,14 +381,16 @@ public class SimpleMongoConverter implements MongoConverter {
 
     Assert.notNull(clazz, "Mapped class was not specified");
     S target = BeanUtils.instantiateClass(clazz);
-    MongoBeanWrapper bw = new MongoBeanWrapper(target, conversionService, true);
+    MongoBeanWrapper bw = new MongoBeanWrapper(target, conversionService, getPropertyDescriptors(clazz), true);
 
     for (MongoPropertyDescriptor descriptor : bw.getDescriptors()) {
       String keyToUse = descriptor.getKeyToMap();
       if (source.containsField(keyToUse)) {
         if (descriptor.isMappable()) {
           Object value = source.get(keyToUse);
-          if (!isSimpleType(value.getClass())) {
+          if (PrimitiveArrays.isPrimitiveArray(descriptor.getPropertyType())) {
+            bw.setValue(descriptor, PrimitiveArrays.read(value, descriptor.getPropertyType()));
+          } else if (!isCachedSimpleType(value.getClass())) {
             if (value instanceof Object[]) {
               bw.setValue(descriptor, readCollection(descriptor, Arrays.asList((Object[]) value))
                   .toArray());
@@ -445,7 +491,7 @@ public class SimpleMongoConverter implements MongoConverter {
     Map<String, Object> map = createMap();
     for (String key : dbo.keySet()) {
       Object value = dbo.get(key);
-      if (!isSimpleType(value.getClass())) {
+      if (!isCachedSimpleType(value.getClass())) {
         map.put(key, read(targetType, (DBObject) value));
         // Can do some reflection tricks here -
         // throw new RuntimeException("User types not supported yet as values for Maps");
@@ -460,10 +506,31 @@ public class SimpleMongoConverter implements MongoConverter {
     if (propertyType == null) {
       return false;
     }
-    if (propertyType.isArray()) {
-      return isSimpleType(propertyType.getComponentType());
+
+    return propertyType.isArray() ? isSimpleType(propertyType.getComponentType()) : SIMPLE_TYPES
+        .contains(propertyType.getName());
+  }
+
+  /**
+   * Returns whether the given type is a simple type, caching the result per type for the lifetime of the converter.
+   *
+   * @param propertyType
+   * @return
+   * @see #isSimpleType(Class)
+   */
+  private boolean isCachedSimpleType(Class<?> propertyType) {
+    if (propertyType == null) {
+      return false;
     }
-    return SIMPLE_TYPES.contains(propertyType.getName());
+
+    Boolean simple = simpleTypes.get(propertyType);
+
+    if (simple == null) {
+      simple = isSimpleType(propertyType);
+      simpleTypes.put(propertyType, simple);
+    }
+
+    return simple;
   }
 
   /**
@@ -475,11 +542,39 @@ public class SimpleMongoConverter implements MongoConverter {
    */
   protected MongoBeanWrapper createWrapper(Object target, boolean fieldAccess) {
 
-    return new MongoBeanWrapper(target, conversionService, fieldAccess);
+    return new MongoBeanWrapper(target, conversionService, getPropertyDescriptors(target.getClass()), fieldAccess);
+  }
+
+  /**
+   * Returns the {@link MongoPropertyDescriptors} of the given type. They are created once per type and converter.
+   *
+   * @param type must not be {@literal null}
+   * @return
+   */
+  public MongoPropertyDescriptors getPropertyDescriptors(Class<?> type) {
+
+    MongoPropertyDescriptors descriptors = propertyDescriptors.get(type);
+
+    if (descriptors == null) {
+      descriptors = new MongoPropertyDescriptors(type);
+      MongoPropertyDescriptors existing = propertyDescriptors.putIfAbsent(type, descriptors);
+      descriptors = existing == null ? descriptors : existing;
+    }
+
+    return descriptors;
   }
 
   public List<Class<?>> getGenericParameters(Type genericParameterType) {
 
+    if (genericParameterType == null) {
+      return Collections.emptyList();
+    }
+
+    List<Class<?>> cached = genericParameters.get(genericParameterType);
+    if (cached != null) {
+      return cached;
+    }
+
     List<Class<?>> actualGenericParameterTypes = new ArrayList<Class<?>>();
 
     if (genericParameterType instanceof ParameterizedType) {
@@ -508,6 +603,8 @@ public class SimpleMongoConverter implements MongoConverter {
       }
     }
 
+    actualGenericParameterTypes = Collections.unmodifiableList(actualGenericParameterTypes);
+    genericParameters.put(genericParameterType, actualGenericParameterTypes);
     return actualGenericParameterTypes;
   }
 
@@ -576,4 +673,31 @@ public class SimpleMongoConverter implements MongoConverter {
       return new ObjectId(source.toString(16));
     }
   }
+
+  /**
+   * The way values of a particular type are written.
+   */
+  private static enum WriteKind {
+    SIMPLE, MAP, COLLECTION, ARRAY, CUSTOM, ENTITY;
+  }
+
+  /**
+   * A {@link WriteKind} along with the Mongo type to convert to for {@link WriteKind#CUSTOM}.
+   */
+  private static class WriteStrategy {
+
+    static final WriteStrategy SIMPLE = new WriteStrategy(WriteKind.SIMPLE, null);
+    static final WriteStrategy MAP = new WriteStrategy(WriteKind.MAP, null);
+    static final WriteStrategy COLLECTION = new WriteStrategy(WriteKind.COLLECTION, null);
+    static final WriteStrategy ARRAY = new WriteStrategy(WriteKind.ARRAY, null);
+    static final WriteStrategy ENTITY = new WriteStrategy(WriteKind.ENTITY, null);
+
+    final WriteKind kind;
+    final Class<?> targetType;
+
+    WriteStrategy(WriteKind kind, Class<?> targetType) {
+      this.kind = kind;
+      this.targetType = targetType;
+    }
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.data.document.mongodb.mapping.TypeAlias;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Maps types to the hints stored along with documents and back. Types can be given an alias explicitly or by
+ * annotating them with {@link TypeAlias}, all other types are stored with their fully qualified class name. Resolved
+ * hints are cached, including the ones that could not be resolved to a type at all.
+ */
+public class TypeAliasRegistry {
+
+  private final ConcurrentMap<Class<?>, String> aliases = new ConcurrentHashMap<Class<?>, String>();
+  private final ConcurrentMap<String, Class<?>> types = new ConcurrentHashMap<String, Class<?>>();
+  private final ConcurrentMap<String, Boolean> unresolvable = new ConcurrentHashMap<String, Boolean>();
+
+  private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+  /**
+   * Registers the given aliases.
+   *
+   * @param aliases
+   */
+  public void setAliases(Map<String, Class<?>> aliases) {
+    for (Map.Entry<String, Class<?>> entry : aliases.entrySet()) {
+      register(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Sets the {@link ClassLoader} to load types stored with their class name.
+   *
+   * @param classLoader
+   */
+  public void setClassLoader(ClassLoader classLoader) {
+    this.classLoader = classLoader;
+  }
+
+  /**
+   * Registers the given alias for the given type.
+   *
+   * @param alias must not be {@literal null} or empty
+   * @param type  must not be {@literal null}
+   */
+  public void register(String alias, Class<?> type) {
+
+    Assert.hasText(alias);
+    Assert.notNull(type);
+
+    Class<?> existing = types.get(alias);
+    if (existing != null && !existing.equals(type)) {
+      throw new IllegalArgumentException("Alias '" + alias + "' already registered for " + existing.getName());
+    }
+
+    aliases.put(type, alias);
+    types.put(alias, type);
+    unresolvable.remove(alias);
+  }
+
+  /**
+   * Registers the alias defined by a {@link TypeAlias} annotation on the given type, if present.
+   *
+   * @param type must not be {@literal null}
+   * @return whether an alias was registered
+   */
+  public boolean register(Class<?> type) {
+
+    TypeAlias annotation = type.getAnnotation(TypeAlias.class);
+
+    if (annotation == null) {
+      return false;
+    }
+
+    register(annotation.value(), type);
+    return true;
+  }
+
+  /**
+   * Returns the hint to store for the given type.
+   *
+   * @param type must not be {@literal null}
+   * @return
+   */
+  public String getAlias(Class<?> type) {
+
+    String alias = aliases.get(type);
+
+    if (alias == null) {
+      alias = register(type) ? aliases.get(type) : type.getName();
+      aliases.putIfAbsent(type, alias);
+    }
+
+    return alias;
+  }
+
+  /**
+   * Returns the type for the given stored hint.
+   *
+   * @param alias must not be {@literal null}
+   * @return the type or {@literal null} if the hint is neither a registered alias nor a loadable class name.
+   */
+  public Class<?> getType(String alias) {
+
+    Class<?> type = types.get(alias);
+
+    if (type != null || unresolvable.containsKey(alias)) {
+      return type;
+    }
+
+    try {
+      type = ClassUtils.forName(alias, classLoader);
+    } catch (ClassNotFoundException e) {
+      unresolvable.put(alias, Boolean.TRUE);
+      return null;
+    } catch (LinkageError e) {
+      unresolvable.put(alias, Boolean.TRUE);
+      return null;
+    }
+
+    types.putIfAbsent(alias, type);
+    return type;
+  }
+}
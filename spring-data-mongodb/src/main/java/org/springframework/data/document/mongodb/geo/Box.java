@@ -0,0 +1,68 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * A rectangle defined by its lower left and upper right corner.
+ */
+public class Box {
+
+  private final Point lowerLeft;
+  private final Point upperRight;
+
+  /**
+   * Creates a new {@link Box} from the given corners.
+   *
+   * @param lowerLeft  must not be {@literal null}
+   * @param upperRight must not be {@literal null}
+   */
+  public Box(Point lowerLeft, Point upperRight) {
+    Assert.notNull(lowerLeft);
+    Assert.notNull(upperRight);
+    this.lowerLeft = lowerLeft;
+    this.upperRight = upperRight;
+  }
+
+  public Point getLowerLeft() {
+    return lowerLeft;
+  }
+
+  public Point getUpperRight() {
+    return upperRight;
+  }
+
+  /**
+   * Returns the corners in the representation expected by the {@code $box} operator.
+   *
+   * @return
+   */
+  public List<List<Double>> asList() {
+    List<List<Double>> list = new ArrayList<List<Double>>(2);
+    list.add(lowerLeft.asList());
+    list.add(upperRight.asList());
+    return list;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Box [%s, %s]", lowerLeft, upperRight);
+  }
+}
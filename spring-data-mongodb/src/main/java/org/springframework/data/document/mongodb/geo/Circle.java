@@ -0,0 +1,70 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * A circle defined by its center and radius. The radius is given in the units of the coordinate system or, when used
+ * with spherical queries, in radians.
+ */
+public class Circle {
+
+  private final Point center;
+  private final double radius;
+
+  /**
+   * Creates a new {@link Circle} from the given center and radius.
+   *
+   * @param center must not be {@literal null}
+   * @param radius must not be negative
+   */
+  public Circle(Point center, double radius) {
+    Assert.notNull(center);
+    Assert.isTrue(radius >= 0, "Radius must not be negative!");
+    this.center = center;
+    this.radius = radius;
+  }
+
+  public Point getCenter() {
+    return center;
+  }
+
+  public double getRadius() {
+    return radius;
+  }
+
+  /**
+   * Returns center and radius in the representation expected by the {@code $center} and {@code $centerSphere}
+   * operators.
+   *
+   * @return
+   */
+  public List<Object> asList() {
+    List<Object> list = new ArrayList<Object>(2);
+    list.add(center.asList());
+    list.add(radius);
+    return list;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Circle [center=%s, radius=%f]", center, radius);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.geo;
+
+/**
+ * An object returned by a geoNear operation together with its distance to the queried point.
+ *
+ * @param <T> the type of the object
+ */
+public class GeoResult<T> {
+
+  private final T content;
+  private final double distance;
+
+  public GeoResult(T content, double distance) {
+    this.content = content;
+    this.distance = distance;
+  }
+
+  public T getContent() {
+    return content;
+  }
+
+  /**
+   * Returns the distance to the queried point, multiplied by the distance multiplier if one was given.
+   *
+   * @return
+   */
+  public double getDistance() {
+    return distance;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("GeoResult [content=%s, distance=%f]", content, distance);
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.geo;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * The {@link GeoResult}s of a geoNear operation ordered by ascending distance, together with the average distance
+ * reported by the server.
+ *
+ * @param <T> the type the results were mapped to
+ */
+public class GeoResults<T> implements Iterable<GeoResult<T>> {
+
+  private final List<GeoResult<T>> results;
+  private final double averageDistance;
+
+  /**
+   * Creates a new {@link GeoResults} instance.
+   *
+   * @param results         must not be {@literal null}
+   * @param averageDistance
+   */
+  public GeoResults(List<GeoResult<T>> results, double averageDistance) {
+    Assert.notNull(results);
+    this.results = results;
+    this.averageDistance = averageDistance;
+  }
+
+  public List<GeoResult<T>> getContent() {
+    return results;
+  }
+
+  public double getAverageDistance() {
+    return averageDistance;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Iterable#iterator()
+   */
+  public Iterator<GeoResult<T>> iterator() {
+    return results.iterator();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A point in a 2d coordinate system, e.g. longitude and latitude.
+ */
+public class Point {
+
+  private final double x;
+  private final double y;
+
+  public Point(double x, double y) {
+    this.x = x;
+    this.y = y;
+  }
+
+  public double getX() {
+    return x;
+  }
+
+  public double getY() {
+    return y;
+  }
+
+  /**
+   * Returns the point as {@link List} of its coordinates, the representation MongoDB expects in geospatial queries.
+   *
+   * @return
+   */
+  public List<Double> asList() {
+    List<Double> list = new ArrayList<Double>(2);
+    list.add(x);
+    list.add(y);
+    return list;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Point)) {
+      return false;
+    }
+    Point that = (Point) obj;
+    return Double.compare(x, that.x) == 0 && Double.compare(y, that.y) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    long bits = Double.doubleToLongBits(x) * 31 + Double.doubleToLongBits(y);
+    return (int) (bits ^ (bits >>> 32));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Point [x=%f, y=%f]", x, y);
+  }
+}
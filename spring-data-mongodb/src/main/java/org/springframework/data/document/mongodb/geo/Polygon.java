@@ -0,0 +1,77 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.geo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * A closed polygon defined by at least three points. The last point is implicitly connected to the first one.
+ */
+public class Polygon {
+
+  private final List<Point> points;
+
+  /**
+   * Creates a new {@link Polygon} from the given points.
+   *
+   * @param x      must not be {@literal null}
+   * @param y      must not be {@literal null}
+   * @param z      must not be {@literal null}
+   * @param others
+   */
+  public Polygon(Point x, Point y, Point z, Point... others) {
+
+    Assert.notNull(x);
+    Assert.notNull(y);
+    Assert.notNull(z);
+
+    List<Point> points = new ArrayList<Point>(3 + others.length);
+    points.add(x);
+    points.add(y);
+    points.add(z);
+    for (Point other : others) {
+      Assert.notNull(other);
+      points.add(other);
+    }
+    this.points = Collections.unmodifiableList(points);
+  }
+
+  public List<Point> getPoints() {
+    return points;
+  }
+
+  /**
+   * Returns the points in the representation expected by the {@code $polygon} operator.
+   *
+   * @return
+   */
+  public List<List<Double>> asList() {
+    List<List<Double>> list = new ArrayList<List<Double>>(points.size());
+    for (Point point : points) {
+      list.add(point.asList());
+    }
+    return list;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Polygon %s", points);
+  }
+}
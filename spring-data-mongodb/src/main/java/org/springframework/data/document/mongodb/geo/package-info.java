@@ -0,0 +1,4 @@
+/**
+ * Geospatial value types for 2d index queries and the geoNear command.
+ */
+package org.springframework.data.document.mongodb.geo;
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.gridfs;
+
+import java.io.InputStream;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import org.bson.types.Binary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.document.mongodb.CollectionCallback;
+import org.springframework.data.document.mongodb.MongoOperations;
+
+/**
+ * {@link InputStream} reading a range of a GridFS file. Only a single chunk is held in memory at a time and chunks are
+ * loaded on demand, so skipping ahead does not load the chunks skipped.
+ */
+class GridFsChunkInputStream extends InputStream {
+
+  private final MongoOperations operations;
+  private final String chunksCollection;
+  private final Object fileId;
+  private final int chunkSize;
+  private final long end;
+
+  private long position;
+  private int currentChunkNumber = -1;
+  private byte[] currentChunk;
+
+  /**
+   * Creates a new {@link GridFsChunkInputStream}.
+   *
+   * @param operations       the {@link MongoOperations} to load the chunks with
+   * @param chunksCollection the name of the chunks collection
+   * @param file             the file to read
+   * @param offset           the position of the first byte to read
+   * @param length           the maximum number of bytes to read
+   */
+  GridFsChunkInputStream(MongoOperations operations, String chunksCollection, GridFsFile file, long offset,
+                         long length) {
+
+    this.operations = operations;
+    this.chunksCollection = chunksCollection;
+    this.fileId = file.getId();
+    this.chunkSize = file.getChunkSize();
+    this.position = Math.min(offset, file.getLength());
+    this.end = length > file.getLength() - this.position ? file.getLength() : this.position + length;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.io.InputStream#read()
+   */
+  @Override
+  public int read() {
+
+    if (position >= end) {
+      return -1;
+    }
+
+    byte[] chunk = getChunk();
+    int b = chunk[(int) (position % chunkSize)] & 0xff;
+    position++;
+    return b;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.io.InputStream#read(byte[], int, int)
+   */
+  @Override
+  public int read(byte[] b, int off, int len) {
+
+    if (len == 0) {
+      return 0;
+    }
+    if (position >= end) {
+      return -1;
+    }
+
+    byte[] chunk = getChunk();
+    int chunkOffset = (int) (position % chunkSize);
+    int toRead = (int) Math.min(Math.min(len, chunk.length - chunkOffset), end - position);
+
+    System.arraycopy(chunk, chunkOffset, b, off, toRead);
+    position += toRead;
+    return toRead;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.io.InputStream#skip(long)
+   */
+  @Override
+  public long skip(long n) {
+
+    if (n <= 0) {
+      return 0;
+    }
+
+    long skipped = Math.min(n, end - position);
+    position += skipped;
+    return skipped;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.io.InputStream#available()
+   */
+  @Override
+  public int available() {
+    if (currentChunk == null || position >= end || position / chunkSize != currentChunkNumber) {
+      return 0;
+    }
+    return (int) Math.min(currentChunk.length - position % chunkSize, end - position);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.io.InputStream#close()
+   */
+  @Override
+  public void close() {
+    currentChunk = null;
+    position = end;
+  }
+
+  private byte[] getChunk() {
+
+    int chunkNumber = (int) (position / chunkSize);
+
+    if (chunkNumber != currentChunkNumber) {
+      currentChunk = loadChunk(chunkNumber);
+      currentChunkNumber = chunkNumber;
+    }
+
+    return currentChunk;
+  }
+
+  private byte[] loadChunk(final int chunkNumber) {
+
+    DBObject chunk = operations.execute(chunksCollection, new CollectionCallback<DBObject>() {
+      public DBObject doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+        DBObject query = new BasicDBObject(GridFsTemplate.FILES_ID, fileId);
+        query.put(GridFsTemplate.CHUNK_NUMBER, chunkNumber);
+        return collection.findOne(query);
+      }
+    });
+
+    Object data = chunk == null ? null : chunk.get(GridFsTemplate.DATA);
+
+    if (data instanceof byte[]) {
+      return (byte[]) data;
+    } else if (data instanceof Binary) {
+      return ((Binary) data).getData();
+    }
+
+    throw new DataRetrievalFailureException("Missing chunk " + chunkNumber + " of GridFS file " + fileId);
+  }
+}
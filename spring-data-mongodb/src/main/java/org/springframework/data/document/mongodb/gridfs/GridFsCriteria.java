@@ -0,0 +1,56 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.gridfs;
+
+import org.springframework.data.document.mongodb.query.Criteria;
+
+/**
+ * {@link Criteria} to be used to query GridFS files.
+ */
+public class GridFsCriteria extends Criteria {
+
+  public GridFsCriteria(String key) {
+    super(key);
+  }
+
+  /**
+   * Creates a {@link Criteria} for the filename.
+   *
+   * @return
+   */
+  public static Criteria whereFilename() {
+    return new GridFsCriteria(GridFsFile.FILENAME);
+  }
+
+  /**
+   * Creates a {@link Criteria} for the content type.
+   *
+   * @return
+   */
+  public static Criteria whereContentType() {
+    return new GridFsCriteria(GridFsFile.CONTENT_TYPE);
+  }
+
+  /**
+   * Creates a {@link Criteria} for the given key of the metadata stored with the file.
+   *
+   * @param key
+   * @return
+   */
+  public static Criteria whereMetaData(String key) {
+    return new GridFsCriteria(GridFsFile.METADATA + "." + key);
+  }
+}
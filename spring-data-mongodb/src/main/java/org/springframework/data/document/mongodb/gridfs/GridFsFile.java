@@ -0,0 +1,102 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.gridfs;
+
+import java.util.Date;
+
+import com.mongodb.DBObject;
+import org.springframework.util.Assert;
+
+/**
+ * Description of a file stored in GridFS, read from the files collection of the bucket. The content is accessed
+ * through {@link GridFsOperations#getContent(GridFsFile)}.
+ */
+public class GridFsFile {
+
+  static final String ID = "_id";
+  static final String FILENAME = "filename";
+  static final String CONTENT_TYPE = "contentType";
+  static final String LENGTH = "length";
+  static final String CHUNK_SIZE = "chunkSize";
+  static final String UPLOAD_DATE = "uploadDate";
+  static final String MD5 = "md5";
+  static final String METADATA = "metadata";
+
+  private final Object id;
+  private final String filename;
+  private final String contentType;
+  private final long length;
+  private final int chunkSize;
+  private final Date uploadDate;
+  private final String md5;
+  private final DBObject metadata;
+
+  /**
+   * Creates a new {@link GridFsFile} from the given document of the files collection.
+   *
+   * @param dbo must not be {@literal null}
+   */
+  GridFsFile(DBObject dbo) {
+
+    Assert.notNull(dbo);
+
+    this.id = dbo.get(ID);
+    this.filename = (String) dbo.get(FILENAME);
+    this.contentType = (String) dbo.get(CONTENT_TYPE);
+    this.length = ((Number) dbo.get(LENGTH)).longValue();
+    this.chunkSize = ((Number) dbo.get(CHUNK_SIZE)).intValue();
+    this.uploadDate = (Date) dbo.get(UPLOAD_DATE);
+    this.md5 = (String) dbo.get(MD5);
+    this.metadata = (DBObject) dbo.get(METADATA);
+  }
+
+  public Object getId() {
+    return id;
+  }
+
+  public String getFilename() {
+    return filename;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public long getLength() {
+    return length;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public Date getUploadDate() {
+    return uploadDate;
+  }
+
+  public String getMd5() {
+    return md5;
+  }
+
+  public DBObject getMetadata() {
+    return metadata;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("GridFsFile [id=%s, filename=%s, length=%d]", id, filename, length);
+  }
+}
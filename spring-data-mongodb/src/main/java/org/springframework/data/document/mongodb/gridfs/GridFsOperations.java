@@ -0,0 +1,107 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.gridfs;
+
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+
+import com.mongodb.DBObject;
+import org.springframework.data.document.mongodb.query.Query;
+
+/**
+ * Interface that specifies a basic set of GridFS operations. Content is written and read in chunks so that memory use
+ * does not depend on the size of the stored files.
+ */
+public interface GridFsOperations {
+
+  /**
+   * Stores the given content under the given filename.
+   *
+   * @param content  the content to store, will be read to its end but not closed
+   * @param filename the name of the file
+   * @return the stored file
+   */
+  GridFsFile store(InputStream content, String filename);
+
+  /**
+   * Stores the given content under the given filename together with the given content type and metadata.
+   *
+   * @param content     the content to store, will be read to its end but not closed
+   * @param filename    the name of the file
+   * @param contentType the content type, may be {@literal null}
+   * @param metadata    additional information to be stored with the file and usable in queries, may be
+   *                    {@literal null}
+   * @return the stored file
+   */
+  GridFsFile store(InputStream content, String filename, String contentType, DBObject metadata);
+
+  /**
+   * Stores the content of the given channel under the given filename together with the given content type and
+   * metadata.
+   *
+   * @param content     the content to store, will be read to its end but not closed
+   * @param filename    the name of the file
+   * @param contentType the content type, may be {@literal null}
+   * @param metadata    additional information to be stored with the file and usable in queries, may be
+   *                    {@literal null}
+   * @return the stored file
+   */
+  GridFsFile store(ReadableByteChannel content, String filename, String contentType, DBObject metadata);
+
+  /**
+   * Returns all files matching the given query. Use {@link GridFsCriteria} to query for filename, content type or
+   * metadata.
+   *
+   * @param query the query to select the files, {@literal null} selects all files
+   * @return
+   */
+  List<GridFsFile> find(Query query);
+
+  /**
+   * Returns a single file matching the given query or {@literal null} if none matches.
+   *
+   * @param query the query to select the file
+   * @return
+   */
+  GridFsFile findOne(Query query);
+
+  /**
+   * Returns an {@link InputStream} reading the content of the given file chunk by chunk.
+   *
+   * @param file must not be {@literal null}
+   * @return
+   */
+  InputStream getContent(GridFsFile file);
+
+  /**
+   * Returns an {@link InputStream} reading the given range of the content of the given file. Only the chunks
+   * covering the range are loaded.
+   *
+   * @param file   must not be {@literal null}
+   * @param offset the position of the first byte to read
+   * @param length the maximum number of bytes to read
+   * @return
+   */
+  InputStream getContent(GridFsFile file, long offset, long length);
+
+  /**
+   * Deletes all files matching the given query including their content.
+   *
+   * @param query the query to select the files to delete
+   */
+  void delete(Query query);
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.gridfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import com.mongodb.WriteConcern;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.document.mongodb.CollectionCallback;
+import org.springframework.data.document.mongodb.MongoOperations;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.util.Assert;
+
+/**
+ * {@link GridFsOperations} implementation storing files in the layout defined by the GridFS specification, so that
+ * files are interchangeable with the driver's {@link com.mongodb.gridfs.GridFS} and the mongofiles tool. Content is
+ * written and read one chunk at a time. All database access goes through the given {@link MongoOperations} to reuse
+ * its connection handling and exception translation.
+ */
+public class GridFsTemplate implements GridFsOperations {
+
+  public static final String DEFAULT_BUCKET = "fs";
+
+  public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+
+  static final String FILES_ID = "files_id";
+  static final String CHUNK_NUMBER = "n";
+  static final String DATA = "data";
+
+  private final MongoOperations operations;
+
+  private final String filesCollection;
+
+  private final String chunksCollection;
+
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  private WriteConcern writeConcern = WriteConcern.SAFE;
+
+  private volatile boolean chunkIndexEnsured = false;
+
+  /**
+   * Creates a new {@link GridFsTemplate} using the default bucket.
+   *
+   * @param operations must not be {@literal null}
+   */
+  public GridFsTemplate(MongoOperations operations) {
+    this(operations, DEFAULT_BUCKET);
+  }
+
+  /**
+   * Creates a new {@link GridFsTemplate} using the given bucket.
+   *
+   * @param operations must not be {@literal null}
+   * @param bucket     must not be {@literal null} or empty
+   */
+  public GridFsTemplate(MongoOperations operations, String bucket) {
+
+    Assert.notNull(operations);
+    Assert.hasText(bucket);
+
+    this.operations = operations;
+    this.filesCollection = bucket + ".files";
+    this.chunksCollection = bucket + ".chunks";
+  }
+
+  /**
+   * Sets the size of the chunks new files are split into. Defaults to {@value #DEFAULT_CHUNK_SIZE} bytes.
+   *
+   * @param chunkSize
+   */
+  public void setChunkSize(int chunkSize) {
+    Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Sets the {@link WriteConcern} chunks and file entries are inserted with. Defaults to {@link WriteConcern#SAFE} so
+   * that a file entry is only written once all of its chunks were acknowledged. An unacknowledged concern lets chunk
+   * inserts fail silently and leaves file entries pointing to incomplete content.
+   *
+   * @param writeConcern must not be {@literal null}
+   */
+  public void setWriteConcern(WriteConcern writeConcern) {
+    Assert.notNull(writeConcern);
+    this.writeConcern = writeConcern;
+  }
+
+  /* (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.gridfs.GridFsOperations#store(java.io.InputStream, java.lang.String)
+   */
+  public GridFsFile store(InputStream content, String filename) {
+    return store(content, filename, null, null);
+  }
+
+  /* (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.gridfs.GridFsOperations#store(java.nio.channels.ReadableByteChannel, java.lang.String, java.lang.String, com.mongodb.DBObject)
+   */
+  public GridFsFile store(ReadableByteChannel content, String filename, String contentType, DBObject metadata) {
+    Assert.notNull(content);
+    return store(Channels.newInputStream(content), filename, contentType, metadata);
+  }
+
+  /* (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.gridfs.GridFsOperations#store(java.io.InputStream, java.lang.String, java.lang.String, com.mongodb.DBObject)
+   */
+  public GridFsFile store(final InputStream content, final String filename, String contentType, DBObject metadata) {
+
+    Assert.notNull(content);
+    Assert.notNull(filename);
+
+    ensureChunkIndex();
+
+    final ObjectId id = new ObjectId();
+    final MessageDigest digest = createDigest();
+    final int chunkSize = this.chunkSize;
+    final WriteConcern writeConcern = this.writeConcern;
+
+    long length = operations.execute(chunksCollection, new CollectionCallback<Long>() {
+      public Long doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+        byte[] buffer = new byte[chunkSize];
+        long length = 0;
+        int chunkNumber = 0;
+
+        try {
+          int read;
+          while ((read = fill(content, buffer)) > 0) {
+
+            byte[] data = buffer;
+            if (read < chunkSize) {
+              data = new byte[read];
+              System.arraycopy(buffer, 0, data, 0, read);
+            }
+
+            DBObject chunk = new BasicDBObject(FILES_ID, id);
+            chunk.put(CHUNK_NUMBER, chunkNumber++);
+            chunk.put(DATA, data);
+            collection.insert(chunk, writeConcern);
+
+            digest.update(buffer, 0, read);
+            length += read;
+          }
+        } catch (IOException e) {
+          collection.remove(new BasicDBObject(FILES_ID, id));
+          throw new DataAccessResourceFailureException("Could not read content of " + filename, e);
+        } catch (RuntimeException e) {
+          collection.remove(new BasicDBObject(FILES_ID, id));
+          throw e;
+        }
+
+        return length;
+      }
+    });
+
+    final DBObject file = new BasicDBObject(GridFsFile.ID, id);
+    file.put(GridFsFile.FILENAME, filename);
+    file.put(GridFsFile.LENGTH, length);
+    file.put(GridFsFile.CHUNK_SIZE, chunkSize);
+    file.put(GridFsFile.UPLOAD_DATE, new Date());
+    file.put(GridFsFile.MD5, toHex(digest.digest()));
+
+    if (contentType != null) {
+      file.put(GridFsFile.CONTENT_TYPE, contentType);
+    }
+    if (metadata != null) {
+      file.put(GridFsFile.METADATA, metadata);
+    }
+
+    operations.execute(filesCollection, new CollectionCallback<Void>() {
+      public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+        collection.insert(file, writeConcern);
+        return null;
+      }
+    });
+
+    return new GridFsFile(file);
+  }
+
+  /* (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.gridfs.GridFsOperations#find(org.springframework.data.document.mongodb.query.Query)
+   */
+  public List<GridFsFile> find(final Query query) {
+
+    return operations.execute(filesCollection, new CollectionCallback<List<GridFsFile>>() {
+      public List<GridFsFile> doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+        DBCursor cursor = collection.find(getQueryObject(query));
+
+        if (query != null) {
+          if (query.getSortObject() != null) {
+            cursor = cursor.sort(query.getSortObject());
+          }
+          if (query.getSkip() > 0) {
+            cursor = cursor.skip(query.getSkip());
+          }
+          if (query.getLimit() > 0) {
+            cursor = cursor.limit(query.getLimit());
+          }
+        }
+
+        List<GridFsFile> files = new ArrayList<GridFsFile>();
+        try {
+          while (cursor.hasNext()) {
+            files.add(new GridFsFile(cursor.next()));
+          }
+        } finally {
+          cursor.close();
+        }
+        return files;
+      }
+    });
+  }
+
+  /* (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.gridfs.GridFsOperations#findOne(org.springframework.data.document.mongodb.query.Query)
+   */
+  public GridFsFile findOne(final Query query) {
+
+    DBObject file = operations.execute(filesCollection, new CollectionCallback<DBObject>() {
+      public DBObject doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+        return collection.findOne(getQueryObject(query));
+      }
+    });
+
+    return file == null ? null : new GridFsFile(file);
+  }
+
+  /* (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.gridfs.GridFsOperations#getContent(org.springframework.data.document.mongodb.gridfs.GridFsFile)
+   */
+  public InputStream getContent(GridFsFile file) {
+    Assert.notNull(file);
+    return getContent(file, 0, file.getLength());
+  }
+
+  /* (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.gridfs.GridFsOperations#getContent(org.springframework.data.document.mongodb.gridfs.GridFsFile, long, long)
+   */
+  public InputStream getContent(GridFsFile file, long offset, long length) {
+
+    Assert.notNull(file);
+    Assert.isTrue(offset >= 0, "Offset must not be negative!");
+    Assert.isTrue(length >= 0, "Length must not be negative!");
+
+    return new GridFsChunkInputStream(operations, chunksCollection, file, offset, length);
+  }
+
+  /* (non-Javadoc)
+   * @see org.springframework.data.document.mongodb.gridfs.GridFsOperations#delete(org.springframework.data.document.mongodb.query.Query)
+   */
+  public void delete(Query query) {
+
+    for (final GridFsFile file : find(query)) {
+
+      operations.execute(filesCollection, new CollectionCallback<Void>() {
+        public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+          collection.remove(new BasicDBObject(GridFsFile.ID, file.getId()));
+          return null;
+        }
+      });
+
+      operations.execute(chunksCollection, new CollectionCallback<Void>() {
+        public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+          collection.remove(new BasicDBObject(FILES_ID, file.getId()));
+          return null;
+        }
+      });
+    }
+  }
+
+  private void ensureChunkIndex() {
+
+    if (chunkIndexEnsured) {
+      return;
+    }
+
+    operations.execute(chunksCollection, new CollectionCallback<Void>() {
+      public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+        DBObject keys = new BasicDBObject(FILES_ID, 1);
+        keys.put(CHUNK_NUMBER, 1);
+        collection.ensureIndex(keys, new BasicDBObject("unique", true));
+        return null;
+      }
+    });
+
+    chunkIndexEnsured = true;
+  }
+
+  private static DBObject getQueryObject(Query query) {
+    return query == null ? new BasicDBObject() : query.getQueryObject();
+  }
+
+  /**
+   * Reads from the given {@link InputStream} until the buffer is full or the stream is exhausted.
+   *
+   * @param in
+   * @param buffer
+   * @return the number of bytes read
+   * @throws IOException
+   */
+  private static int fill(InputStream in, byte[] buffer) throws IOException {
+
+    int total = 0;
+    while (total < buffer.length) {
+      int read = in.read(buffer, total, buffer.length - total);
+      if (read == -1) {
+        break;
+      }
+      total += read;
+    }
+    return total;
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("MD5 algorithm not available!", e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder builder = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      String hex = Integer.toHexString(b & 0xff);
+      if (hex.length() == 1) {
+        builder.append('0');
+      }
+      builder.append(hex);
+    }
+    return builder.toString();
+  }
+}
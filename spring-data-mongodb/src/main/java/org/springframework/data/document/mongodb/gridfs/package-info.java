@@ -0,0 +1,4 @@
+/**
+ * Support for storing and streaming large binary content using GridFS.
+ */
+package org.springframework.data.document.mongodb.gridfs;
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.document.mongodb.CollectionCallback;
+import org.springframework.data.document.mongodb.MongoOperations;
+import org.springframework.util.Assert;
+
+/**
+ * Collects index definitions and creates the ones not present yet in the background. Definitions are deduplicated by
+ * collection and keys, pending definitions are grouped per collection so that the existing indexes of a collection
+ * are only looked up once per batch, and indexes are built with {@code background : true} on a small thread pool.
+ * Creation can be deferred until the {@link org.springframework.context.ApplicationContext} has been refreshed.
+ */
+public class IndexProvisioner implements ApplicationListener<ContextRefreshedEvent>, DisposableBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IndexProvisioner.class);
+
+  private static final String KEY = "key";
+  private static final String BACKGROUND = "background";
+
+  private final MongoOperations operations;
+
+  private final Set<String> seen = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  private final Map<String, List<PendingIndex>> pending = new LinkedHashMap<String, List<PendingIndex>>();
+
+  private int poolSize = 2;
+  private boolean deferUntilContextRefreshed = false;
+
+  private ExecutorService executor;
+  private boolean contextRefreshed = false;
+
+  /**
+   * Creates a new {@link IndexProvisioner} using the given {@link MongoOperations}.
+   *
+   * @param operations must not be {@literal null}
+   */
+  public IndexProvisioner(MongoOperations operations) {
+    Assert.notNull(operations);
+    this.operations = operations;
+  }
+
+  /**
+   * Sets the number of threads used to create indexes. Defaults to 2.
+   *
+   * @param poolSize
+   */
+  public void setPoolSize(int poolSize) {
+    Assert.isTrue(poolSize > 0, "Pool size must be greater than zero!");
+    this.poolSize = poolSize;
+  }
+
+  /**
+   * Whether to hold back index creation until a {@link ContextRefreshedEvent} was received. Defaults to
+   * {@literal false}.
+   *
+   * @param deferUntilContextRefreshed
+   */
+  public void setDeferUntilContextRefreshed(boolean deferUntilContextRefreshed) {
+    this.deferUntilContextRefreshed = deferUntilContextRefreshed;
+  }
+
+  /**
+   * Registers the given index definition for creation. Definitions with the same keys as one already registered for
+   * the same collection are ignored.
+   *
+   * @param collectionName must not be {@literal null}
+   * @param definition     must not be {@literal null}
+   */
+  public void ensureIndex(String collectionName,
+                          org.springframework.data.document.mongodb.query.IndexDefinition definition) {
+    Assert.notNull(definition);
+    ensureIndex(collectionName, definition.getIndexObject(), definition.getIndexOptions());
+  }
+
+  /**
+   * Registers an index with the given keys and options for creation. Definitions with the same keys as one already
+   * registered for the same collection are ignored unless creating that one failed.
+   *
+   * @param collectionName must not be {@literal null}
+   * @param keys           must not be {@literal null}
+   * @param options        may be {@literal null}
+   */
+  public void ensureIndex(String collectionName, DBObject keys, DBObject options) {
+
+    Assert.notNull(collectionName);
+    Assert.notNull(keys);
+
+    String id = collectionName + ":" + keys;
+
+    if (!seen.add(id)) {
+      LOG.debug("Skipping duplicate index {} on {}", keys, collectionName);
+      return;
+    }
+
+    DBObject backgroundOptions = new BasicDBObject();
+    if (options != null) {
+      backgroundOptions.putAll(options);
+    }
+    backgroundOptions.put(BACKGROUND, true);
+
+    synchronized (pending) {
+
+      List<PendingIndex> indexes = pending.get(collectionName);
+      boolean scheduled = indexes != null;
+
+      if (indexes == null) {
+        indexes = new ArrayList<PendingIndex>();
+        pending.put(collectionName, indexes);
+      }
+
+      indexes.add(new PendingIndex(id, keys, backgroundOptions));
+
+      if (!scheduled && isReadyToCreate()) {
+        schedule(collectionName);
+      }
+    }
+  }
+
+  /**
+   * Starts creating deferred indexes.
+   *
+   * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+   */
+  public void onApplicationEvent(ContextRefreshedEvent event) {
+
+    synchronized (pending) {
+
+      if (contextRefreshed) {
+        return;
+      }
+
+      contextRefreshed = true;
+
+      for (String collectionName : pending.keySet()) {
+        schedule(collectionName);
+      }
+    }
+  }
+
+  /**
+   * Waits for all index creations scheduled so far to finish.
+   *
+   * @param timeout
+   * @param unit
+   * @return {@literal true} if all index creations finished in time
+   * @throws InterruptedException
+   */
+  public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+
+    ExecutorService executor;
+
+    synchronized (pending) {
+      executor = this.executor;
+      this.executor = null;
+    }
+
+    if (executor == null) {
+      return true;
+    }
+
+    executor.shutdown();
+    return executor.awaitTermination(timeout, unit);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.beans.factory.DisposableBean#destroy()
+   */
+  public void destroy() {
+
+    synchronized (pending) {
+      if (executor != null) {
+        executor.shutdownNow();
+        executor = null;
+      }
+    }
+  }
+
+  private boolean isReadyToCreate() {
+    return !deferUntilContextRefreshed || contextRefreshed;
+  }
+
+  /**
+   * Submits a task creating the pending indexes of the given collection. Has to be called while holding the lock on
+   * {@link #pending}.
+   *
+   * @param collectionName
+   */
+  private void schedule(final String collectionName) {
+
+    if (executor == null) {
+      executor = Executors.newFixedThreadPool(poolSize, new IndexThreadFactory());
+    }
+
+    executor.execute(new Runnable() {
+      public void run() {
+        createPendingIndexes(collectionName);
+      }
+    });
+  }
+
+  private void createPendingIndexes(String collectionName) {
+
+    List<PendingIndex> indexes;
+
+    synchronized (pending) {
+      indexes = pending.remove(collectionName);
+    }
+
+    if (indexes == null || indexes.isEmpty()) {
+      return;
+    }
+
+    try {
+      createMissingIndexes(collectionName, indexes);
+    } catch (RuntimeException e) {
+      LOG.warn("Could not create indexes " + indexes + " on collection " + collectionName, e);
+      for (PendingIndex index : indexes) {
+        forget(index);
+      }
+    }
+  }
+
+  /**
+   * Removes the given index from the ones already registered so that registering it again retries its creation.
+   *
+   * @param index
+   */
+  private void forget(PendingIndex index) {
+    seen.remove(index.id);
+  }
+
+  private void createMissingIndexes(String collectionName, final List<PendingIndex> indexes) {
+
+    operations.execute(collectionName, new CollectionCallback<Void>() {
+      public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+        List<DBObject> existing = collection.getIndexInfo();
+
+        for (PendingIndex index : indexes) {
+
+          if (containsKeys(existing, index.keys)) {
+            LOG.debug("Index {} already present on {}", index.keys, collection.getName());
+            continue;
+          }
+
+          LOG.debug("Creating index {} on {}", index.keys, collection.getName());
+
+          try {
+            collection.ensureIndex(index.keys, index.options);
+          } catch (RuntimeException e) {
+            LOG.warn("Could not create index " + index + " on collection " + collection.getName(), e);
+            forget(index);
+          }
+        }
+
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Returns whether any of the given index descriptions as returned by {@link DBCollection#getIndexInfo()} has the
+   * given keys in the same order and direction.
+   *
+   * @param indexInfo
+   * @param keys
+   * @return
+   */
+  static boolean containsKeys(List<DBObject> indexInfo, DBObject keys) {
+
+    for (DBObject info : indexInfo) {
+      Object existingKeys = info.get(KEY);
+      if (existingKeys instanceof DBObject && sameKeys((DBObject) existingKeys, keys)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean sameKeys(DBObject left, DBObject right) {
+
+    List<String> leftKeys = new ArrayList<String>(left.keySet());
+    List<String> rightKeys = new ArrayList<String>(right.keySet());
+
+    if (!leftKeys.equals(rightKeys)) {
+      return false;
+    }
+
+    for (String key : leftKeys) {
+
+      Object leftValue = left.get(key);
+      Object rightValue = right.get(key);
+
+      if (leftValue instanceof Number && rightValue instanceof Number) {
+        if (((Number) leftValue).doubleValue() != ((Number) rightValue).doubleValue()) {
+          return false;
+        }
+      } else if (leftValue == null ? rightValue != null : !leftValue.equals(rightValue)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static class PendingIndex {
+
+    private final String id;
+    private final DBObject keys;
+    private final DBObject options;
+
+    public PendingIndex(String id, DBObject keys, DBObject options) {
+      this.id = id;
+      this.keys = keys;
+      this.options = options;
+    }
+
+    @Override
+    public String toString() {
+      return keys.toString();
+    }
+  }
+
+  private static class IndexThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "mongo-index-provisioner-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stores a {@link String} or {@code byte[]} property compressed as binary of subtype {@link #BINARY_SUBTYPE} using the
+ * {@link org.springframework.data.document.mongodb.convert.CompressionCodec} configured for the converter. Values
+ * smaller than the {@link #threshold()} or not getting any smaller are stored as is. Annotations on properties of other
+ * types are ignored.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({
+    ElementType.FIELD
+})
+public @interface Compressed {
+
+  /**
+   * The binary subtype used for compressed values.
+   */
+  byte BINARY_SUBTYPE = (byte) 0x81;
+
+  /**
+   * The minimum size in bytes a value needs to have to be compressed. Strings are measured in UTF-8.
+   */
+  int threshold() default 1024;
+
+}
@@ -39,4 +39,11 @@ public @interface DBRef {
 
   String db() default "";
 
+  /**
+   * Whether to inject a proxy resolving the reference on first access instead of resolving it when the owning
+   * document is read. Only supported for properties declared as interface, e.g. {@link java.util.List}, others are
+   * resolved eagerly.
+   */
+  boolean lazy() default false;
+
 }
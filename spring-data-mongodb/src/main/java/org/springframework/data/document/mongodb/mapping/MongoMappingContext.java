@@ -19,6 +19,9 @@ package org.springframework.data.document.mongodb.mapping;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.bson.types.CodeWScope;
@@ -29,6 +32,7 @@ import org.springframework.data.mapping.BasicPersistentProperty;
 import org.springframework.data.mapping.MappingBeanHelper;
 import org.springframework.data.mapping.model.MappingConfigurationException;
 import org.springframework.data.mapping.model.MappingContext;
+import org.springframework.data.mapping.model.PersistentEntity;
 import org.springframework.data.util.TypeInformation;
 
 /**
@@ -36,6 +40,9 @@ import org.springframework.data.util.TypeInformation;
  */
 public class MongoMappingContext extends BasicMappingContext {
 
+  private volatile Map<Class<?>, PersistentEntity<?>> frozenEntities = Collections.emptyMap();
+  private volatile boolean frozen = false;
+
   public MongoMappingContext() {
     augmentSimpleTypes();
   }
@@ -56,6 +63,59 @@ public class MongoMappingContext extends BasicMappingContext {
     return super.isAssociation(field, descriptor);
   }
 
+  /**
+   * Looks up the entity in the snapshot taken by {@link #freeze()} first, which is a plain map lookup by type without
+   * any locking or {@link TypeInformation} creation. Falls back to the regular lookup for unknown types.
+   *
+   * @see org.springframework.data.mapping.BasicMappingContext#getPersistentEntity(java.lang.Class)
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> PersistentEntity<T> getPersistentEntity(Class<T> type) {
+    PersistentEntity<?> entity = frozenEntities.get(type);
+    return entity != null ? (PersistentEntity<T>) entity : super.getPersistentEntity(type);
+  }
+
+  /**
+   * Adds the entity and, if the context has been frozen already, publishes a new snapshot containing it.
+   *
+   * @see org.springframework.data.mapping.BasicMappingContext#addPersistentEntity(java.lang.Class)
+   */
+  @Override
+  public <T> PersistentEntity<T> addPersistentEntity(Class<T> type) {
+    PersistentEntity<T> entity = super.addPersistentEntity(type);
+    if (isFrozen()) {
+      snapshot();
+    }
+    return entity;
+  }
+
+  /**
+   * Takes a snapshot of all entities known so far to serve subsequent lookups from. Types added later on are still
+   * picked up and cause the snapshot to be replaced.
+   */
+  public void freeze() {
+    snapshot();
+    this.frozen = true;
+  }
+
+  /**
+   * Returns whether {@link #freeze()} has been called.
+   *
+   * @return
+   */
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  private synchronized void snapshot() {
+    Map<Class<?>, PersistentEntity<?>> entities = new HashMap<Class<?>, PersistentEntity<?>>();
+    for (MongoPersistentEntity<?> entity : getPersistentEntities()) {
+      entities.put(entity.getType(), entity);
+    }
+    this.frozenEntities = entities;
+  }
+
   /* (non-Javadoc)
    * @see org.springframework.data.mapping.BasicMappingContext#getPersistentEntities()
    */
@@ -68,6 +128,10 @@ public class MongoMappingContext extends BasicMappingContext {
   @Override
   public BasicPersistentProperty createPersistentProperty(Field field, PropertyDescriptor descriptor,
                                                           TypeInformation information) throws MappingConfigurationException {
+    if (field.isAnnotationPresent(Version.class) && field.getType().isPrimitive()) {
+      throw new MappingConfigurationException("Version property " + field.getName() + " of "
+          + field.getDeclaringClass().getName() + " must not be of primitive type, use a wrapper type instead!");
+    }
     return new MongoPersistentProperty(field, descriptor, information);
   }
 
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.mapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.annotation.Persistent;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Builds the {@link MongoPersistentEntity} metadata for an initial set of types during startup instead of on first
+ * access. Types can be given explicitly or be found by scanning base packages for {@link Document} and
+ * {@link Persistent} annotated classes. The reflective introspection of the types runs on a thread pool in parallel,
+ * while the entities are added to the {@link MongoMappingContext} one at a time as it isn't safe for concurrent
+ * modification. Adding them will also trigger index creation through the published mapping events. Afterwards the
+ * {@link MongoMappingContext} is frozen, so lookups are served from an immutable snapshot.
+ * <p>
+ * Beans using the {@link MongoMappingContext}, like the {@code MappingMongoConverter}, should declare a dependency on
+ * the prewarmer so they don't see the context before it was populated. The {@code mapping-converter} namespace element
+ * does so.
+ */
+public class MongoMappingContextPrewarmer implements InitializingBean, BeanClassLoaderAware {
+
+  private static final Logger log = LoggerFactory.getLogger(MongoMappingContextPrewarmer.class);
+
+  private final MongoMappingContext mappingContext;
+
+  private Set<Class<?>> initialEntitySet = new LinkedHashSet<Class<?>>();
+  private String[] basePackages = new String[0];
+  private int poolSize = Runtime.getRuntime().availableProcessors();
+  private boolean freeze = true;
+  private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+  /**
+   * Creates a new {@link MongoMappingContextPrewarmer} for the given {@link MongoMappingContext}.
+   *
+   * @param mappingContext must not be {@literal null}
+   */
+  public MongoMappingContextPrewarmer(MongoMappingContext mappingContext) {
+    Assert.notNull(mappingContext);
+    this.mappingContext = mappingContext;
+  }
+
+  /**
+   * Sets the types to build the metadata for in any case.
+   *
+   * @param initialEntitySet
+   */
+  public void setInitialEntitySet(Set<? extends Class<?>> initialEntitySet) {
+    this.initialEntitySet = new LinkedHashSet<Class<?>>(initialEntitySet);
+  }
+
+  /**
+   * Sets the packages to scan for {@link Document} and {@link Persistent} annotated types.
+   *
+   * @param basePackages
+   */
+  public void setBasePackages(String... basePackages) {
+    this.basePackages = basePackages == null ? new String[0] : basePackages;
+  }
+
+  /**
+   * Sets the number of threads to build the metadata with. Defaults to the number of available processors, a value of
+   * 1 builds the metadata in the calling thread.
+   *
+   * @param poolSize
+   */
+  public void setPoolSize(int poolSize) {
+    Assert.isTrue(poolSize > 0, "Pool size must be greater than zero!");
+    this.poolSize = poolSize;
+  }
+
+  /**
+   * Whether to freeze the {@link MongoMappingContext} once all metadata was built. Defaults to {@literal true}.
+   *
+   * @param freeze
+   */
+  public void setFreeze(boolean freeze) {
+    this.freeze = freeze;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.beans.factory.BeanClassLoaderAware#setBeanClassLoader(java.lang.ClassLoader)
+   */
+  public void setBeanClassLoader(ClassLoader classLoader) {
+    this.classLoader = classLoader;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+   */
+  public void afterPropertiesSet() throws Exception {
+
+    Set<Class<?>> types = new LinkedHashSet<Class<?>>(initialEntitySet);
+    for (String basePackage : basePackages) {
+      types.addAll(scan(basePackage, classLoader));
+    }
+
+    long start = System.currentTimeMillis();
+    prewarm(types);
+
+    if (freeze) {
+      mappingContext.freeze();
+    }
+
+    if (log.isDebugEnabled()) {
+      log.debug("Built mapping metadata for " + types.size() + " types in " + (System.currentTimeMillis() - start)
+          + "ms.");
+    }
+  }
+
+  private void prewarm(Set<Class<?>> types) throws Exception {
+
+    if (poolSize == 1 || types.size() < 2) {
+      for (Class<?> type : types) {
+        addPersistentEntity(type);
+      }
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(poolSize, types.size()));
+
+    try {
+
+      List<Future<Object>> futures = new ArrayList<Future<Object>>(types.size());
+      for (final Class<?> type : types) {
+        futures.add(executor.submit(new Callable<Object>() {
+          public Object call() {
+            BeanUtils.getPropertyDescriptors(type);
+            addPersistentEntity(type);
+            return null;
+          }
+        }));
+      }
+
+      for (Future<Object> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          throw cause instanceof Exception ? (Exception) cause : e;
+        }
+      }
+
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void addPersistentEntity(Class<?> type) {
+    synchronized (mappingContext) {
+      if (mappingContext.getPersistentEntity(type) == null) {
+        mappingContext.addPersistentEntity(type);
+      }
+    }
+  }
+
+  /**
+   * Returns all {@link Document} and {@link Persistent} annotated types found in the given package.
+   *
+   * @param basePackage must not be {@literal null}
+   * @param classLoader  the {@link ClassLoader} to load the types with
+   * @return
+   * @throws ClassNotFoundException
+   */
+  static Set<Class<?>> scan(String basePackage, ClassLoader classLoader) throws ClassNotFoundException {
+
+    ClassPathScanningCandidateComponentProvider componentProvider = new ClassPathScanningCandidateComponentProvider(
+        false);
+    componentProvider.addIncludeFilter(new AnnotationTypeFilter(Document.class));
+    componentProvider.addIncludeFilter(new AnnotationTypeFilter(Persistent.class));
+
+    Set<BeanDefinition> candidates = componentProvider.findCandidateComponents(basePackage);
+    if (candidates.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+    for (BeanDefinition candidate : candidates) {
+      types.add(ClassUtils.forName(candidate.getBeanClassName(), classLoader));
+    }
+    return types;
+  }
+}
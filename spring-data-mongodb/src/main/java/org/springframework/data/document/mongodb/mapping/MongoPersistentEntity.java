@@ -17,8 +17,10 @@
 package org.springframework.data.document.mongodb.mapping;
 
 import org.springframework.data.mapping.BasicPersistentEntity;
+import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.model.MappingContext;
 import org.springframework.data.mapping.model.PersistentEntity;
+import org.springframework.data.mapping.model.PersistentProperty;
 import org.springframework.data.util.TypeInformation;
 
 /**
@@ -32,6 +34,9 @@ public class MongoPersistentEntity<T> extends BasicPersistentEntity<T> {
 
   protected String collection;
 
+  private volatile MongoPersistentProperty versionProperty;
+  private volatile boolean versionPropertyResolved = false;
+
   /**
    * Creates a new {@link MongoPersistentEntity} with the given {@link MappingContext} and {@link TypeInformation}. Will
    * default the collection name to the entities simple type name.
@@ -57,4 +62,39 @@ public class MongoPersistentEntity<T> extends BasicPersistentEntity<T> {
   public void setCollection(String collection) {
     this.collection = collection;
   }
+
+  /**
+   * Returns the property annotated with {@link Version}.
+   *
+   * @return the version property or {@literal null} if the entity is not versioned.
+   */
+  public MongoPersistentProperty getVersionProperty() {
+
+    if (!versionPropertyResolved) {
+
+      final MongoPersistentProperty[] result = new MongoPersistentProperty[1];
+
+      doWithProperties(new PropertyHandler() {
+        public void doWithPersistentProperty(PersistentProperty property) {
+          if (property instanceof MongoPersistentProperty && ((MongoPersistentProperty) property).isVersionProperty()) {
+            result[0] = (MongoPersistentProperty) property;
+          }
+        }
+      });
+
+      versionProperty = result[0];
+      versionPropertyResolved = true;
+    }
+
+    return versionProperty;
+  }
+
+  /**
+   * Returns whether the entity has a property annotated with {@link Version}.
+   *
+   * @return
+   */
+  public boolean hasVersionProperty() {
+    return getVersionProperty() != null;
+  }
 }
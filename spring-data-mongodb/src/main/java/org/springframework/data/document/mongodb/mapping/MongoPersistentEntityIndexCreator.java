@@ -35,9 +35,11 @@ import org.springframework.data.document.mongodb.MongoTemplate;
 import org.springframework.data.document.mongodb.index.CompoundIndex;
 import org.springframework.data.document.mongodb.index.CompoundIndexes;
 import org.springframework.data.document.mongodb.index.IndexDirection;
+import org.springframework.data.document.mongodb.index.IndexProvisioner;
 import org.springframework.data.document.mongodb.index.Indexed;
 import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.event.MappingContextEvent;
+import org.springframework.data.mapping.model.PersistentEntity;
 import org.springframework.data.mapping.model.PersistentProperty;
 import org.springframework.util.Assert;
 
@@ -54,13 +56,32 @@ public class MongoPersistentEntityIndexCreator implements ApplicationListener<Ma
 
   private Set<Class<?>> classesSeen = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
 
+  private final MongoMappingContext mappingContext;
+
   private final MongoTemplate mongoTemplate;
 
+  private final IndexProvisioner indexProvisioner;
+
   public MongoPersistentEntityIndexCreator(MongoMappingContext mappingContext, MongoTemplate mongoTemplate) {
+    this(mappingContext, mongoTemplate, null);
+  }
+
+  /**
+   * Creates a new {@link MongoPersistentEntityIndexCreator} handing all indexes to the given
+   * {@link IndexProvisioner} instead of creating them synchronously.
+   *
+   * @param mappingContext   must not be {@literal null}
+   * @param mongoTemplate    must not be {@literal null}
+   * @param indexProvisioner may be {@literal null}
+   */
+  public MongoPersistentEntityIndexCreator(MongoMappingContext mappingContext, MongoTemplate mongoTemplate,
+                                           IndexProvisioner indexProvisioner) {
 
     Assert.notNull(mongoTemplate);
     Assert.notNull(mappingContext);
+    this.mappingContext = mappingContext;
     this.mongoTemplate = mongoTemplate;
+    this.indexProvisioner = indexProvisioner;
 
     for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
       checkForIndexes(entity);
@@ -98,7 +119,8 @@ public class MongoPersistentEntityIndexCreator implements ApplicationListener<Ma
           if ("".equals(indexColl)) {
             indexColl = type.getSimpleName().toLowerCase();
           }
-          ensureIndex(indexColl, index.name(), index.def(), index.direction(), index.unique(), index.dropDups(), index.sparse());
+          String def = getMappedIndexDefinition(entity, index.def());
+          ensureIndex(indexColl, index.name(), def, index.direction(), index.unique(), index.dropDups(), index.sparse());
           if (log.isDebugEnabled()) {
             log.debug("Created compound index " + index);
           }
@@ -112,7 +134,8 @@ public class MongoPersistentEntityIndexCreator implements ApplicationListener<Ma
             Indexed index = field.getAnnotation(Indexed.class);
             String name = index.name();
             if ("".equals(name)) {
-              name = field.getName();
+              name = persistentProperty instanceof MongoPersistentProperty ? ((MongoPersistentProperty) persistentProperty)
+                  .getFieldName() : MongoPersistentProperty.getFieldName(field);
             }
             String collection = index.collection();
             if ("".equals(collection)) {
@@ -132,6 +155,70 @@ public class MongoPersistentEntityIndexCreator implements ApplicationListener<Ma
 
   }
 
+  /**
+   * Translates the property paths used as keys of the given compound index definition into the keys the properties
+   * are stored under, see {@link org.springframework.data.document.mongodb.mapping.Field}. Keys not pointing to a
+   * property are kept as is.
+   *
+   * @param entity must not be {@literal null}
+   * @param def    the index definition as JSON
+   * @return the translated index definition as JSON
+   */
+  protected String getMappedIndexDefinition(MongoPersistentEntity<?> entity, String def) {
+
+    DBObject source = (DBObject) JSON.parse(def);
+    DBObject result = new BasicDBObject();
+
+    for (String key : source.keySet()) {
+      result.put(getMappedPath(entity, key), source.get(key));
+    }
+
+    return JSON.serialize(result);
+  }
+
+  private String getMappedPath(PersistentEntity<?> entity, String path) {
+
+    StringBuilder builder = new StringBuilder(path.length());
+    PersistentEntity<?> current = entity;
+
+    for (String segment : path.split("\\.")) {
+
+      if (builder.length() > 0) {
+        builder.append('.');
+      }
+
+      PersistentProperty property = current == null ? null : getPersistentProperty(current, segment);
+
+      if (property == null) {
+        current = null;
+        builder.append(segment);
+        continue;
+      }
+
+      builder.append(property instanceof MongoPersistentProperty ? ((MongoPersistentProperty) property).getFieldName()
+          : MongoPersistentProperty.getFieldName(property.getField()));
+      Class<?> type = property.isCollection() || property.isArray() ? property.getComponentType() : property.getType();
+      current = property.isMap() || type == null ? null : mappingContext.getPersistentEntity(type);
+    }
+
+    return builder.toString();
+  }
+
+  private static PersistentProperty getPersistentProperty(PersistentEntity<?> entity, final String name) {
+
+    final PersistentProperty[] result = new PersistentProperty[1];
+
+    entity.doWithProperties(new PropertyHandler() {
+      public void doWithPersistentProperty(PersistentProperty property) {
+        if (property.getName().equals(name)) {
+          result[0] = property;
+        }
+      }
+    });
+
+    return result[0];
+  }
+
   protected void ensureIndex(String collection,
                              final String name,
                              final String def,
@@ -139,20 +226,26 @@ public class MongoPersistentEntityIndexCreator implements ApplicationListener<Ma
                              final boolean unique,
                              final boolean dropDups,
                              final boolean sparse) {
+    final DBObject defObj;
+    if (null != def) {
+      defObj = (DBObject) JSON.parse(def);
+    } else {
+      defObj = new BasicDBObject();
+      defObj.put(name, (direction == IndexDirection.ASCENDING ? 1 : -1));
+    }
+    final DBObject opts = new BasicDBObject();
+    //opts.put("name", name + "_idx");
+    opts.put("dropDups", dropDups);
+    opts.put("sparse", sparse);
+    opts.put("unique", unique);
+
+    if (indexProvisioner != null) {
+      indexProvisioner.ensureIndex(collection, defObj, opts);
+      return;
+    }
+
     mongoTemplate.execute(collection, new CollectionCallback<Object>() {
       public Object doInCollection(DBCollection collection) throws MongoException, DataAccessException {
-        DBObject defObj;
-        if (null != def) {
-          defObj = (DBObject) JSON.parse(def);
-        } else {
-          defObj = new BasicDBObject();
-          defObj.put(name, (direction == IndexDirection.ASCENDING ? 1 : -1));
-        }
-        DBObject opts = new BasicDBObject();
-        //opts.put("name", name + "_idx");
-        opts.put("dropDups", dropDups);
-        opts.put("sparse", sparse);
-        opts.put("unique", unique);
         collection.ensureIndex(defObj, opts);
         return null;
       }
@@ -46,6 +46,8 @@ public class MongoPersistentProperty extends BasicPersistentProperty {
     SUPPORTED_ID_PROPERTY_NAMES.add("_id");
   }
 
+  private final String fieldName;
+
   /**
    * Creates a new {@link MongoPersistentProperty}.
    *
@@ -56,6 +58,22 @@ public class MongoPersistentProperty extends BasicPersistentProperty {
   public MongoPersistentProperty(Field field,
                                  PropertyDescriptor propertyDescriptor, TypeInformation owningTypeInformation) {
     super(field, propertyDescriptor, owningTypeInformation);
+    this.fieldName = getFieldName(field);
+  }
+
+  /**
+   * Returns the key the given field is stored under, i.e. the value of its
+   * {@link org.springframework.data.document.mongodb.mapping.Field} annotation or its name.
+   *
+   * @param field must not be {@literal null}
+   * @return
+   */
+  public static String getFieldName(Field field) {
+
+    org.springframework.data.document.mongodb.mapping.Field annotation = field
+        .getAnnotation(org.springframework.data.document.mongodb.mapping.Field.class);
+
+    return annotation == null || "".equals(annotation.value()) ? field.getName() : annotation.value();
   }
 
   /**
@@ -73,4 +91,22 @@ public class MongoPersistentProperty extends BasicPersistentProperty {
     return SUPPORTED_ID_TYPES.contains(field.getType())
         && SUPPORTED_ID_PROPERTY_NAMES.contains(field.getName());
   }
+
+  /**
+   * Returns the key the property is stored under in the document.
+   *
+   * @return
+   */
+  public String getFieldName() {
+    return fieldName;
+  }
+
+  /**
+   * Returns whether the property is annotated with {@link Version}.
+   *
+   * @return
+   */
+  public boolean isVersionProperty() {
+    return field.isAnnotationPresent(Version.class);
+  }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stores a property of type {@code int[]}, {@code long[]}, {@code short[]}, {@code float[]} or {@code double[]} as
+ * binary of subtype {@link #BINARY_SUBTYPE} holding the elements in little-endian byte order rather than as array.
+ * Annotations on properties of other types are ignored.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({
+    ElementType.FIELD
+})
+public @interface Packed {
+
+  /**
+   * The binary subtype used for packed arrays, the first one of the user defined range.
+   */
+  byte BINARY_SUBTYPE = (byte) 0x80;
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.mapreduce;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+
+/**
+ * Describes the key, initial document, reduce and finalize functions of a group operation. Functions can either be
+ * given as plain JavaScript or as resource location such as {@code classpath:reduce.js}.
+ */
+public class GroupBy {
+
+  private DBObject keys;
+
+  private String keyFunction;
+
+  private DBObject initial;
+
+  private String reduceFunction;
+
+  private String finalizeFunction;
+
+  /**
+   * Creates a new {@link GroupBy} grouping by the given keys.
+   *
+   * @param keys
+   */
+  public GroupBy(String... keys) {
+    this.keys = new BasicDBObject();
+    for (String key : keys) {
+      this.keys.put(key, 1);
+    }
+  }
+
+  /**
+   * Static factory method to create a {@link GroupBy} grouping by the given keys.
+   *
+   * @param keys
+   * @return
+   */
+  public static GroupBy key(String... keys) {
+    return new GroupBy(keys);
+  }
+
+  /**
+   * Static factory method to create a {@link GroupBy} using the given JavaScript function to calculate the key.
+   *
+   * @param keyFunction
+   * @return
+   */
+  public static GroupBy keyFunction(String keyFunction) {
+    GroupBy groupBy = new GroupBy();
+    groupBy.keys = null;
+    groupBy.keyFunction = keyFunction;
+    return groupBy;
+  }
+
+  public GroupBy initialDocument(DBObject initial) {
+    this.initial = initial;
+    return this;
+  }
+
+  public GroupBy initialDocument(String json) {
+    this.initial = (DBObject) JSON.parse(json);
+    return this;
+  }
+
+  public GroupBy reduceFunction(String reduceFunction) {
+    this.reduceFunction = reduceFunction;
+    return this;
+  }
+
+  public GroupBy finalizeFunction(String finalizeFunction) {
+    this.finalizeFunction = finalizeFunction;
+    return this;
+  }
+
+  public String getKeyFunction() {
+    return keyFunction;
+  }
+
+  public String getReduceFunction() {
+    return reduceFunction;
+  }
+
+  public String getFinalizeFunction() {
+    return finalizeFunction;
+  }
+
+  /**
+   * Returns the {@link DBObject} describing the group operation without the collection namespace and condition.
+   * Functions are included as given and not resolved from resources.
+   *
+   * @return
+   */
+  public DBObject getGroupByObject() {
+
+    DBObject dbo = new BasicDBObject();
+
+    if (keys != null) {
+      dbo.put("key", keys);
+    }
+    if (keyFunction != null) {
+      dbo.put("$keyf", keyFunction);
+    }
+
+    dbo.put("$reduce", reduceFunction);
+    dbo.put("initial", initial == null ? new BasicDBObject() : initial);
+
+    if (finalizeFunction != null) {
+      dbo.put("finalize", finalizeFunction);
+    }
+
+    return dbo;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.mapreduce;
+
+import java.util.Iterator;
+import java.util.List;
+
+import com.mongodb.DBObject;
+import org.springframework.util.Assert;
+
+/**
+ * Collects the results of a group operation converted into the requested type together with the raw command result.
+ *
+ * @param <T> the type the results were mapped to
+ */
+public class GroupByResults<T> implements Iterable<T> {
+
+  private final List<T> mappedResults;
+  private final DBObject rawResults;
+  private final long count;
+  private final int keys;
+
+  /**
+   * Creates a new {@link GroupByResults} from the given mapped results and the raw command result.
+   *
+   * @param mappedResults must not be {@literal null}
+   * @param rawResults    must not be {@literal null}
+   */
+  public GroupByResults(List<T> mappedResults, DBObject rawResults) {
+
+    Assert.notNull(mappedResults);
+    Assert.notNull(rawResults);
+
+    this.mappedResults = mappedResults;
+    this.rawResults = rawResults;
+
+    Object count = rawResults.get("count");
+    this.count = count instanceof Number ? ((Number) count).longValue() : 0;
+
+    Object keys = rawResults.get("keys");
+    this.keys = keys instanceof Number ? ((Number) keys).intValue() : 0;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Iterable#iterator()
+   */
+  public Iterator<T> iterator() {
+    return mappedResults.iterator();
+  }
+
+  public List<T> getMappedResults() {
+    return mappedResults;
+  }
+
+  public DBObject getRawResults() {
+    return rawResults;
+  }
+
+  /**
+   * Returns the number of documents the group operation was applied to.
+   *
+   * @return
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the number of distinct keys found.
+   *
+   * @return
+   */
+  public int getKeys() {
+    return keys;
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.mapreduce;
+
+import java.util.Map;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Options to customize the execution of a map-reduce operation. By default results are returned inline, i.e. they are
+ * not written to a collection but handed back as part of the command result.
+ */
+public class MapReduceOptions {
+
+  /**
+   * The way the results of a map-reduce operation are handled.
+   */
+  public enum OutputType {
+
+    /**
+     * Return the results as part of the command result, no collection is written.
+     */
+    INLINE,
+
+    /**
+     * Replace the contents of the output collection with the results.
+     */
+    REPLACE,
+
+    /**
+     * Merge the results into the output collection, overwriting documents with the same key.
+     */
+    MERGE,
+
+    /**
+     * Run the reduce function against documents with the same key already present in the output collection.
+     */
+    REDUCE
+  }
+
+  private String outputCollection;
+
+  private String outputDatabase;
+
+  private OutputType outputType = OutputType.INLINE;
+
+  private String finalizeFunction;
+
+  private Map<String, Object> scopeVariables;
+
+  private Integer limit;
+
+  private Boolean verbose;
+
+  private boolean loadOutputCollection = false;
+
+  /**
+   * Static factory method to create a new {@link MapReduceOptions} instance.
+   *
+   * @return
+   */
+  public static MapReduceOptions options() {
+    return new MapReduceOptions();
+  }
+
+  /**
+   * Writes the results to the given collection. Will switch the {@link OutputType} to {@link OutputType#REPLACE} if
+   * it is still set to {@link OutputType#INLINE}.
+   *
+   * @param collectionName
+   * @return
+   */
+  public MapReduceOptions outputCollection(String collectionName) {
+    this.outputCollection = collectionName;
+    if (this.outputType == OutputType.INLINE) {
+      this.outputType = OutputType.REPLACE;
+    }
+    return this;
+  }
+
+  /**
+   * Writes the output collection into the given database rather than the one the input collection lives in.
+   *
+   * @param databaseName
+   * @return
+   */
+  public MapReduceOptions outputDatabase(String databaseName) {
+    this.outputDatabase = databaseName;
+    return this;
+  }
+
+  /**
+   * Returns the results inline.
+   *
+   * @return
+   */
+  public MapReduceOptions outputTypeInline() {
+    this.outputType = OutputType.INLINE;
+    return this;
+  }
+
+  /**
+   * Replaces the contents of the output collection with the results.
+   *
+   * @return
+   */
+  public MapReduceOptions outputTypeReplace() {
+    this.outputType = OutputType.REPLACE;
+    return this;
+  }
+
+  /**
+   * Merges the results into the output collection.
+   *
+   * @return
+   */
+  public MapReduceOptions outputTypeMerge() {
+    this.outputType = OutputType.MERGE;
+    return this;
+  }
+
+  /**
+   * Re-reduces the results with the documents already present in the output collection.
+   *
+   * @return
+   */
+  public MapReduceOptions outputTypeReduce() {
+    this.outputType = OutputType.REDUCE;
+    return this;
+  }
+
+  /**
+   * Sets the finalize function. Can either be a JavaScript function or a resource location such as
+   * {@code classpath:finalize.js}.
+   *
+   * @param finalizeFunction
+   * @return
+   */
+  public MapReduceOptions finalizeFunction(String finalizeFunction) {
+    this.finalizeFunction = finalizeFunction;
+    return this;
+  }
+
+  /**
+   * Global variables that will be accessible from the map, reduce and finalize functions.
+   *
+   * @param scopeVariables
+   * @return
+   */
+  public MapReduceOptions scopeVariables(Map<String, Object> scopeVariables) {
+    this.scopeVariables = scopeVariables;
+    return this;
+  }
+
+  /**
+   * Limits the number of documents fed into the map function.
+   *
+   * @param limit
+   * @return
+   */
+  public MapReduceOptions limit(int limit) {
+    this.limit = Integer.valueOf(limit);
+    return this;
+  }
+
+  /**
+   * Whether to include timing information in the result.
+   *
+   * @param verbose
+   * @return
+   */
+  public MapReduceOptions verbose(boolean verbose) {
+    this.verbose = Boolean.valueOf(verbose);
+    return this;
+  }
+
+  /**
+   * Whether to read the documents written to the output collection back into the mapped results. Defaults to
+   * {@literal false}, so that the results stay on the server and can be queried selectively.
+   *
+   * @param loadOutputCollection
+   * @return
+   */
+  public MapReduceOptions loadOutputCollection(boolean loadOutputCollection) {
+    this.loadOutputCollection = loadOutputCollection;
+    return this;
+  }
+
+  public boolean isLoadOutputCollection() {
+    return loadOutputCollection;
+  }
+
+  public String getOutputCollection() {
+    return outputCollection;
+  }
+
+  public String getOutputDatabase() {
+    return outputDatabase;
+  }
+
+  public OutputType getOutputType() {
+    return outputType;
+  }
+
+  public String getFinalizeFunction() {
+    return finalizeFunction;
+  }
+
+  /**
+   * Returns the {@link DBObject} to be used as value of the {@code out} key of the map-reduce command.
+   *
+   * @return
+   */
+  public DBObject getOutputObject() {
+
+    DBObject out = new BasicDBObject();
+
+    if (outputType == OutputType.INLINE || outputCollection == null) {
+      out.put("inline", 1);
+      return out;
+    }
+
+    out.put(outputType.name().toLowerCase(), outputCollection);
+    if (outputDatabase != null) {
+      out.put("db", outputDatabase);
+    }
+    return out;
+  }
+
+  /**
+   * Returns all options except the map, reduce and finalize functions and the output specification as
+   * {@link DBObject}, ready to be merged into the map-reduce command.
+   *
+   * @return
+   */
+  public DBObject getOptionsObject() {
+
+    DBObject dbo = new BasicDBObject();
+    if (scopeVariables != null) {
+      dbo.put("scope", new BasicDBObject(scopeVariables));
+    }
+    if (limit != null) {
+      dbo.put("limit", limit);
+    }
+    if (verbose != null) {
+      dbo.put("verbose", verbose);
+    }
+    return dbo;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.mapreduce;
+
+import java.util.Iterator;
+import java.util.List;
+
+import com.mongodb.DBObject;
+import org.springframework.util.Assert;
+
+/**
+ * Collects the results of a map-reduce operation, converted into the requested type, together with the raw command
+ * result and the statistics reported by the server.
+ *
+ * @param <T> the type the results were mapped to
+ */
+public class MapReduceResults<T> implements Iterable<T> {
+
+  private final List<T> mappedResults;
+  private final DBObject rawResults;
+  private final String outputCollection;
+  private final long timeMillis;
+  private final long inputCount;
+  private final long emitCount;
+  private final long outputCount;
+
+  /**
+   * Creates a new {@link MapReduceResults} from the given mapped results and the raw command result.
+   *
+   * @param mappedResults must not be {@literal null}
+   * @param rawResults    must not be {@literal null}
+   */
+  public MapReduceResults(List<T> mappedResults, DBObject rawResults) {
+
+    Assert.notNull(mappedResults);
+    Assert.notNull(rawResults);
+
+    this.mappedResults = mappedResults;
+    this.rawResults = rawResults;
+    this.outputCollection = parseOutputCollection(rawResults);
+    this.timeMillis = asLong(rawResults.get("timeMillis"));
+
+    Object counts = rawResults.get("counts");
+    if (counts instanceof DBObject) {
+      DBObject countsObject = (DBObject) counts;
+      this.inputCount = asLong(countsObject.get("input"));
+      this.emitCount = asLong(countsObject.get("emit"));
+      this.outputCount = asLong(countsObject.get("output"));
+    } else {
+      this.inputCount = 0;
+      this.emitCount = 0;
+      this.outputCount = 0;
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Iterable#iterator()
+   */
+  public Iterator<T> iterator() {
+    return mappedResults.iterator();
+  }
+
+  /**
+   * Returns the results converted into the requested type.
+   *
+   * @return
+   */
+  public List<T> getMappedResults() {
+    return mappedResults;
+  }
+
+  /**
+   * Returns the raw command result as returned by the server.
+   *
+   * @return
+   */
+  public DBObject getRawResults() {
+    return rawResults;
+  }
+
+  /**
+   * Returns the name of the collection the results were written to or {@literal null} if the results were returned
+   * inline.
+   *
+   * @return
+   */
+  public String getOutputCollection() {
+    return outputCollection;
+  }
+
+  public long getTimeMillis() {
+    return timeMillis;
+  }
+
+  public long getInputCount() {
+    return inputCount;
+  }
+
+  public long getEmitCount() {
+    return emitCount;
+  }
+
+  public long getOutputCount() {
+    return outputCount;
+  }
+
+  private static String parseOutputCollection(DBObject rawResults) {
+
+    Object result = rawResults.get("result");
+
+    if (result == null) {
+      return null;
+    }
+
+    return result instanceof DBObject ? (String) ((DBObject) result).get("collection") : result.toString();
+  }
+
+  private static long asLong(Object value) {
+    return value instanceof Number ? ((Number) value).longValue() : 0;
+  }
+}
@@ -0,0 +1,4 @@
+/**
+ * Support for MongoDB map-reduce and group operations.
+ */
+package org.springframework.data.document.mongodb.mapreduce;
@@ -22,6 +22,11 @@ import java.util.List;
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 import org.springframework.data.document.InvalidDocumentStoreApiUsageException;
+import org.springframework.data.document.mongodb.geo.Box;
+import org.springframework.data.document.mongodb.geo.Circle;
+import org.springframework.data.document.mongodb.geo.Point;
+import org.springframework.data.document.mongodb.geo.Polygon;
+import org.springframework.util.Assert;
 
 public class Criteria implements CriteriaDefinition {
 
@@ -236,6 +241,93 @@ public class Criteria implements CriteriaDefinition {
     criteria.put("$elemMatch", c.getCriteriaObject());
     return this;
   }
+
+  /**
+   * Creates a geospatial criterion using a $near operation
+   *
+   * @param point must not be {@literal null}
+   * @return
+   */
+  public Criteria near(Point point) {
+    Assert.notNull(point);
+    criteria.put("$near", point.asList());
+    return this;
+  }
+
+  /**
+   * Creates a geospatial criterion using a $nearSphere operation, i.e. distances are calculated using spherical
+   * geometry and given in radians
+   *
+   * @param point must not be {@literal null}
+   * @return
+   */
+  public Criteria nearSphere(Point point) {
+    Assert.notNull(point);
+    criteria.put("$nearSphere", point.asList());
+    return this;
+  }
+
+  /**
+   * Creates a geospatial criterion using a $maxDistance operation, to be combined with {@link #near(Point)} or
+   * {@link #nearSphere(Point)}
+   *
+   * @param maxDistance
+   * @return
+   */
+  public Criteria maxDistance(double maxDistance) {
+    criteria.put("$maxDistance", maxDistance);
+    return this;
+  }
+
+  /**
+   * Creates a geospatial criterion using a $within $center operation
+   *
+   * @param circle must not be {@literal null}
+   * @return
+   */
+  public Criteria within(Circle circle) {
+    Assert.notNull(circle);
+    criteria.put("$within", new BasicDBObject("$center", circle.asList()));
+    return this;
+  }
+
+  /**
+   * Creates a geospatial criterion using a $within $centerSphere operation, the radius of the circle is given in
+   * radians
+   *
+   * @param circle must not be {@literal null}
+   * @return
+   */
+  public Criteria withinSphere(Circle circle) {
+    Assert.notNull(circle);
+    criteria.put("$within", new BasicDBObject("$centerSphere", circle.asList()));
+    return this;
+  }
+
+  /**
+   * Creates a geospatial criterion using a $within $box operation
+   *
+   * @param box must not be {@literal null}
+   * @return
+   */
+  public Criteria within(Box box) {
+    Assert.notNull(box);
+    criteria.put("$within", new BasicDBObject("$box", box.asList()));
+    return this;
+  }
+
+  /**
+   * Creates a geospatial criterion using a $within $polygon operation
+   *
+   * @param polygon must not be {@literal null}
+   * @return
+   */
+  public Criteria within(Polygon polygon) {
+    Assert.notNull(polygon);
+    criteria.put("$within", new BasicDBObject("$polygon", polygon.asList()));
+    return this;
+  }
+
   /**
    * Creates an or query using the $or operator for all of the provided queries
    *
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.query;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.springframework.data.document.mongodb.geo.Point;
+import org.springframework.util.Assert;
+
+/**
+ * Builder for the options of a geoNear command.
+ */
+public class NearQuery {
+
+  private final Point point;
+
+  private Query query;
+
+  private Double maxDistance;
+
+  private Integer num;
+
+  private boolean spherical = false;
+
+  private Double distanceMultiplier;
+
+  private NearQuery(Point point) {
+    Assert.notNull(point);
+    this.point = point;
+  }
+
+  /**
+   * Creates a new {@link NearQuery} searching around the given {@link Point}.
+   *
+   * @param point must not be {@literal null}
+   * @return
+   */
+  public static NearQuery near(Point point) {
+    return new NearQuery(point);
+  }
+
+  /**
+   * Creates a new {@link NearQuery} searching around the given coordinates.
+   *
+   * @param x
+   * @param y
+   * @return
+   */
+  public static NearQuery near(double x, double y) {
+    return new NearQuery(new Point(x, y));
+  }
+
+  /**
+   * Restricts the documents considered to the ones matching the given {@link Query}.
+   *
+   * @param query
+   * @return
+   */
+  public NearQuery query(Query query) {
+    this.query = query;
+    return this;
+  }
+
+  public NearQuery maxDistance(double maxDistance) {
+    this.maxDistance = maxDistance;
+    return this;
+  }
+
+  /**
+   * Limits the number of results returned. The server defaults to 100.
+   *
+   * @param num
+   * @return
+   */
+  public NearQuery num(int num) {
+    this.num = num;
+    return this;
+  }
+
+  /**
+   * Calculates distances using spherical geometry. Distances and {@link #maxDistance(double)} are given in radians
+   * then.
+   *
+   * @return
+   */
+  public NearQuery spherical() {
+    this.spherical = true;
+    return this;
+  }
+
+  /**
+   * Multiplies all distances returned by the given value, e.g. the earth radius to turn radians into kilometers.
+   *
+   * @param distanceMultiplier
+   * @return
+   */
+  public NearQuery distanceMultiplier(double distanceMultiplier) {
+    this.distanceMultiplier = distanceMultiplier;
+    return this;
+  }
+
+  public Point getPoint() {
+    return point;
+  }
+
+  /**
+   * Returns the options of the geoNear command, without the collection name.
+   *
+   * @return
+   */
+  public DBObject toDBObject() {
+
+    DBObject dbo = new BasicDBObject();
+    dbo.put("near", point.asList());
+
+    if (query != null) {
+      dbo.put("query", query.getQueryObject());
+    }
+    if (maxDistance != null) {
+      dbo.put("maxDistance", maxDistance);
+    }
+    if (num != null) {
+      dbo.put("num", num);
+    }
+    if (spherical) {
+      dbo.put("spherical", true);
+    }
+    if (distanceMultiplier != null) {
+      dbo.put("distanceMultiplier", distanceMultiplier);
+    }
+
+    return dbo;
+  }
+}
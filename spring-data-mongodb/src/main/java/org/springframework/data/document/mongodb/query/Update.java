@@ -15,7 +15,6 @@
  */
 package org.springframework.data.document.mongodb.query;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 
@@ -38,7 +37,7 @@ public class Update {
    * @return
    */
   public Update set(String key, Object value) {
-    criteria.put("$set", Collections.singletonMap(key, convertValueIfNecessary(value)));
+    addMultiFieldOperation("$set", key, convertValueIfNecessary(value));
     return this;
   }
 
@@ -49,7 +48,7 @@ public class Update {
    * @return
    */
   public Update unset(String key) {
-    criteria.put("$unset", Collections.singletonMap(key, 1));
+    addMultiFieldOperation("$unset", key, 1);
     return this;
   }
 
@@ -61,7 +60,7 @@ public class Update {
    * @return
    */
   public Update inc(String key, Number inc) {
-    criteria.put("$inc", Collections.singletonMap(key, inc));
+    addMultiFieldOperation("$inc", key, inc);
     return this;
   }
 
@@ -73,7 +72,7 @@ public class Update {
    * @return
    */
   public Update push(String key, Object value) {
-    criteria.put("$push", Collections.singletonMap(key, convertValueIfNecessary(value)));
+    addMultiFieldOperation("$push", key, convertValueIfNecessary(value));
     return this;
   }
 
@@ -89,9 +88,7 @@ public class Update {
     for (int i = 0; i < values.length; i++) {
       convertedValues[i] = convertValueIfNecessary(values[i]);
     }
-    DBObject keyValue = new BasicDBObject();
-    keyValue.put(key, convertedValues);
-    criteria.put("$pushAll", keyValue);
+    addMultiFieldOperation("$pushAll", key, convertedValues);
     return this;
   }
 
@@ -103,7 +100,7 @@ public class Update {
    * @return
    */
   public Update addToSet(String key, Object value) {
-    criteria.put("$addToSet", Collections.singletonMap(key, convertValueIfNecessary(value)));
+    addMultiFieldOperation("$addToSet", key, convertValueIfNecessary(value));
     return this;
   }
 
@@ -115,7 +112,7 @@ public class Update {
    * @return
    */
   public Update pop(String key, Position pos) {
-    criteria.put("$pop", Collections.singletonMap(key, (pos == Position.FIRST ? -1 : 1)));
+    addMultiFieldOperation("$pop", key, (pos == Position.FIRST ? -1 : 1));
     return this;
   }
 
@@ -127,7 +124,7 @@ public class Update {
    * @return
    */
   public Update pull(String key, Object value) {
-    criteria.put("$pull", Collections.singletonMap(key, convertValueIfNecessary(value)));
+    addMultiFieldOperation("$pull", key, convertValueIfNecessary(value));
     return this;
   }
 
@@ -143,9 +140,7 @@ public class Update {
     for (int i = 0; i < values.length; i++) {
       convertedValues[i] = convertValueIfNecessary(values[i]);
     }
-    DBObject keyValue = new BasicDBObject();
-    keyValue.put(key, convertedValues);
-    criteria.put("$pullAll", keyValue);
+    addMultiFieldOperation("$pullAll", key, convertedValues);
     return this;
   }
 
@@ -157,7 +152,7 @@ public class Update {
    * @return
    */
   public Update rename(String oldName, String newName) {
-    criteria.put("$rename", Collections.singletonMap(oldName, newName));
+    addMultiFieldOperation("$rename", oldName, newName);
     return this;
   }
 
@@ -169,6 +164,26 @@ public class Update {
     return dbo;
   }
 
+  /**
+   * Adds the given key and value to the object kept for the given update modifier, so that the same modifier can be
+   * applied to multiple fields, e.g. {@code inc("count", 1).inc("methods.find", 1)}.
+   *
+   * @param operator
+   * @param key
+   * @param value
+   */
+  protected void addMultiFieldOperation(String operator, String key, Object value) {
+    Object existing = criteria.get(operator);
+    DBObject keyValueMap;
+    if (existing instanceof DBObject) {
+      keyValueMap = (DBObject) existing;
+    } else {
+      keyValueMap = new BasicDBObject();
+      criteria.put(operator, keyValueMap);
+    }
+    keyValueMap.put(key, value);
+  }
+
   protected Object convertValueIfNecessary(Object value) {
     if (value instanceof Enum) {
       return ((Enum<?>) value).name();
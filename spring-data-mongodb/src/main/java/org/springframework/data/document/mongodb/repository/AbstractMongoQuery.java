@@ -18,12 +18,15 @@ package org.springframework.data.document.mongodb.repository;
 import static org.springframework.data.document.mongodb.repository.QueryUtils.applyPagination;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import org.springframework.data.document.mongodb.CollectionCallback;
 import org.springframework.data.document.mongodb.MongoTemplate;
+import org.springframework.data.document.mongodb.convert.MappingMongoConverter;
 import org.springframework.data.document.mongodb.query.Query;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -41,6 +44,7 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 
   private final MongoQueryMethod method;
   private final MongoTemplate template;
+  private final ConcurrentMap<Class<?>, Boolean> passThroughTypes = new ConcurrentHashMap<Class<?>, Boolean>();
 
   /**
    * Creates a new {@link AbstractMongoQuery} from the given {@link MongoQueryMethod} and {@link MongoTemplate}.
@@ -73,7 +77,8 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
   public Object execute(Object[] parameters) {
 
     ParameterAccessor accessor = new ParametersParameterAccessor(method.getParameters(), parameters);
-    Query query = createQuery(new ConvertingParameterAccessor(template.getConverter(), accessor));
+    Query query = createQuery(new ConvertingParameterAccessor(template.getConverter(), accessor,
+        passThroughTypes));
 
     switch (method.getType()) {
       case COLLECTION:
@@ -156,7 +161,12 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
     Object execute(Query query) {
 
       MongoEntityInformation<?, ?> metadata = method.getEntityInformation();
-      int count = getCollectionCursor(metadata.getCollectionName(), query.getQueryObject()).count();
+      DBObject queryObject = query.getQueryObject();
+      if (template.getConverter() instanceof MappingMongoConverter) {
+        queryObject = ((MappingMongoConverter) template.getConverter()).getMappedObject(queryObject,
+            metadata.getJavaType());
+      }
+      int count = getCollectionCursor(metadata.getCollectionName(), queryObject).count();
 
       List<?> result = template.find(metadata.getCollectionName(), applyPagination(query, pageable),
           metadata.getJavaType());
@@ -15,14 +15,30 @@
  */
 package org.springframework.data.document.mongodb.repository;
 
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
 import org.springframework.data.document.mongodb.MongoWriter;
+import org.springframework.data.document.mongodb.geo.Box;
+import org.springframework.data.document.mongodb.geo.Circle;
+import org.springframework.data.document.mongodb.geo.Point;
+import org.springframework.data.document.mongodb.geo.Polygon;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.util.Assert;
 
 /**
  * Custom {@link ParameterAccessor} that uses a {@link MongoWriter} to serialize parameters into Mongo format.
@@ -31,8 +47,16 @@ import org.springframework.data.repository.query.ParameterAccessor;
  */
 public class ConvertingParameterAccessor implements ParameterAccessor {
 
+  /**
+   * Types MongoDB stores as is, values of these types never need to go through the {@link MongoWriter}.
+   */
+  private static final Set<Class<?>> NATIVE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(String.class,
+      Integer.class, Long.class, Double.class, Float.class, Short.class, Byte.class, Boolean.class, Date.class,
+      ObjectId.class, Pattern.class, DBRef.class, Binary.class, byte[].class, UUID.class));
+
   private final MongoWriter<Object> writer;
   private final ParameterAccessor delegate;
+  private final ConcurrentMap<Class<?>, Boolean> passThroughTypes;
 
   /**
    * Creates a new {@link ConvertingParameterAccessor} with the given {@link MongoWriter} and delegate.
@@ -40,8 +64,26 @@ public class ConvertingParameterAccessor implements ParameterAccessor {
    * @param writer
    */
   public ConvertingParameterAccessor(MongoWriter<Object> writer, ParameterAccessor delegate) {
+    this(writer, delegate, new ConcurrentHashMap<Class<?>, Boolean>());
+  }
+
+  /**
+   * Creates a new {@link ConvertingParameterAccessor} with the given {@link MongoWriter} and delegate that records
+   * which parameter types need no conversion in the given map. Callers creating an accessor per invocation hand in the
+   * same map so that the decisions outlive a single invocation, but not the component owning the map.
+   *
+   * @param writer
+   * @param delegate
+   * @param passThroughTypes must not be {@literal null}.
+   */
+  public ConvertingParameterAccessor(MongoWriter<Object> writer, ParameterAccessor delegate,
+      ConcurrentMap<Class<?>, Boolean> passThroughTypes) {
+
+    Assert.notNull(passThroughTypes);
+
     this.writer = writer;
     this.delegate = delegate;
+    this.passThroughTypes = passThroughTypes;
   }
 
   /*
@@ -80,18 +122,59 @@ public class ConvertingParameterAccessor implements ParameterAccessor {
   }
 
   /**
-   * Converts the given value with the underlying {@link MongoWriter}.
+   * Converts the given value with the underlying {@link MongoWriter}. Values of types MongoDB can store natively are
+   * returned as is, enums are turned into their name. Geospatial values are returned as is as well, as they are
+   * turned into their Mongo representation by the {@link org.springframework.data.document.mongodb.query.Criteria}
+   * they are used with. Only other values are handed to the {@link MongoWriter}.
    *
    * @param value
    * @return
    */
   private Object getConvertedValue(Object value) {
 
+    if (value == null) {
+      return null;
+    }
+
+    Class<?> type = value.getClass();
+
+    if (isPassThroughType(type)) {
+      return value;
+    }
+
+    if (value instanceof Enum) {
+      return ((Enum<?>) value).name();
+    }
+
     DBObject result = new BasicDBObject();
-    writer.write(value.getClass().isEnum() ? new EnumValueHolder((Enum<?>) value) : new ValueHolder(value), result);
+    writer.write(new ValueHolder(value), result);
     return result.get("value");
   }
 
+  /**
+   * Returns whether values of the given type can be used in a query without conversion. Decisions are cached per
+   * type in the map the accessor was created with.
+   *
+   * @param type
+   * @return
+   */
+  private boolean isPassThroughType(Class<?> type) {
+
+    Boolean passThrough = passThroughTypes.get(type);
+
+    if (passThrough == null) {
+      passThrough = NATIVE_TYPES.contains(type) || DBObject.class.isAssignableFrom(type) || isGeoType(type);
+      passThroughTypes.putIfAbsent(type, passThrough);
+    }
+
+    return passThrough;
+  }
+
+  private static boolean isGeoType(Class<?> type) {
+    return Point.class.equals(type) || Circle.class.equals(type) || Box.class.equals(type)
+        || Polygon.class.equals(type);
+  }
+
   /**
    * Custom {@link Iterator} to convert items before returning them.
    *
@@ -159,21 +242,4 @@ public class ConvertingParameterAccessor implements ParameterAccessor {
       return value;
     }
   }
-
-  private static class EnumValueHolder {
-
-    private Enum<?> value;
-
-    public EnumValueHolder(Enum<?> value) {
-      this.value = value;
-    }
-
-    /**
-     * @return the value
-     */
-    @SuppressWarnings("unused")
-    public Enum<?> getValue() {
-      return value;
-    }
-  }
 }
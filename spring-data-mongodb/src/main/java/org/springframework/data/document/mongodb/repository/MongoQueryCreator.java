@@ -23,6 +23,10 @@ import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.document.mongodb.geo.Box;
+import org.springframework.data.document.mongodb.geo.Circle;
+import org.springframework.data.document.mongodb.geo.Point;
+import org.springframework.data.document.mongodb.geo.Polygon;
 import org.springframework.data.document.mongodb.query.Criteria;
 import org.springframework.data.document.mongodb.query.CriteriaDefinition;
 import org.springframework.data.document.mongodb.query.Query;
@@ -110,6 +114,8 @@ class MongoQueryCreator extends AbstractQueryCreator<Query, Query> {
   @Override
   protected Query complete(Query query, Sort sort) {
 
+    QueryUtils.applySorting(query, sort);
+
     if (LOG.isDebugEnabled()) {
       LOG.debug("Created query " + query.getQueryObject());
     }
@@ -152,12 +158,57 @@ class MongoQueryCreator extends AbstractQueryCreator<Query, Query> {
         return criteria.is(parameters.next());
       case NEGATING_SIMPLE_PROPERTY:
         return criteria.not().is(parameters.next());
+      case NEAR:
+        return near(criteria, parameters.next());
+      case WITHIN:
+        return within(criteria, parameters.next());
     }
 
     throw new IllegalArgumentException("Unsupported keyword!");
   }
 
 
+  /**
+   * Creates a $near criterion for a {@link Point} parameter. A {@link Circle} parameter additionally restricts the
+   * results to the ones within its radius.
+   *
+   * @param criteria
+   * @param parameter
+   * @return
+   */
+  private Criteria near(Criteria criteria, Object parameter) {
+
+    if (parameter instanceof Point) {
+      return criteria.near((Point) parameter);
+    } else if (parameter instanceof Circle) {
+      Circle circle = (Circle) parameter;
+      return criteria.near(circle.getCenter()).maxDistance(circle.getRadius());
+    }
+
+    throw new IllegalArgumentException("Near keyword requires a Point or Circle parameter but got " + parameter);
+  }
+
+  /**
+   * Creates a $within criterion for a {@link Circle}, {@link Box} or {@link Polygon} parameter.
+   *
+   * @param criteria
+   * @param parameter
+   * @return
+   */
+  private Criteria within(Criteria criteria, Object parameter) {
+
+    if (parameter instanceof Circle) {
+      return criteria.within((Circle) parameter);
+    } else if (parameter instanceof Box) {
+      return criteria.within((Box) parameter);
+    } else if (parameter instanceof Polygon) {
+      return criteria.within((Polygon) parameter);
+    }
+
+    throw new IllegalArgumentException("Within keyword requires a Circle, Box or Polygon parameter but got "
+        + parameter);
+  }
+
   private Object[] nextAsArray(Iterator<Object> iterator) {
     Object next = iterator.next();
 
@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.document.mongodb.MongoOperations;
 import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
 import org.springframework.data.document.mongodb.MongoTemplate;
+import org.springframework.data.document.mongodb.index.IndexProvisioner;
 import org.springframework.data.document.mongodb.mapping.MongoPersistentEntity;
 import org.springframework.data.document.mongodb.query.Index;
 import org.springframework.data.document.mongodb.query.Order;
@@ -51,6 +52,7 @@ public class MongoRepositoryFactoryBean<T extends MongoRepository<S, ID>, S, ID
 
   private MongoTemplate template;
   private MappingContext mappingContext;
+  private IndexProvisioner indexProvisioner;
 
   /**
    * Configures the {@link MongoTemplate} to be used.
@@ -72,6 +74,16 @@ public class MongoRepositoryFactoryBean<T extends MongoRepository<S, ID>, S, ID
     this.mappingContext = mappingContext;
   }
 
+  /**
+   * Sets the {@link IndexProvisioner} to hand the indexes for query methods to. If none is configured, indexes are
+   * created synchronously when the repository is created.
+   * 
+   * @param indexProvisioner the indexProvisioner to set
+   */
+  public void setIndexProvisioner(IndexProvisioner indexProvisioner) {
+    this.indexProvisioner = indexProvisioner;
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -83,7 +95,7 @@ public class MongoRepositoryFactoryBean<T extends MongoRepository<S, ID>, S, ID
   protected RepositoryFactorySupport createRepositoryFactory() {
 
     MongoRepositoryFactory factory = new MongoRepositoryFactory(template, mappingContext);
-    factory.addQueryCreationListener(new IndexEnsuringQueryCreationListener(template));
+    factory.addQueryCreationListener(new IndexEnsuringQueryCreationListener(template, indexProvisioner));
     return factory;
   }
 
@@ -276,10 +288,12 @@ public class MongoRepositoryFactoryBean<T extends MongoRepository<S, ID>, S, ID
 
     private static final Logger LOG = LoggerFactory.getLogger(IndexEnsuringQueryCreationListener.class);
     private final MongoOperations operations;
+    private final IndexProvisioner indexProvisioner;
 
-    public IndexEnsuringQueryCreationListener(MongoOperations operations) {
+    public IndexEnsuringQueryCreationListener(MongoOperations operations, IndexProvisioner indexProvisioner) {
 
       this.operations = operations;
+      this.indexProvisioner = indexProvisioner;
     }
 
     /*
@@ -304,6 +318,13 @@ public class MongoRepositoryFactoryBean<T extends MongoRepository<S, ID>, S, ID
       }
 
       MongoEntityInformation<?, ?> metadata = query.getQueryMethod().getEntityInformation();
+
+      if (indexProvisioner != null) {
+        indexProvisioner.ensureIndex(metadata.getCollectionName(), index);
+        LOG.debug(String.format("Registered index %s!", index.toString()));
+        return;
+      }
+
       operations.ensureIndex(metadata.getCollectionName(), index);
       LOG.debug(String.format("Created index %s!", index.toString()));
     }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.util.Assert;
+
+/**
+ * Executes read-modify-write cycles against versioned entities and repeats them in case they fail with an
+ * {@link OptimisticLockingFailureException}, e.g.:
+ *
+ * <pre>
+ * retryTemplate.execute(new RetryCallback&lt;Account&gt;() {
+ *   public Account doWithRetry() {
+ *     Account account = repository.findOne(id);
+ *     account.deposit(amount);
+ *     return repository.save(account);
+ *   }
+ * });
+ * </pre>
+ *
+ * As the entity has to be re-read for each attempt, the whole cycle has to be done in the callback.
+ */
+public class OptimisticLockingRetryTemplate {
+
+  private int maxAttempts = 3;
+  private long backOffPeriod = 0;
+
+  /**
+   * Sets the maximum number of times the callback is executed. Defaults to 3.
+   *
+   * @param maxAttempts
+   */
+  public void setMaxAttempts(int maxAttempts) {
+    Assert.isTrue(maxAttempts > 0, "Max attempts must be greater than zero!");
+    this.maxAttempts = maxAttempts;
+  }
+
+  /**
+   * Sets the number of milliseconds to wait before the next attempt. Each attempt waits the given period longer than
+   * the previous one. Defaults to 0, i.e. the callback is executed again immediately.
+   *
+   * @param backOffPeriod
+   */
+  public void setBackOffPeriod(long backOffPeriod) {
+    Assert.isTrue(backOffPeriod >= 0, "Back off period must not be negative!");
+    this.backOffPeriod = backOffPeriod;
+  }
+
+  /**
+   * Executes the given callback until it completes without an {@link OptimisticLockingFailureException} or the maximum
+   * number of attempts is reached.
+   *
+   * @param callback must not be {@literal null}
+   * @return the result of the callback
+   * @throws OptimisticLockingFailureException thrown by the last attempt
+   */
+  public <T> T execute(RetryCallback<T> callback) {
+
+    Assert.notNull(callback);
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return callback.doWithRetry();
+      } catch (OptimisticLockingFailureException e) {
+        if (attempt >= maxAttempts) {
+          throw e;
+        }
+        backOff(attempt, e);
+      }
+    }
+  }
+
+  private void backOff(int attempt, OptimisticLockingFailureException cause) {
+
+    if (backOffPeriod == 0) {
+      return;
+    }
+
+    try {
+      Thread.sleep(backOffPeriod * attempt);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw cause;
+    }
+  }
+
+  /**
+   * Callback executing a read-modify-write cycle.
+   */
+  public interface RetryCallback<T> {
+
+    /**
+     * Reads, modifies and writes entities. Will be called again if it throws an
+     * {@link OptimisticLockingFailureException}.
+     *
+     * @return
+     */
+    T doWithRetry();
+  }
+}
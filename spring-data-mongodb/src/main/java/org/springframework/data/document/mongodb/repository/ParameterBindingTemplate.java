@@ -0,0 +1,256 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.util.Assert;
+
+/**
+ * A JSON query or field specification containing placeholders like {@code ?0}, parsed once into a {@link DBObject}
+ * template. Placeholders forming a whole value, quoted or not, are kept as slots inside the template, so binding
+ * parameters is a plain copy of the template with the slots replaced by the (already converted) parameter values,
+ * without any string formatting or JSON parsing. Placeholders inside longer string literals, e.g.
+ * {@code '^?0'}, are substituted into the literal on binding.
+ */
+class ParameterBindingTemplate {
+
+  private static final Pattern PLACEHOLDER = Pattern.compile("\\?(\\d+)");
+
+  private final DBObject template;
+
+  /**
+   * Parses the given JSON source into a template.
+   *
+   * @param source must not be {@literal null}
+   */
+  public ParameterBindingTemplate(String source) {
+
+    Assert.notNull(source);
+
+    this.template = (DBObject) compile(JSON.parse(quotePlaceholders(source)));
+  }
+
+  /**
+   * Uses the given {@link DBObject} as template. Parameter slots have to be contained as values created by
+   * {@link #slot(int)}. The given object must not be modified afterwards.
+   *
+   * @param template must not be {@literal null}
+   */
+  public ParameterBindingTemplate(DBObject template) {
+    Assert.notNull(template);
+    this.template = template;
+  }
+
+  /**
+   * Returns a slot to be used inside a template that will be replaced by the parameter with the given index.
+   *
+   * @param index
+   * @return
+   */
+  public static Object slot(int index) {
+    return new Slot(index);
+  }
+
+  /**
+   * Returns a new {@link DBObject} with all slots replaced by the parameters at the according index. The template
+   * itself is never handed out so callers are free to modify the result.
+   *
+   * @param accessor must not be {@literal null}
+   * @return
+   */
+  public DBObject bind(ParameterAccessor accessor) {
+    return (DBObject) bind(template, accessor);
+  }
+
+  /**
+   * Quotes all placeholders outside of string literals so that the source can be parsed as JSON. Placeholders inside
+   * string literals are left untouched.
+   *
+   * @param source
+   * @return
+   */
+  static String quotePlaceholders(String source) {
+
+    StringBuilder builder = new StringBuilder(source.length() + 8);
+    char quote = 0;
+
+    for (int i = 0; i < source.length(); i++) {
+
+      char c = source.charAt(i);
+
+      if (quote != 0) {
+        builder.append(c);
+        if (c == '\\' && i + 1 < source.length()) {
+          builder.append(source.charAt(++i));
+        } else if (c == quote) {
+          quote = 0;
+        }
+        continue;
+      }
+
+      if (c == '\'' || c == '"') {
+        quote = c;
+        builder.append(c);
+        continue;
+      }
+
+      if (c == '?') {
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        if (matcher.find(i) && matcher.start() == i) {
+          builder.append('"').append(matcher.group()).append('"');
+          i = matcher.end() - 1;
+          continue;
+        }
+      }
+
+      builder.append(c);
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Replaces all placeholder strings with {@link Slot}s and strings containing placeholders with
+   * {@link EmbeddedSlots}.
+   *
+   * @param value
+   * @return
+   */
+  private static Object compile(Object value) {
+
+    if (value instanceof String) {
+      Matcher matcher = PLACEHOLDER.matcher((String) value);
+      if (matcher.matches()) {
+        return new Slot(Integer.parseInt(matcher.group(1)));
+      }
+      return matcher.find() ? new EmbeddedSlots((String) value) : value;
+    }
+
+    if (value instanceof BasicDBList) {
+      BasicDBList list = (BasicDBList) value;
+      for (int i = 0; i < list.size(); i++) {
+        list.set(i, compile(list.get(i)));
+      }
+      return list;
+    }
+
+    if (value instanceof DBObject) {
+      DBObject dbo = (DBObject) value;
+      for (String key : dbo.keySet()) {
+        dbo.put(key, compile(dbo.get(key)));
+      }
+      return dbo;
+    }
+
+    return value;
+  }
+
+  private static Object bind(Object value, ParameterAccessor accessor) {
+
+    if (value instanceof Slot) {
+      return accessor.getBindableValue(((Slot) value).index);
+    }
+
+    if (value instanceof EmbeddedSlots) {
+      return ((EmbeddedSlots) value).bind(accessor);
+    }
+
+    if (value instanceof List) {
+      BasicDBList result = new BasicDBList();
+      for (Object element : (List<?>) value) {
+        result.add(bind(element, accessor));
+      }
+      return result;
+    }
+
+    if (value instanceof Object[]) {
+      Object[] source = (Object[]) value;
+      Object[] result = new Object[source.length];
+      for (int i = 0; i < source.length; i++) {
+        result[i] = bind(source[i], accessor);
+      }
+      return result;
+    }
+
+    if (value instanceof DBObject) {
+      DBObject source = (DBObject) value;
+      DBObject result = new BasicDBObject();
+      for (String key : source.keySet()) {
+        result.put(key, bind(source.get(key), accessor));
+      }
+      return result;
+    }
+
+    return value;
+  }
+
+  /**
+   * A placeholder for the parameter with the given index.
+   */
+  private static class Slot {
+
+    private final int index;
+
+    public Slot(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public String toString() {
+      return "?" + index;
+    }
+  }
+
+  /**
+   * A string literal containing placeholders that are replaced by the string representation of the parameters.
+   */
+  private static class EmbeddedSlots {
+
+    private final String literal;
+
+    public EmbeddedSlots(String literal) {
+      this.literal = literal;
+    }
+
+    public String bind(ParameterAccessor accessor) {
+
+      Matcher matcher = PLACEHOLDER.matcher(literal);
+      StringBuffer buffer = new StringBuffer();
+
+      while (matcher.find()) {
+        Object parameter = accessor.getBindableValue(Integer.parseInt(matcher.group(1)));
+        String replacement = parameter instanceof Pattern ? ((Pattern) parameter).pattern() : String.valueOf(parameter);
+        matcher.appendReplacement(buffer, Matcher.quoteReplacement(replacement));
+      }
+
+      matcher.appendTail(buffer);
+      return buffer.toString();
+    }
+
+    @Override
+    public String toString() {
+      return literal;
+    }
+  }
+}
@@ -15,20 +15,41 @@
  */
 package org.springframework.data.document.mongodb.repository;
 
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
 import org.springframework.data.document.mongodb.MongoTemplate;
 import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.Part.Type;
 import org.springframework.data.repository.query.parser.PartTree;
 
 /**
- * {@link RepositoryQuery} implementation for Mongo.
+ * {@link RepositoryQuery} implementation for Mongo. If all parts of the {@link PartTree} use their parameter values
+ * as is, the query and sort documents are created once and only the parameter values are bound on invocation.
+ * Otherwise a new {@link MongoQueryCreator} is run for every invocation.
  *
  * @author Oliver Gierke
  */
 public class PartTreeMongoQuery extends AbstractMongoQuery {
 
+  /**
+   * {@link Type}s whose parameter values end up unmodified in the query document.
+   */
+  private static final Set<Type> BINDABLE_TYPES = EnumSet.of(Type.SIMPLE_PROPERTY, Type.NEGATING_SIMPLE_PROPERTY,
+      Type.GREATER_THAN, Type.LESS_THAN, Type.BETWEEN, Type.IS_NULL, Type.IS_NOT_NULL);
+
   private final PartTree tree;
+  private final ParameterBindingTemplate queryTemplate;
+  private final DBObject sortObject;
 
   /**
    * Creates a new {@link PartTreeMongoQuery} from the given {@link QueryMethod} and {@link MongoTemplate}.
@@ -40,6 +61,15 @@ public class PartTreeMongoQuery extends AbstractMongoQuery {
 
     super(method, template);
     this.tree = new PartTree(method.getName(), method.getEntityInformation().getJavaType());
+
+    if (isBindable(tree)) {
+      Query skeleton = new MongoQueryCreator(tree, new SlotParameterAccessor()).createQuery();
+      this.queryTemplate = new ParameterBindingTemplate(skeleton.getQueryObject());
+      this.sortObject = skeleton.getSortObject();
+    } else {
+      this.queryTemplate = null;
+      this.sortObject = null;
+    }
   }
 
   /**
@@ -59,7 +89,121 @@ public class PartTreeMongoQuery extends AbstractMongoQuery {
   @Override
   protected Query createQuery(ConvertingParameterAccessor accessor) {
 
+    if (queryTemplate != null && accessor.getSort() == null) {
+      return new BoundQuery(queryTemplate.bind(accessor), sortObject);
+    }
+
     MongoQueryCreator creator = new MongoQueryCreator(tree, accessor);
     return creator.createQuery();
   }
+
+  private static boolean isBindable(PartTree tree) {
+
+    for (Part part : tree.getParts()) {
+      if (!BINDABLE_TYPES.contains(part.getType())) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * {@link Query} with a precomputed query document. The sort specified in the method name is combined with any sort
+   * added later on, e.g. for pagination.
+   */
+  private static class BoundQuery extends Query {
+
+    private final DBObject queryObject;
+    private final DBObject staticSort;
+
+    public BoundQuery(DBObject queryObject, DBObject staticSort) {
+      this.queryObject = queryObject;
+      this.staticSort = staticSort;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.document.mongodb.query.Query#getQueryObject()
+     */
+    @Override
+    public DBObject getQueryObject() {
+      return queryObject;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.document.mongodb.query.Query#getSortObject()
+     */
+    @Override
+    public DBObject getSortObject() {
+
+      DBObject additionalSort = super.getSortObject();
+
+      if (staticSort == null) {
+        return additionalSort;
+      }
+
+      DBObject sort = new BasicDBObject();
+      sort.putAll(staticSort);
+      if (additionalSort != null) {
+        sort.putAll(additionalSort);
+      }
+      return sort;
+    }
+  }
+
+  /**
+   * {@link ParameterAccessor} handing out parameter slots instead of actual values to create a query template.
+   */
+  private static class SlotParameterAccessor implements ParameterAccessor {
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.query.ParameterAccessor#getPageable()
+     */
+    public Pageable getPageable() {
+      return null;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.query.ParameterAccessor#getSort()
+     */
+    public Sort getSort() {
+      return null;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.query.ParameterAccessor#getBindableValue(int)
+     */
+    public Object getBindableValue(int index) {
+      return ParameterBindingTemplate.slot(index);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<Object> iterator() {
+
+      return new Iterator<Object>() {
+
+        private int index = 0;
+
+        public boolean hasNext() {
+          return true;
+        }
+
+        public Object next() {
+          return ParameterBindingTemplate.slot(index++);
+        }
+
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+  }
 }
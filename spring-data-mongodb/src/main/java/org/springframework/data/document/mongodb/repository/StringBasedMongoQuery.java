@@ -15,10 +15,7 @@
  */
 package org.springframework.data.document.mongodb.repository;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import org.bson.types.ObjectId;
+import com.mongodb.DBObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.document.mongodb.MongoTemplate;
@@ -32,22 +29,24 @@ import org.springframework.data.document.mongodb.query.Query;
  */
 public class StringBasedMongoQuery extends AbstractMongoQuery {
 
-  private static final Pattern PLACEHOLDER = Pattern.compile("\\?(\\d+)");
   private static final Logger LOG = LoggerFactory.getLogger(StringBasedMongoQuery.class);
 
-  private final String query;
-  private final String fieldSpec;
+  private final ParameterBindingTemplate query;
+  private final ParameterBindingTemplate fieldSpec;
 
   /**
-   * Creates a new {@link StringBasedMongoQuery}.
+   * Creates a new {@link StringBasedMongoQuery}. The annotated query and field specification are parsed right away.
    *
    * @param method
    * @param template
    */
   public StringBasedMongoQuery(MongoQueryMethod method, MongoTemplate template) {
     super(method, template);
-    this.query = method.getAnnotatedQuery();
-    this.fieldSpec = method.getFieldSpecification();
+
+    String fieldSpec = method.getFieldSpecification();
+
+    this.query = new ParameterBindingTemplate(method.getAnnotatedQuery());
+    this.fieldSpec = fieldSpec == null ? null : new ParameterBindingTemplate(fieldSpec);
   }
 
   /*
@@ -60,44 +59,11 @@ public class StringBasedMongoQuery extends AbstractMongoQuery {
   @Override
   protected Query createQuery(ConvertingParameterAccessor accessor) {
 
-    String queryString = replacePlaceholders(query, accessor);
-
-    Query query = null;
+    DBObject queryObject = this.query.bind(accessor);
+    Query query = fieldSpec == null ? new BasicQuery(queryObject) : new BasicQuery(queryObject, fieldSpec.bind(accessor));
 
-    if (fieldSpec != null) {
-      String fieldString = replacePlaceholders(fieldSpec, accessor);
-      query = new BasicQuery(queryString, fieldString);
-    } else {
-      query = new BasicQuery(queryString);
-    }
-
-    LOG.debug("Created query {}", query.getQueryObject());
+    LOG.debug("Created query {}", queryObject);
 
     return query;
   }
-
-  private String replacePlaceholders(String input, ConvertingParameterAccessor accessor) {
-
-    Matcher matcher = PLACEHOLDER.matcher(input);
-    String result = null;
-
-    while (matcher.find()) {
-      String group = matcher.group();
-      int index = Integer.parseInt(matcher.group(1));
-      result = input.replace(group, getParameterWithIndex(accessor, index));
-    }
-
-    return result;
-  }
-
-  private String getParameterWithIndex(ConvertingParameterAccessor accessor, int index) {
-    Object parameter = accessor.getBindableValue(index);
-    if (parameter instanceof String || parameter.getClass().isEnum()) {
-      return String.format("\"%s\"", parameter);
-    } else if (parameter instanceof ObjectId) {
-      return String.format("{ '$oid' : '%s' }", parameter);
-    }
-
-    return parameter.toString();
-  }
 }
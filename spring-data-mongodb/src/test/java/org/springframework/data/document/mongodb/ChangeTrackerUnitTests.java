@@ -0,0 +1,89 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.junit.Test;
+import org.springframework.data.document.mongodb.query.Update;
+
+/**
+ * Unit tests for {@link ChangeTracker}.
+ */
+public class ChangeTrackerUnitTests {
+
+  @Test
+  public void tracksEntitiesByIdentity() {
+
+    ChangeTracker tracker = new ChangeTracker();
+    DBObject snapshot = new BasicDBObject("_id", 1);
+
+    Person person = new Person("Dave");
+    tracker.track(person, snapshot);
+
+    assertThat(tracker.getSnapshot(person), is(snapshot));
+    assertThat(tracker.getSnapshot(new Person("Dave")), is(nullValue()));
+  }
+
+  @Test
+  public void returnsNullForUnchangedDocument() {
+
+    DBObject snapshot = new BasicDBObject("_id", 1).append("name", "Dave").append("tags", list("a", "b"));
+    DBObject document = new BasicDBObject("_id", 1).append("name", "Dave").append("tags", list("a", "b"));
+
+    assertThat(ChangeTracker.getUpdate(snapshot, document), is(nullValue()));
+  }
+
+  @Test
+  public void setsChangedUnsetsRemovedAndPushesAppendedFields() {
+
+    DBObject snapshot = new BasicDBObject("_id", 1).append("name", "Dave").append("age", 42).append("tags",
+        list("a"));
+    DBObject document = new BasicDBObject("_id", 1).append("name", "Carter").append("tags", list("a", "b"));
+
+    Update update = ChangeTracker.getUpdate(snapshot, document);
+    DBObject updateObject = update.getUpdateObject();
+
+    assertThat(updateObject.get("$set"), is((Object) new BasicDBObject("name", "Carter")));
+    assertThat(updateObject.get("$unset"), is((Object) new BasicDBObject("age", 1)));
+    assertThat(updateObject.get("$push"), is((Object) new BasicDBObject("tags", "b")));
+  }
+
+  @Test
+  public void setsWholeArrayIfNotOnlyAppendedTo() {
+
+    DBObject snapshot = new BasicDBObject("tags", list("a", "b"));
+    DBObject document = new BasicDBObject("tags", list("b", "c"));
+
+    DBObject updateObject = ChangeTracker.getUpdate(snapshot, document).getUpdateObject();
+
+    assertThat(updateObject.get("$set"), is((Object) new BasicDBObject("tags", list("b", "c"))));
+    assertThat(updateObject.containsField("$push"), is(false));
+  }
+
+  private static BasicDBList list(Object... values) {
+
+    BasicDBList list = new BasicDBList();
+    for (Object value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.data.document.mongodb.MongoPropertyDescriptors.MongoPropertyDescriptor;
+import org.springframework.data.document.mongodb.convert.SimpleMongoConverter;
+
+/**
+ * Unit tests for {@link MongoPropertyDescriptors}.
+ */
+public class MongoPropertyDescriptorsUnitTests {
+
+  @Test
+  public void cachesDescriptorsPerTypeAndConverter() {
+
+    SimpleMongoConverter converter = new SimpleMongoConverter();
+    MongoPropertyDescriptors descriptors = converter.getPropertyDescriptors(PersonWithIdPropertyOfTypeString.class);
+
+    assertThat(converter.getPropertyDescriptors(PersonWithIdPropertyOfTypeString.class), is(sameInstance(descriptors)));
+    assertThat(new SimpleMongoConverter().getPropertyDescriptors(PersonWithIdPropertyOfTypeString.class),
+        is(not(sameInstance(descriptors))));
+  }
+
+  @Test
+  public void exposesDescriptorsByName() {
+
+    MongoPropertyDescriptors descriptors = new MongoPropertyDescriptors(PersonWithIdPropertyOfTypeString.class);
+    MongoPropertyDescriptor id = descriptors.getDescriptor("id");
+
+    assertThat(id, is(descriptors.getIdDescriptor()));
+    assertThat(id.isMappable(), is(true));
+    assertThat(id.getKeyToMap(), is("_id"));
+    assertThat(id.getField().getName(), is("id"));
+
+    assertThat(descriptors.getDescriptor("class").isMappable(), is(false));
+    assertThat(descriptors.getDescriptor("unknown"), is(nullValue()));
+  }
+}
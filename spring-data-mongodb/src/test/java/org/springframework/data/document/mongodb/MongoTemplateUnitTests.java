@@ -15,19 +15,40 @@
  */
 package org.springframework.data.document.mongodb;
 
-import static org.junit.Assert.assertTrue;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.Date;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.CommandResult;
 import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
 import com.mongodb.Mongo;
 import com.mongodb.MongoException;
+import com.mongodb.WriteConcern;
+import com.mongodb.WriteResult;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.document.InvalidDocumentStoreApiUsageException;
+import org.springframework.data.document.mongodb.convert.MappingMongoConverter;
 import org.springframework.data.document.mongodb.convert.SimpleMongoConverter;
+import org.springframework.data.document.mongodb.mapping.MongoMappingContext;
+import org.springframework.data.document.mongodb.mapping.Version;
+import org.springframework.data.document.mongodb.mapreduce.MapReduceOptions;
+import org.springframework.data.document.mongodb.query.Criteria;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.query.Update;
 import org.springframework.test.util.ReflectionTestUtils;
 
 /**
@@ -46,6 +67,15 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
   @Mock
   DB db;
 
+  @Mock
+  DBCollection collection;
+
+  @Mock
+  WriteResult writeResult;
+
+  @Mock
+  CommandResult commandResult;
+
   @Before
   public void setUp() {
     this.template = new MongoTemplate(mongo, "database", "default");
@@ -75,6 +105,146 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
     assertTrue(ReflectionTestUtils.getField(template, "mongoConverter") instanceof SimpleMongoConverter);
   }
 
+  @Test(expected = InvalidDocumentStoreApiUsageException.class)
+  public void rejectsMapReduceLimitConflictingWithQueryLimit() throws Exception {
+    template.mapReduce(new Query().limit(5), "collection", "function() {}", "function(key, values) {}",
+        MapReduceOptions.options().limit(10), Object.class);
+  }
+
+  @Test
+  public void rejectsSavingConcurrentlyModifiedVersionedEntity() throws Exception {
+
+    template.setMongoConverter(new MappingMongoConverter(new MongoMappingContext()));
+    MongoTemplate template = mockOutGetDb();
+    when(db.getCollection("collection")).thenReturn(collection);
+    when(collection.update(any(DBObject.class), any(DBObject.class), eq(false), eq(false), any(WriteConcern.class)))
+        .thenReturn(writeResult);
+    when(writeResult.getN()).thenReturn(0);
+
+    VersionedPerson person = new VersionedPerson();
+    person.id = "4711";
+    person.version = 1L;
+
+    try {
+      template.save("collection", person);
+      fail("Expected OptimisticLockingFailureException!");
+    } catch (OptimisticLockingFailureException e) {
+      assertThat(person.version, is(1L));
+    }
+  }
+
+  @Test
+  public void sendsVersionedUpdatesAcknowledgedWithoutModifyingTheGivenUpdate() throws Exception {
+
+    MongoTemplate template = spy(new MongoTemplate(mongo, "database", "default", WriteConcern.NONE,
+        WriteResultChecking.NONE));
+    template.setMongoConverter(new MappingMongoConverter(new MongoMappingContext()));
+    stub(template.getDb()).toReturn(db);
+    when(db.getCollection("collection")).thenReturn(collection);
+    when(collection.update(any(DBObject.class), any(DBObject.class), eq(false), eq(false), any(WriteConcern.class)))
+        .thenReturn(writeResult);
+    when(writeResult.getN()).thenReturn(1);
+
+    VersionedPerson person = new VersionedPerson();
+    person.id = "4711";
+    person.version = 1L;
+
+    Update update = new Update().set("name", "Dave");
+    template.updateVersioned("collection", person, update);
+
+    verify(collection).update(any(DBObject.class), any(DBObject.class), eq(false), eq(false), eq(WriteConcern.SAFE));
+    assertThat(update.getUpdateObject().containsField("$inc"), is(false));
+    assertThat(person.version, is(2L));
+  }
+
+  @Test
+  public void savesInPlaceModificationsOfTrackedEntities() throws Exception {
+
+    template.setMongoConverter(new MappingMongoConverter(new MongoMappingContext()));
+    template.setTrackChanges(true);
+    MongoTemplate template = mockOutGetDb();
+    when(db.getCollection("collection")).thenReturn(collection);
+    when(collection.findOne(any(DBObject.class), any(DBObject.class))).thenReturn(
+        new BasicDBObject("_id", "4711").append("lastLogin", new Date(0)));
+    when(collection.update(any(DBObject.class), any(DBObject.class))).thenReturn(writeResult);
+
+    TrackedPerson person = template.findOne("collection", new Query(Criteria.where("id").is("4711")),
+        TrackedPerson.class);
+    person.lastLogin.setTime(1000);
+    template.save("collection", person);
+
+    ArgumentCaptor<DBObject> update = ArgumentCaptor.forClass(DBObject.class);
+    verify(collection).update(any(DBObject.class), update.capture());
+    assertThat(update.getValue().get("$set"), is((Object) new BasicDBObject("lastLogin", new Date(1000))));
+  }
+
+  @Test
+  public void sendsBatchWritesUnacknowledgedAndConfirmsThemOnce() throws Exception {
+
+    final MongoTemplate template = mockOutGetDb();
+    when(db.getCollection("collection")).thenReturn(collection);
+    when(db.getLastError(any(WriteConcern.class))).thenReturn(commandResult);
+    when(db.getPreviousError()).thenReturn(commandResult);
+
+    template.executeInBatch(new DbCallback<Void>() {
+      public Void doInDB(DB db) throws MongoException, DataAccessException {
+        template.insert("collection", newPerson("Dave"));
+        template.insert("collection", newPerson("Carter"));
+        return null;
+      }
+    });
+
+    verify(db).requestStart();
+    verify(collection, times(2)).insert(any(DBObject.class), eq(WriteConcern.NORMAL));
+    verify(db, times(1)).getLastError(WriteConcern.SAFE);
+    verify(db).requestDone();
+  }
+
+  @Test
+  public void confirmsBatchKeepingFsyncAndIgnoresErrorsWithoutResultChecking() throws Exception {
+
+    MongoTemplate template = spy(new MongoTemplate(mongo, "database", "default", new WriteConcern(0, 0, true),
+        WriteResultChecking.NONE));
+    stub(template.getDb()).toReturn(db);
+    when(db.getLastError(any(WriteConcern.class))).thenReturn(commandResult);
+    when(commandResult.get("err")).thenReturn("E11000 duplicate key error");
+
+    template.executeInBatch(new DbCallback<Void>() {
+      public Void doInDB(DB db) throws MongoException, DataAccessException {
+        return null;
+      }
+    });
+
+    verify(db).getLastError(WriteConcern.FSYNC_SAFE);
+  }
+
+  @Test
+  public void reportsFailedBatchWrites() throws Exception {
+
+    template.setWriteResultChecking(WriteResultChecking.EXCEPTION);
+    MongoTemplate template = mockOutGetDb();
+    when(db.getLastError(any(WriteConcern.class))).thenReturn(commandResult);
+    when(db.getPreviousError()).thenReturn(commandResult);
+    when(commandResult.get("err")).thenReturn("E11000 duplicate key error");
+
+    try {
+      template.executeInBatch(new DbCallback<Void>() {
+        public Void doInDB(DB db) throws MongoException, DataAccessException {
+          return null;
+        }
+      });
+      fail("Expected DataIntegrityViolationException!");
+    } catch (DataIntegrityViolationException e) {
+      verify(db).requestDone();
+    }
+  }
+
+  private static PersonWithIdPropertyOfTypeString newPerson(String firstName) {
+    PersonWithIdPropertyOfTypeString person = new PersonWithIdPropertyOfTypeString();
+    person.setFirstName(firstName);
+    return person;
+  }
+
   /**
    * Mocks out the {@link MongoTemplate#getDb()} method to return the {@link DB} mock instead of executing the actual
    * behaviour.
@@ -105,4 +275,18 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
   protected MongoOperations getOperations() {
     return this.template;
   }
+
+  static class VersionedPerson {
+
+    String id;
+
+    @Version
+    Long version;
+  }
+
+  static class TrackedPerson {
+
+    String id;
+    Date lastLogin;
+  }
 }
@@ -340,6 +340,26 @@ public class SimpleMongoConverterTests {
     assertThat(result.getBirthDate(), is(notNullValue()));
   }
 
+  @Test
+  public void reResolvesWriteStrategyAfterConvertersChanged() {
+
+    Contact contact = new Contact();
+    contact.address = new Address();
+    contact.address.city = "New York";
+
+    DBObject dbObject = new BasicDBObject();
+    converter.write(contact, dbObject);
+    assertTrue(dbObject.get("address") instanceof DBObject);
+
+    Set<Converter<?, ?>> converters = new HashSet<Converter<?, ?>>();
+    converters.add(new AddressToStringConverter());
+    converter.setConverters(converters);
+
+    dbObject = new BasicDBObject();
+    converter.write(contact, dbObject);
+    assertThat(dbObject.get("address"), is((Object) "New York"));
+  }
+
   private void assertListOfStringAndLong(List<Class<?>> types) {
 
     assertThat(types.size(), CoreMatchers.is(2));
@@ -408,6 +428,14 @@ public class SimpleMongoConverterTests {
     }
   }
   
+  public static class Contact {
+    Address address;
+
+    public Address getAddress() {
+      return address;
+    }
+  }
+
   public static class AnotherPerson {
     LocalDate birthDate;
     
@@ -429,4 +457,11 @@ public class SimpleMongoConverterTests {
       return new LocalDate(source.getTime());
     }
   }
+
+  private class AddressToStringConverter implements Converter<Address, String> {
+
+    public String convert(Address source) {
+      return source.city;
+    }
+  }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.analytics;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+import com.mongodb.DBObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.document.analytics.MvcEvent;
+import org.springframework.data.document.analytics.RollupGranularity;
+import org.springframework.data.document.mongodb.MongoOperations;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.query.Update;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Unit tests for {@link MvcEventRollupWriter}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MvcEventRollupWriterUnitTests {
+
+  @Mock
+  MongoOperations operations;
+
+  MvcEventRollupWriter writer;
+
+  MvcEvent event;
+
+  @Before
+  public void setUp() {
+
+    writer = new MvcEventRollupWriter(operations);
+
+    Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    calendar.clear();
+    calendar.set(2011, Calendar.MARCH, 14, 15, 9, 26);
+
+    event = new MvcEvent();
+    event.setController("RestaurantController");
+    event.setAction("addFavoriteRestaurant");
+    event.setDate(calendar.getTime());
+  }
+
+  @Test
+  public void upsertsOneBucketPerGranularity() {
+
+    writer.write(event);
+
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+
+    verify(operations).upsert(eq("mvc.rollup.minute"), query.capture(), update.capture());
+    verify(operations).upsert(eq("mvc.rollup.hour"), any(Query.class), any(Update.class));
+    verify(operations).upsert(eq("mvc.rollup.day"), any(Query.class), any(Update.class));
+    verify(operations, never()).insert(anyString(), anyObject());
+
+    DBObject queryObject = query.getValue().getQueryObject();
+    assertThat(queryObject.get("controller"), is((Object) "RestaurantController"));
+    assertThat(queryObject.get("action"), is((Object) "addFavoriteRestaurant"));
+    assertThat(queryObject.get("date"), is((Object) RollupGranularity.MINUTE.truncate(event.getDate())));
+
+    DBObject inc = (DBObject) update.getValue().getUpdateObject().get("$inc");
+    assertThat(inc.get("count"), is((Object) 1L));
+  }
+
+  @Test
+  public void storesRawEventIfConfigured() {
+
+    writer.setStoreEvents(true);
+    writer.setGranularities(RollupGranularity.HOUR);
+    writer.write(event);
+
+    verify(operations, times(1)).upsert(anyString(), any(Query.class), any(Update.class));
+    verify(operations).insert("mvc", event);
+  }
+
+  @Test
+  public void storesRawEventWithDefaultedDate() {
+
+    event.setDate(null);
+    writer.setStoreEvents(true);
+    writer.write(event);
+
+    assertThat(event.getDate(), is(notNullValue()));
+    verify(operations).insert("mvc", event);
+  }
+
+  @Test
+  public void schedulesPurgeIfRetentionAndSchedulerAreConfigured() {
+
+    TaskScheduler scheduler = mock(TaskScheduler.class);
+    writer.setTaskScheduler(scheduler);
+    writer.setEventRetentionMillis(1000);
+    writer.setPurgeIntervalMillis(500);
+    writer.afterPropertiesSet();
+
+    ArgumentCaptor<Runnable> purge = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).scheduleWithFixedDelay(purge.capture(), eq(500L));
+
+    purge.getValue().run();
+    verify(operations).remove(eq("mvc"), any(Query.class));
+  }
+
+  @Test
+  public void doesNotPurgeEventsWithoutRetention() {
+    writer.purgeExpiredEvents();
+    verifyZeroInteractions(operations);
+  }
+
+  @Test
+  public void purgesEventsOlderThanRetention() {
+
+    writer.setEventRetentionMillis(1000);
+    writer.purgeExpiredEvents();
+
+    verify(operations).remove(eq("mvc"), any(Query.class));
+  }
+
+  @Test
+  public void truncatesDatesToBucketStart() {
+
+    Date date = event.getDate();
+    Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+    calendar.setTime(RollupGranularity.HOUR.truncate(date));
+    assertThat(calendar.get(Calendar.HOUR_OF_DAY), is(15));
+    assertThat(calendar.get(Calendar.MINUTE), is(0));
+
+    calendar.setTime(RollupGranularity.DAY.truncate(date));
+    assertThat(calendar.get(Calendar.DAY_OF_MONTH), is(14));
+    assertThat(calendar.get(Calendar.HOUR_OF_DAY), is(0));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DocumentMatcher}.
+ */
+public class DocumentMatcherUnitTests {
+
+  @Test
+  public void treatsNonZeroNumbersAsTrueForExists() {
+
+    DBObject document = new BasicDBObject("name", "Dave");
+
+    assertThat(DocumentMatcher.matches(document, new BasicDBObject("name", new BasicDBObject("$exists", 1))),
+        is(true));
+    assertThat(DocumentMatcher.matches(document, new BasicDBObject("name", new BasicDBObject("$exists", 0))),
+        is(false));
+    assertThat(DocumentMatcher.matches(document, new BasicDBObject("age", new BasicDBObject("$exists", 1))),
+        is(false));
+  }
+
+  @Test
+  public void descendsIntoEveryDocumentOfAList() {
+
+    DBObject document = new BasicDBObject("items", list(new BasicDBObject("name", "a"),
+        new BasicDBObject("name", "b"), new BasicDBObject("price", 1)));
+
+    assertThat(DocumentMatcher.getValue(document, "items.name"), is((Object) Arrays.asList("a", "b")));
+    assertThat(DocumentMatcher.getValue(document, "items.1.name"), is((Object) "b"));
+    assertThat(DocumentMatcher.getValue(document, "items.unknown"), is(nullValue()));
+
+    assertThat(DocumentMatcher.matches(document, new BasicDBObject("items.name", "b")), is(true));
+    assertThat(DocumentMatcher.matches(document, new BasicDBObject("items.name", new BasicDBObject("$in",
+        list("c", "a")))), is(true));
+    assertThat(DocumentMatcher.matches(document, new BasicDBObject("items.name", "c")), is(false));
+  }
+
+  @Test
+  public void sortsByTheSmallestOrLargestElementOfAList() {
+
+    DBObject first = new BasicDBObject("items", list(new BasicDBObject("price", 1), new BasicDBObject("price", 5)));
+    DBObject second = new BasicDBObject("items", list(new BasicDBObject("price", 3)));
+
+    assertThat(DocumentMatcher.getComparator(new BasicDBObject("items.price", 1)).compare(first, second),
+        is(lessThan(0)));
+    assertThat(DocumentMatcher.getComparator(new BasicDBObject("items.price", -1)).compare(first, second),
+        is(lessThan(0)));
+  }
+
+  private static BasicDBList list(Object... values) {
+
+    BasicDBList list = new BasicDBList();
+    for (Object value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.cache;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.document.mongodb.query.Criteria.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.document.mongodb.CollectionCallback;
+import org.springframework.data.document.mongodb.MongoTemplate;
+import org.springframework.data.document.mongodb.convert.MappingMongoConverter;
+import org.springframework.data.document.mongodb.mapping.MongoMappingContext;
+import org.springframework.data.document.mongodb.query.Order;
+import org.springframework.data.document.mongodb.query.Query;
+
+/**
+ * Unit tests for {@link ReferenceDataCache}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReferenceDataCacheUnitTests {
+
+  @Mock
+  MongoTemplate template;
+  @Mock
+  DBCollection collection;
+  @Mock
+  DBCursor cursor;
+  @Mock
+  DBCursor versionCursor;
+
+  List<DBObject> documents;
+  ReferenceDataCache<Currency> cache;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+
+    documents = new ArrayList<DBObject>();
+    documents.add(currency("EUR", "Euro", 2, 1));
+    documents.add(currency("USD", "US Dollar", 2, 1));
+    documents.add(currency("JPY", "Yen", 0, 1));
+
+    when(template.getConverter()).thenReturn(new MappingMongoConverter(new MongoMappingContext()));
+    when(template.execute(anyString(), any(CollectionCallback.class))).thenAnswer(new Answer<Object>() {
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        return ((CollectionCallback<Object>) invocation.getArguments()[1]).doInCollection(collection);
+      }
+    });
+    when(collection.find()).thenReturn(cursor);
+    when(cursor.toArray()).thenAnswer(new Answer<List<DBObject>>() {
+      public List<DBObject> answer(InvocationOnMock invocation) throws Throwable {
+        return new ArrayList<DBObject>(documents);
+      }
+    });
+
+    cache = new ReferenceDataCache<Currency>(template, "currencies", Currency.class);
+    cache.setIndexedProperties("code");
+    cache.setRefreshInterval(0);
+  }
+
+  @Test
+  public void answersQueriesFromSnapshot() {
+
+    cache.afterPropertiesSet();
+
+    assertThat(cache.getCollection(Currency.class).size(), is(3));
+    assertThat(cache.getSnapshot().getOne("code", "USD").name, is("US Dollar"));
+    assertThat(cache.findOne(new Query(where("code").is("EUR")), Currency.class).name, is("Euro"));
+    assertThat(cache.findOne(new Query(where("code").is("CHF")), Currency.class), is(nullValue()));
+
+    Query query = new Query(where("digits").gt(0));
+    query.sort().on("code", Order.DESCENDING);
+    List<Currency> result = cache.find(query, Currency.class);
+
+    assertThat(result.size(), is(2));
+    assertThat(result.get(0).code, is("USD"));
+    assertThat(result.get(1).code, is("EUR"));
+
+    assertThat(cache.find(new Query(where("code").in("JPY", "CHF")), Currency.class).size(), is(1));
+    verify(collection, times(1)).find();
+  }
+
+  @Test
+  public void looksUpNumbersRegardlessOfTheirType() {
+
+    cache.setIndexedProperties("code", "digits");
+    cache.afterPropertiesSet();
+
+    assertThat(cache.getSnapshot().get("digits", 2).size(), is(2));
+    assertThat(cache.getSnapshot().get("digits", 2L).size(), is(2));
+    assertThat(cache.getSnapshot().get("digits", 2.0).size(), is(2));
+    assertThat(cache.getSnapshot().get("digits", 2.5).size(), is(0));
+  }
+
+  @Test
+  public void reloadsOnlyIfVersionChanged() {
+
+    stubVersionQuery();
+
+    cache.setVersionKey("version");
+    cache.afterPropertiesSet();
+    ReferenceDataSnapshot<Currency> snapshot = cache.getSnapshot();
+
+    assertThat(cache.refreshIfChanged(), is(false));
+    assertThat(cache.getSnapshot(), is(sameInstance(snapshot)));
+
+    documents.add(currency("CHF", "Swiss Franc", 2, 2));
+
+    assertThat(cache.refreshIfChanged(), is(true));
+    assertThat(cache.getSnapshot(), is(not(sameInstance(snapshot))));
+    assertThat(cache.getSnapshot().getOne("code", "CHF").name, is("Swiss Franc"));
+    assertThat(snapshot.size(), is(3));
+  }
+
+  @Test
+  public void reloadsIfOnlyTheVersionOfAnExistingDocumentChanged() {
+
+    stubVersionQuery();
+    documents.set(0, currency("EUR", "Euro", 2, 5));
+
+    cache.setVersionKey("version");
+    cache.afterPropertiesSet();
+    ReferenceDataSnapshot<Currency> snapshot = cache.getSnapshot();
+
+    // Neither the number of documents nor the highest version changes
+    documents.set(1, currency("USD", "United States Dollar", 2, 2));
+
+    assertThat(cache.refreshIfChanged(), is(true));
+    assertThat(cache.getSnapshot().getOne("code", "USD").name, is("United States Dollar"));
+    assertThat(snapshot.getOne("code", "USD").name, is("US Dollar"));
+  }
+
+  @Test
+  public void reloadsIfDocumentWasReplacedByOneWithTheSameVersion() {
+
+    stubVersionQuery();
+
+    cache.setVersionKey("version");
+    cache.afterPropertiesSet();
+
+    // Neither the number of documents nor any sum of the versions changes
+    documents.remove(2);
+    documents.add(currency("CHF", "Swiss Franc", 2, 1));
+
+    assertThat(cache.refreshIfChanged(), is(true));
+    assertThat(cache.getSnapshot().getOne("code", "CHF").name, is("Swiss Franc"));
+    assertThat(cache.getSnapshot().getOne("code", "JPY"), is(nullValue()));
+  }
+
+  private void stubVersionQuery() {
+
+    when(collection.find(any(DBObject.class), any(DBObject.class))).thenReturn(versionCursor);
+    when(versionCursor.toArray()).thenAnswer(new Answer<List<DBObject>>() {
+      public List<DBObject> answer(InvocationOnMock invocation) throws Throwable {
+        return new ArrayList<DBObject>(documents);
+      }
+    });
+  }
+
+  private static DBObject currency(String code, String name, int digits, long version) {
+
+    DBObject currency = new BasicDBObject("_id", code);
+    currency.put("code", code);
+    currency.put("name", name);
+    currency.put("digits", digits);
+    currency.put("version", version);
+    return currency;
+  }
+
+  static class Currency {
+
+    String code;
+    String name;
+    int digits;
+    long version;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link DBRefResolver}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DBRefResolverUnitTests {
+
+  @Mock
+  DB db;
+  @Mock
+  DBCollection collection;
+  @Mock
+  DBCursor cursor;
+
+  DBObject first, second;
+
+  @Before
+  public void setUp() {
+
+    when(db.getName()).thenReturn("database");
+    when(db.getCollection("account")).thenReturn(collection);
+    when(collection.find(any(DBObject.class))).thenReturn(cursor);
+
+    first = new BasicDBObject("_id", "first");
+    second = new BasicDBObject("_id", "second");
+    when(cursor.iterator()).thenReturn(Arrays.asList(first, second).iterator());
+  }
+
+  @Test
+  public void loadsReferencesOfAllDocumentsWithSingleQuery() {
+
+    BasicDBList accounts = new BasicDBList();
+    accounts.add(new DBRef(db, "account", "first"));
+    accounts.add(new DBRef(db, "account", "second"));
+
+    DBObject person = new BasicDBObject("accounts", accounts);
+    DBObject other = new BasicDBObject("account", new DBRef(db, "account", "second"));
+    other.put("missing", new DBRef(db, "account", "third"));
+
+    DBRefResolver resolver = new DBRefResolver();
+    resolver.register(Arrays.asList(person, other));
+    verify(collection, never()).find(any(DBObject.class));
+
+    assertThat(resolver.fetch(new DBRef(db, "account", "first")), is(first));
+    assertThat(resolver.fetch(new DBRef(db, "account", "second")), is(second));
+    assertThat(resolver.fetch(new DBRef(db, "account", "third")), is(nullValue()));
+
+    ArgumentCaptor<DBObject> query = ArgumentCaptor.forClass(DBObject.class);
+    verify(collection, times(1)).find(query.capture());
+
+    DBObject in = (DBObject) query.getValue().get("_id");
+    assertThat((Iterable<?>) in.get("$in"), is((Iterable<?>) Arrays.<Object> asList("first", "second", "third")));
+  }
+
+  @Test
+  public void splitsQueriesIntoChunks() {
+
+    DBObject person = new BasicDBObject("first", new DBRef(db, "account", "first"));
+    person.put("second", new DBRef(db, "account", "second"));
+
+    when(cursor.iterator()).thenReturn(Arrays.asList(first).iterator(), Arrays.asList(second).iterator());
+
+    DBRefResolver resolver = new DBRefResolver(1);
+    resolver.register(Arrays.asList(person));
+
+    assertThat(resolver.fetch(new DBRef(db, "account", "second")), is(second));
+    assertThat(resolver.fetch(new DBRef(db, "account", "first")), is(first));
+    verify(collection, times(2)).find(any(DBObject.class));
+  }
+}
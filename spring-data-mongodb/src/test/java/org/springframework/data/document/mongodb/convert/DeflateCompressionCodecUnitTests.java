@@ -0,0 +1,48 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DeflateCompressionCodec}.
+ */
+public class DeflateCompressionCodecUnitTests {
+
+  DeflateCompressionCodec codec = new DeflateCompressionCodec();
+
+  @Test
+  public void roundTripsData() {
+
+    byte[] data = new byte[10000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i % 10);
+    }
+
+    byte[] compressed = codec.compress(data);
+
+    assertThat(compressed.length < data.length, is(true));
+    assertThat(codec.decompress(compressed), is(data));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsInvalidData() {
+    codec.decompress(new byte[] { 1, 2, 3, 4 });
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.annotation.PersistenceConstructor;
+import org.springframework.data.mapping.model.PersistentProperty;
+
+/**
+ * Unit tests for {@link EntityAccessor}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class EntityAccessorUnitTests {
+
+  @Mock
+  PersistentProperty property;
+
+  EntityAccessor accessor;
+
+  @Before
+  public void setUp() throws Exception {
+    when(property.getField()).thenReturn(Sample.class.getDeclaredField("name"));
+    accessor = new EntityAccessor(Sample.class);
+  }
+
+  @Test
+  public void instantiatesTypeThroughDefaultConstructor() {
+    assertThat(accessor.newInstance(), is(instanceOf(Sample.class)));
+  }
+
+  @Test
+  public void doesNotInstantiateTypeWithPersistenceConstructor() {
+    assertThat(new EntityAccessor(SampleWithPersistenceConstructor.class).newInstance(), is(nullValue()));
+    assertThat(new EntityAccessor(Runnable.class).newInstance(), is(nullValue()));
+  }
+
+  @Test
+  public void readsAndWritesFieldDirectly() throws Exception {
+
+    Sample sample = new Sample();
+    accessor.setProperty(sample, property, "Dave", true);
+
+    assertThat(sample.name, is("Dave"));
+    assertThat(accessor.getProperty(sample, property, String.class, true), is("Dave"));
+    assertThat(sample.setterCalled, is(false));
+  }
+
+  @Test
+  public void usesSetterIfFieldAccessIsNotRequested() throws Exception {
+
+    Sample sample = new Sample();
+    accessor.setProperty(sample, property, "Dave", false);
+
+    assertThat(sample.name, is("Dave"));
+    assertThat(sample.setterCalled, is(true));
+  }
+
+  static class Sample {
+
+    private String name;
+    private boolean setterCalled;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.setterCalled = true;
+      this.name = name;
+    }
+  }
+
+  static class SampleWithPersistenceConstructor {
+
+    String name;
+
+    SampleWithPersistenceConstructor() {
+    }
+
+    @PersistenceConstructor
+    SampleWithPersistenceConstructor(String name) {
+      this.name = name;
+    }
+  }
+}
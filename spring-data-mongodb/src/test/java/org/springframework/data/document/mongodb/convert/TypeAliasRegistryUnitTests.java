@@ -0,0 +1,77 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.convert;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.document.mongodb.mapping.TypeAlias;
+
+/**
+ * Unit tests for {@link TypeAliasRegistry}.
+ */
+public class TypeAliasRegistryUnitTests {
+
+  TypeAliasRegistry registry;
+
+  @Before
+  public void setUp() {
+    registry = new TypeAliasRegistry();
+  }
+
+  @Test
+  public void usesAnnotatedAlias() {
+    assertThat(registry.getAlias(Aliased.class), is("aliased"));
+    assertThat(registry.getType("aliased"), is((Object) Aliased.class));
+  }
+
+  @Test
+  public void usesExplicitlyRegisteredAlias() {
+    registry.setAliases(Collections.<String, Class<?>> singletonMap("s", String.class));
+    assertThat(registry.getAlias(String.class), is("s"));
+    assertThat(registry.getType("s"), is((Object) String.class));
+  }
+
+  @Test
+  public void fallsBackToClassName() {
+    assertThat(registry.getAlias(Integer.class), is(Integer.class.getName()));
+    assertThat(registry.getType(Integer.class.getName()), is((Object) Integer.class));
+  }
+
+  @Test
+  public void resolvesUnknownAliasToNullUntilRegistered() {
+
+    assertThat(registry.getType("aliased"), is(nullValue()));
+    assertThat(registry.getType("aliased"), is(nullValue()));
+
+    registry.register(Aliased.class);
+    assertThat(registry.getType("aliased"), is((Object) Aliased.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsDuplicateAlias() {
+    registry.register("aliased", String.class);
+    registry.register(Aliased.class);
+  }
+
+  @TypeAlias("aliased")
+  static class Aliased {
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.gridfs;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import com.mongodb.WriteConcern;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.document.mongodb.CollectionCallback;
+import org.springframework.data.document.mongodb.MongoOperations;
+
+/**
+ * Unit tests for {@link GridFsTemplate}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GridFsTemplateUnitTests {
+
+  static final byte[] CONTENT = "0123456789".getBytes();
+
+  @Mock
+  MongoOperations operations;
+  @Mock
+  DBCollection files;
+  @Mock
+  DBCollection chunks;
+
+  Map<Object, byte[]> storedChunks = new HashMap<Object, byte[]>();
+
+  GridFsTemplate template;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+
+    when(operations.execute(anyString(), any(CollectionCallback.class))).thenAnswer(new Answer<Object>() {
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        String name = (String) invocation.getArguments()[0];
+        CollectionCallback<Object> callback = (CollectionCallback<Object>) invocation.getArguments()[1];
+        return callback.doInCollection("fs.files".equals(name) ? files : chunks);
+      }
+    });
+
+    when(chunks.insert(any(DBObject.class), any(WriteConcern.class))).thenAnswer(new Answer<Object>() {
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        DBObject chunk = (DBObject) invocation.getArguments()[0];
+        storedChunks.put(chunk.get("n"), ((byte[]) chunk.get("data")).clone());
+        return null;
+      }
+    });
+
+    when(chunks.findOne(any(DBObject.class))).thenAnswer(new Answer<Object>() {
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        Object n = ((DBObject) invocation.getArguments()[0]).get("n");
+        return storedChunks.containsKey(n) ? new BasicDBObject("data", storedChunks.get(n)) : null;
+      }
+    });
+
+    template = new GridFsTemplate(operations);
+    template.setChunkSize(4);
+  }
+
+  @Test
+  public void storesContentInFixedSizeChunks() throws IOException {
+
+    GridFsFile file = template.store(new ByteArrayInputStream(CONTENT), "numbers.txt", "text/plain",
+        new BasicDBObject("owner", "dave"));
+
+    assertThat(storedChunks.size(), is(3));
+    assertThat(storedChunks.get(2).length, is(2));
+    assertThat(file.getLength(), is(10L));
+    assertThat(file.getChunkSize(), is(4));
+    assertThat(file.getMetadata().get("owner"), is((Object) "dave"));
+    assertThat(file.getMd5(), is("781e5e245d69b566979b86e28d23f2c7"));
+    verify(files).insert(any(DBObject.class), eq(WriteConcern.SAFE));
+    verify(chunks, times(3)).insert(any(DBObject.class), eq(WriteConcern.SAFE));
+
+    assertThat(read(template.getContent(file)), is("0123456789"));
+  }
+
+  @Test
+  public void readsRangeSpanningChunks() throws IOException {
+
+    GridFsFile file = template.store(new ByteArrayInputStream(CONTENT), "numbers.txt");
+    storedChunks.remove(0);
+
+    assertThat(read(template.getContent(file, 5, 4)), is("5678"));
+    assertThat(read(template.getContent(file, 8, 100)), is("89"));
+    assertThat(read(template.getContent(file, 12, 3)), is(""));
+  }
+
+  @Test
+  public void doesNotWriteFileEntryIfChunkInsertFails() {
+
+    when(chunks.insert(any(DBObject.class), any(WriteConcern.class))).thenThrow(new MongoException("Disk full"));
+
+    try {
+      template.store(new ByteArrayInputStream(CONTENT), "numbers.txt");
+      fail("Expected MongoException!");
+    } catch (MongoException e) {
+      // expected
+    }
+
+    verify(chunks).remove(any(DBObject.class));
+    verifyZeroInteractions(files);
+  }
+
+  @Test
+  public void insertsWithConfiguredWriteConcern() {
+
+    template.setWriteConcern(WriteConcern.FSYNC_SAFE);
+    template.store(new ByteArrayInputStream(CONTENT), "numbers.txt");
+
+    verify(chunks, times(3)).insert(any(DBObject.class), eq(WriteConcern.FSYNC_SAFE));
+    verify(files).insert(any(DBObject.class), eq(WriteConcern.FSYNC_SAFE));
+  }
+
+  private static String read(InputStream in) throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[3];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return new String(out.toByteArray());
+  }
+}
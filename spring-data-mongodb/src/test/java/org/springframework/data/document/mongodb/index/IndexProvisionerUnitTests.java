@@ -0,0 +1,145 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.index;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.document.mongodb.CollectionCallback;
+import org.springframework.data.document.mongodb.MongoOperations;
+
+/**
+ * Unit tests for {@link IndexProvisioner}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IndexProvisionerUnitTests {
+
+  @Mock
+  MongoOperations operations;
+  @Mock
+  DBCollection collection;
+
+  IndexProvisioner provisioner;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+
+    when(operations.execute(anyString(), any(CollectionCallback.class))).thenAnswer(new Answer<Object>() {
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        return ((CollectionCallback<Object>) invocation.getArguments()[1]).doInCollection(collection);
+      }
+    });
+
+    DBObject existing = new BasicDBObject("key", new BasicDBObject("lastname", 1.0));
+    when(collection.getIndexInfo()).thenReturn(Arrays.asList(existing));
+
+    provisioner = new IndexProvisioner(operations);
+  }
+
+  @Test
+  public void createsMissingIndexesOnlyOnceInBackground() throws Exception {
+
+    provisioner.ensureIndex("person", new BasicDBObject("lastname", 1), null);
+    provisioner.ensureIndex("person", new BasicDBObject("firstname", 1), new BasicDBObject("unique", true));
+    provisioner.ensureIndex("person", new BasicDBObject("firstname", 1), null);
+
+    assertThat(provisioner.awaitCompletion(5, TimeUnit.SECONDS), is(true));
+
+    ArgumentCaptor<DBObject> options = ArgumentCaptor.forClass(DBObject.class);
+    verify(collection, times(1)).ensureIndex(eq((DBObject) new BasicDBObject("firstname", 1)), options.capture());
+    verify(collection, never()).ensureIndex(eq((DBObject) new BasicDBObject("lastname", 1)), any(DBObject.class));
+
+    assertThat(options.getValue().get("background"), is((Object) true));
+    assertThat(options.getValue().get("unique"), is((Object) true));
+  }
+
+  @Test
+  public void defersCreationUntilContextRefreshed() throws Exception {
+
+    provisioner.setDeferUntilContextRefreshed(true);
+    provisioner.ensureIndex("person", new BasicDBObject("firstname", 1), null);
+
+    verifyZeroInteractions(operations);
+
+    provisioner.onApplicationEvent(null);
+    assertThat(provisioner.awaitCompletion(5, TimeUnit.SECONDS), is(true));
+
+    verify(collection).ensureIndex(eq((DBObject) new BasicDBObject("firstname", 1)), any(DBObject.class));
+  }
+
+  @Test
+  public void retriesIndexWhoseCreationFailed() throws Exception {
+
+    DBObject keys = new BasicDBObject("firstname", 1);
+    doThrow(new MongoException("Index build failed")).doNothing().when(collection).ensureIndex(eq(keys),
+        any(DBObject.class));
+
+    provisioner.ensureIndex("person", keys, null);
+    assertThat(provisioner.awaitCompletion(5, TimeUnit.SECONDS), is(true));
+
+    provisioner.ensureIndex("person", keys, null);
+    assertThat(provisioner.awaitCompletion(5, TimeUnit.SECONDS), is(true));
+
+    verify(collection, times(2)).ensureIndex(eq(keys), any(DBObject.class));
+  }
+
+  @Test
+  public void retriesIndexesIfExistingOnesCannotBeLookedUp() throws Exception {
+
+    when(collection.getIndexInfo()).thenThrow(new MongoException("Not reachable")).thenReturn(
+        Arrays.<DBObject>asList());
+
+    provisioner.ensureIndex("person", new BasicDBObject("firstname", 1), null);
+    assertThat(provisioner.awaitCompletion(5, TimeUnit.SECONDS), is(true));
+
+    provisioner.ensureIndex("person", new BasicDBObject("firstname", 1), null);
+    assertThat(provisioner.awaitCompletion(5, TimeUnit.SECONDS), is(true));
+
+    verify(collection).ensureIndex(eq((DBObject) new BasicDBObject("firstname", 1)), any(DBObject.class));
+  }
+
+  @Test
+  public void comparesKeysInOrder() {
+
+    DBObject keys = new BasicDBObject("lastname", 1);
+    keys.put("firstname", -1);
+
+    DBObject reversed = new BasicDBObject("firstname", -1);
+    reversed.put("lastname", 1);
+
+    assertThat(IndexProvisioner.containsKeys(Arrays.asList((DBObject) new BasicDBObject("key", keys)), keys), is(true));
+    assertThat(IndexProvisioner.containsKeys(Arrays.asList((DBObject) new BasicDBObject("key", reversed)), keys),
+        is(false));
+  }
+}
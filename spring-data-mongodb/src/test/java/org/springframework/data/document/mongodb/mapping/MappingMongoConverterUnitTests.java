@@ -22,15 +22,21 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import org.bson.types.Binary;
 import org.joda.time.LocalDate;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.document.mongodb.convert.LazyLoadingProxy;
 import org.springframework.data.document.mongodb.convert.MappingMongoConverter;
 import org.springframework.data.mapping.BasicMappingContext;
+import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
 import com.mongodb.DBObject;
 
 /**
@@ -41,6 +47,9 @@ import com.mongodb.DBObject;
 @RunWith(MockitoJUnitRunner.class)
 public class MappingMongoConverterUnitTests {
 
+  @Mock
+  DB db;
+
   MappingMongoConverter converter;
   BasicMappingContext mappingContext;
   
@@ -91,6 +100,215 @@ public class MappingMongoConverterUnitTests {
   }
   
   
+  @Test
+  public void evaluatesValueExpressionsAgainstDocument() {
+
+    DBObject dbObject = new BasicDBObject("street", "Broadway");
+    dbObject.put("city", "New York");
+
+    WithExpression first = converter.read(WithExpression.class, dbObject);
+    assertThat(first.location, is("Broadway, New York"));
+
+    dbObject.put("street", "Fifth Avenue");
+    WithExpression second = converter.read(WithExpression.class, dbObject);
+    assertThat(second.location, is("Fifth Avenue, New York"));
+  }
+
+  @Test
+  public void injectsLazyLoadingProxyForLazyReferences() {
+
+    BasicDBList accounts = new BasicDBList();
+    accounts.add(new com.mongodb.DBRef(db, "account", "first"));
+
+    WithLazyReferences result = converter.read(WithLazyReferences.class, new BasicDBObject("accounts", accounts));
+
+    assertThat(result.accounts, is(instanceOf(LazyLoadingProxy.class)));
+    assertThat(((LazyLoadingProxy) result.accounts).isResolved(), is(false));
+
+    DBObject dbObject = new BasicDBObject();
+    converter.write(result, dbObject);
+
+    assertThat(dbObject.get("accounts"), is((Object) accounts));
+    assertThat(((LazyLoadingProxy) result.accounts).isResolved(), is(false));
+  }
+
+  @Test
+  public void restrictsFieldsToMappedProperties() {
+
+    DBObject fields = converter.getMappedFields(Address.class);
+
+    assertThat(fields.keySet().size(), is(3));
+    assertThat(fields.containsField("_id"), is(true));
+    assertThat(fields.containsField("street"), is(true));
+    assertThat(fields.containsField("city"), is(true));
+  }
+
+  @Test
+  public void doesNotRestrictFieldsForTypesUsingExpressions() {
+    assertThat(converter.getMappedFields(WithExpression.class), is(nullValue()));
+  }
+
+  @Test
+  public void exposesEntityAsDBObjectLikeWrite() {
+
+    Address address = new Address();
+    address.city = "New York";
+    address.street = "Broadway";
+
+    WithAddress entity = new WithAddress();
+    entity.name = "Dave";
+    entity.address = address;
+
+    DBObject written = new BasicDBObject();
+    converter.write(entity, written);
+
+    DBObject direct = converter.toDBObject(entity);
+
+    assertThat(direct.keySet(), is(written.keySet()));
+    assertThat(direct.toString(), is(written.toString()));
+
+    direct.put("_id", "4711");
+    assertThat(direct.get("_id"), is((Object) "4711"));
+    assertThat(direct.keySet(), hasItem("_id"));
+  }
+
+  @Test
+  public void writesAndReadsPrimitiveArrays() {
+
+    WithSamples samples = new WithSamples();
+    samples.counts = new int[] { 1, 2, 3 };
+    samples.values = new double[] { 0.5, 1.5 };
+
+    DBObject dbObject = new BasicDBObject();
+    converter.write(samples, dbObject);
+
+    assertThat(dbObject.get("counts"), is(instanceOf(int[].class)));
+    assertThat(dbObject.get("values"), is(instanceOf(Binary.class)));
+    assertThat(((Binary) dbObject.get("values")).getType(), is(Packed.BINARY_SUBTYPE));
+
+    BasicDBList counts = new BasicDBList();
+    counts.add(1);
+    counts.add(2);
+    counts.add(3);
+    dbObject.put("counts", counts);
+
+    WithSamples result = converter.read(WithSamples.class, dbObject);
+    assertThat(result.counts, is(new int[] { 1, 2, 3 }));
+    assertThat(result.values, is(new double[] { 0.5, 1.5 }));
+  }
+
+  @Test
+  public void compressesLargeValuesOnly() {
+
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 200; i++) {
+      builder.append("{\"key\" : \"value\"}");
+    }
+
+    WithCompressedText large = new WithCompressedText();
+    large.text = builder.toString();
+
+    DBObject dbObject = new BasicDBObject();
+    converter.write(large, dbObject);
+
+    assertThat(dbObject.get("text"), is(instanceOf(Binary.class)));
+    assertThat(((Binary) dbObject.get("text")).getType(), is(Compressed.BINARY_SUBTYPE));
+    assertThat(converter.read(WithCompressedText.class, dbObject).text, is(large.text));
+
+    WithCompressedText small = new WithCompressedText();
+    small.text = "small";
+
+    dbObject = new BasicDBObject();
+    converter.write(small, dbObject);
+
+    assertThat(dbObject.get("text"), is((Object) "small"));
+    assertThat(converter.read(WithCompressedText.class, dbObject).text, is("small"));
+  }
+
+  @Test
+  public void usesStoredFieldNamesForDocumentsAndQueries() {
+
+    WithShortNames source = new WithShortNames();
+    source.firstName = "Dave";
+    source.address = new Address();
+    source.address.city = "New York";
+
+    DBObject dbObject = new BasicDBObject();
+    converter.write(source, dbObject);
+
+    assertThat(dbObject.get("fn"), is((Object) "Dave"));
+    assertThat(dbObject.containsField("firstName"), is(false));
+    assertThat(converter.read(WithShortNames.class, dbObject).firstName, is("Dave"));
+
+    BasicDBList or = new BasicDBList();
+    or.add(new BasicDBObject("firstName", "Dave"));
+    or.add(new BasicDBObject("address.city", "New York"));
+    DBObject query = new BasicDBObject("$or", or);
+    query.put("firstName", new BasicDBObject("$ne", "Carter"));
+
+    DBObject mapped = converter.getMappedObject(query, WithShortNames.class);
+
+    assertThat(mapped.get("fn"), is((Object) new BasicDBObject("$ne", "Carter")));
+    List<?> mappedOr = (List<?>) mapped.get("$or");
+    assertThat(((DBObject) mappedOr.get(0)).get("fn"), is((Object) "Dave"));
+    assertThat(((DBObject) mappedOr.get(1)).get("a.city"), is((Object) "New York"));
+    assertThat(converter.getMappedKey("address.unknown.city", WithShortNames.class), is("a.unknown.city"));
+  }
+
+  @Test
+  public void mapsOperatorObjectsAgainstPropertyType() {
+
+    DBObject query = new BasicDBObject("addresses", new BasicDBObject("$elemMatch", new BasicDBObject("city",
+        "New York")));
+
+    DBObject mapped = converter.getMappedObject(query, WithShortNamedAddresses.class);
+
+    assertThat(mapped.get("as"), is((Object) new BasicDBObject("$elemMatch", new BasicDBObject("c", "New York"))));
+  }
+
+  public static class WithShortNames {
+    @Field("fn")
+    String firstName;
+    @Field("a")
+    Address address;
+  }
+
+  public static class WithShortNamedAddresses {
+    @Field("as")
+    List<ShortNamedAddress> addresses;
+  }
+
+  public static class ShortNamedAddress {
+    @Field("c")
+    String city;
+  }
+
+  public static class WithCompressedText {
+    @Compressed(threshold = 64)
+    String text;
+  }
+
+  public static class WithSamples {
+    int[] counts;
+    @Packed
+    double[] values;
+  }
+
+  public static class WithAddress {
+    String name;
+    Address address;
+  }
+
+  public static class WithLazyReferences {
+    @DBRef(lazy = true)
+    List<Account> accounts;
+  }
+
+  public static class WithExpression {
+    @Value("#street + ', ' + #city")
+    String location;
+  }
+  
   public static class Address {
     String street;
     String city;
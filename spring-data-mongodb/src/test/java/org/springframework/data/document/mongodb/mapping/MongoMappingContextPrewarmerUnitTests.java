@@ -0,0 +1,79 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.mapping;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MongoMappingContextPrewarmer}.
+ */
+public class MongoMappingContextPrewarmerUnitTests {
+
+  MongoMappingContext context;
+
+  @Before
+  public void setUp() {
+    context = new MongoMappingContext();
+  }
+
+  @Test
+  public void buildsInitialEntitiesInParallelAndFreezesContext() throws Exception {
+
+    MongoMappingContextPrewarmer prewarmer = new MongoMappingContextPrewarmer(context);
+    prewarmer.setInitialEntitySet(new HashSet<Class<?>>(Arrays.<Class<?>>asList(Person.class, Account.class)));
+    prewarmer.setPoolSize(2);
+    prewarmer.afterPropertiesSet();
+
+    assertThat(context.isFrozen(), is(true));
+    assertThat(context.getPersistentEntity(Person.class), is(notNullValue()));
+    assertThat(context.getPersistentEntity(Account.class), is(notNullValue()));
+  }
+
+  @Test
+  public void picksUpTypesAddedAfterFreezing() throws Exception {
+
+    context.freeze();
+    assertThat(context.getPersistentEntity(Person.class), is(nullValue()));
+
+    context.addPersistentEntity(Person.class);
+    assertThat(context.getPersistentEntity(Person.class), is(notNullValue()));
+  }
+
+  @Test
+  public void doesNotFreezeContextIfDisabled() throws Exception {
+
+    MongoMappingContextPrewarmer prewarmer = new MongoMappingContextPrewarmer(context);
+    prewarmer.setInitialEntitySet(new HashSet<Class<?>>(Arrays.<Class<?>>asList(Person.class)));
+    prewarmer.setFreeze(false);
+    prewarmer.afterPropertiesSet();
+
+    assertThat(context.isFrozen(), is(false));
+    assertThat(context.getPersistentEntity(Person.class), is(notNullValue()));
+  }
+
+  @Test
+  public void findsDocumentsInBasePackage() throws Exception {
+    assertThat(MongoMappingContextPrewarmer.scan(getClass().getPackage().getName(),
+        getClass().getClassLoader()).contains(Person.class), is(true));
+  }
+}
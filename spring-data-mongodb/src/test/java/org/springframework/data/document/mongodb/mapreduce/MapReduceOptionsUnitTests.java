@@ -0,0 +1,69 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.mapreduce;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import com.mongodb.DBObject;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MapReduceOptions} and {@link GroupBy}.
+ */
+public class MapReduceOptionsUnitTests {
+
+  @Test
+  public void defaultsToInlineOutput() {
+    DBObject out = new MapReduceOptions().getOutputObject();
+    assertThat(out.get("inline"), is((Object) 1));
+  }
+
+  @Test
+  public void switchesToReplaceWhenOutputCollectionIsGiven() {
+    DBObject out = MapReduceOptions.options().outputCollection("results").getOutputObject();
+    assertThat(out.get("replace"), is((Object) "results"));
+    assertThat(out.containsField("inline"), is(false));
+  }
+
+  @Test
+  public void usesMergeAndReduceOutputTypes() {
+    DBObject merge = MapReduceOptions.options().outputTypeMerge().outputCollection("results").getOutputObject();
+    assertThat(merge.get("merge"), is((Object) "results"));
+
+    DBObject reduce = MapReduceOptions.options().outputCollection("results").outputTypeReduce()
+        .outputDatabase("reporting").getOutputObject();
+    assertThat(reduce.get("reduce"), is((Object) "results"));
+    assertThat(reduce.get("db"), is((Object) "reporting"));
+  }
+
+  @Test
+  public void leavesOutputCollectionOnServerByDefault() {
+    assertThat(MapReduceOptions.options().outputCollection("results").isLoadOutputCollection(), is(false));
+    assertThat(MapReduceOptions.options().loadOutputCollection(true).isLoadOutputCollection(), is(true));
+  }
+
+  @Test
+  public void createsGroupByObject() {
+    DBObject group = GroupBy.key("parameters.p1").initialDocument("{ count : 0 }")
+        .reduceFunction("function(doc, out) { out.count++; }").getGroupByObject();
+
+    assertThat(((DBObject) group.get("key")).get("parameters.p1"), is((Object) 1));
+    assertThat(((DBObject) group.get("initial")).get("count"), is((Object) 0));
+    assertThat(group.get("$reduce"), is((Object) "function(doc, out) { out.count++; }"));
+    assertThat(group.containsField("$keyf"), is(false));
+  }
+}
@@ -17,6 +17,10 @@ package org.springframework.data.document.mongodb.query;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.data.document.mongodb.geo.Box;
+import org.springframework.data.document.mongodb.geo.Circle;
+import org.springframework.data.document.mongodb.geo.Point;
+import org.springframework.data.document.mongodb.geo.Polygon;
 import org.springframework.data.document.mongodb.query.Index.Duplicates;
 
 public class CriteriaTests {
@@ -32,4 +36,39 @@ public class CriteriaTests {
     Criteria c = new Criteria("name").is("Bubba").and("age").lt(21);
     Assert.assertEquals("{ \"name\" : \"Bubba\" , \"age\" : { \"$lt\" : 21}}", c.getCriteriaObject().toString());
   }
+
+  @Test
+  public void testNearCriteriaWithMaxDistance() {
+    Criteria c = new Criteria("location").near(new Point(10, 20)).maxDistance(5);
+    Assert.assertEquals("{ \"location\" : { \"$near\" : [ 10.0 , 20.0] , \"$maxDistance\" : 5.0}}",
+        c.getCriteriaObject().toString());
+  }
+
+  @Test
+  public void testNearSphereCriteria() {
+    Criteria c = new Criteria("location").nearSphere(new Point(10, 20));
+    Assert.assertEquals("{ \"location\" : { \"$nearSphere\" : [ 10.0 , 20.0]}}", c.getCriteriaObject().toString());
+  }
+
+  @Test
+  public void testWithinBoxCriteria() {
+    Criteria c = new Criteria("location").within(new Box(new Point(0, 0), new Point(5, 5)));
+    Assert.assertEquals("{ \"location\" : { \"$within\" : { \"$box\" : [ [ 0.0 , 0.0] , [ 5.0 , 5.0]]}}}",
+        c.getCriteriaObject().toString());
+  }
+
+  @Test
+  public void testWithinCircleCriteria() {
+    Criteria c = new Criteria("location").within(new Circle(new Point(1, 2), 3));
+    Assert.assertEquals("{ \"location\" : { \"$within\" : { \"$center\" : [ [ 1.0 , 2.0] , 3.0]}}}",
+        c.getCriteriaObject().toString());
+  }
+
+  @Test
+  public void testWithinPolygonCriteria() {
+    Criteria c = new Criteria("location").within(new Polygon(new Point(0, 0), new Point(0, 5), new Point(5, 0)));
+    Assert.assertEquals(
+        "{ \"location\" : { \"$within\" : { \"$polygon\" : [ [ 0.0 , 0.0] , [ 0.0 , 5.0] , [ 5.0 , 0.0]]}}}",
+        c.getCriteriaObject().toString());
+  }
 }
@@ -46,6 +46,14 @@ public class UpdateTests {
         u.getUpdateObject().toString());
   }
 
+  @Test
+  public void testMultipleIncs() {
+    Update u = new Update()
+        .inc("count", 1)
+        .inc("methods.find", 1);
+    Assert.assertEquals("{ \"$inc\" : { \"count\" : 1 , \"methods.find\" : 1}}", u.getUpdateObject().toString());
+  }
+
   @Test
   public void testUnset() {
     Update u = new Update()
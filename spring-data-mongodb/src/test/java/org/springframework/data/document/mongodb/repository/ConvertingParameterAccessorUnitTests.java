@@ -0,0 +1,104 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.mongodb.DBObject;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.document.mongodb.MongoWriter;
+import org.springframework.data.document.mongodb.Person;
+import org.springframework.data.document.mongodb.SomeEnumTest;
+import org.springframework.data.document.mongodb.convert.SimpleMongoConverter;
+
+/**
+ * Unit tests for {@link ConvertingParameterAccessor}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ConvertingParameterAccessorUnitTests {
+
+  @Mock
+  MongoWriter<Object> writer;
+
+  @Test
+  public void passesNativeTypesThroughWithoutConversion() {
+
+    ObjectId id = new ObjectId();
+    Date date = new Date();
+
+    ConvertingParameterAccessor accessor = StubParameterAccessor.getAccessor(writer, "Dave", 42, id, date, null);
+
+    assertThat(accessor.getBindableValue(0), is((Object) "Dave"));
+    assertThat(accessor.getBindableValue(1), is((Object) 42));
+    assertThat(accessor.getBindableValue(2), is((Object) id));
+    assertThat(accessor.getBindableValue(3), is((Object) date));
+    assertThat(accessor.getBindableValue(4), is(nullValue()));
+    verifyZeroInteractions(writer);
+  }
+
+  @Test
+  public void convertsEnumsToTheirName() {
+
+    ConvertingParameterAccessor accessor = StubParameterAccessor.getAccessor(writer, SomeEnumTest.StringEnum.TWO);
+
+    assertThat(accessor.getBindableValue(0), is((Object) "TWO"));
+    verifyZeroInteractions(writer);
+  }
+
+  @Test
+  public void usesWriterForComplexValues() {
+
+    Person person = new Person("Dave");
+    ConvertingParameterAccessor accessor = StubParameterAccessor.getAccessor(writer, person);
+    accessor.getBindableValue(0);
+
+    verify(writer).write(anyObject(), any(DBObject.class));
+  }
+
+  @Test
+  public void convertsComplexValuesIntoDBObject() {
+
+    ConvertingParameterAccessor accessor = StubParameterAccessor.getAccessor(new SimpleMongoConverter(),
+        new Person("Dave"));
+
+    assertThat(accessor.getBindableValue(0), is(instanceOf(DBObject.class)));
+  }
+
+  @Test
+  public void recordsPassThroughDecisionsInTheGivenMap() {
+
+    ConcurrentMap<Class<?>, Boolean> passThroughTypes = new ConcurrentHashMap<Class<?>, Boolean>();
+    ConvertingParameterAccessor accessor = new ConvertingParameterAccessor(writer, new StubParameterAccessor("Dave",
+        new Person("Dave")), passThroughTypes);
+
+    accessor.getBindableValue(0);
+    accessor.getBindableValue(1);
+
+    assertThat(passThroughTypes.get(String.class), is(true));
+    assertThat(passThroughTypes.get(Person.class), is(false));
+  }
+}
@@ -15,6 +15,10 @@
  */
 package org.springframework.data.document.mongodb.repository;
 
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.document.mongodb.query.Criteria.*;
 import static org.springframework.data.document.mongodb.repository.StubParameterAccessor.getAccessor;
 
 import java.lang.reflect.Method;
@@ -27,6 +31,10 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.data.document.mongodb.Person;
 import org.springframework.data.document.mongodb.convert.MongoConverter;
+import org.springframework.data.document.mongodb.geo.Box;
+import org.springframework.data.document.mongodb.geo.Circle;
+import org.springframework.data.document.mongodb.geo.Point;
+import org.springframework.data.document.mongodb.query.Query;
 import org.springframework.data.repository.query.parser.PartTree;
 
 
@@ -73,6 +81,45 @@ public class MongoQueryCreatorUnitTests {
     creator.createQuery();
   }
 
+  @Test
+  public void createsNearQueryForPoint() throws Exception {
+
+    Point point = new Point(10, 20);
+    MongoQueryCreator creator = new MongoQueryCreator(new PartTree("findByLocationNear", Venue.class),
+        getAccessor(converter, point));
+
+    Query query = creator.createQuery();
+    assertThat(query.getQueryObject(), is(new Query(where("location").near(point)).getQueryObject()));
+    verifyZeroInteractions(converter);
+  }
+
+  @Test
+  public void createsNearQueryWithMaxDistanceForCircle() throws Exception {
+
+    Circle circle = new Circle(new Point(10, 20), 5);
+    MongoQueryCreator creator = new MongoQueryCreator(new PartTree("findByLocationNear", Venue.class),
+        getAccessor(converter, circle));
+
+    Query reference = new Query(where("location").near(circle.getCenter()).maxDistance(5));
+    assertThat(creator.createQuery().getQueryObject(), is(reference.getQueryObject()));
+  }
+
+  @Test
+  public void createsWithinQueryForBox() throws Exception {
+
+    Box box = new Box(new Point(0, 0), new Point(10, 10));
+    MongoQueryCreator creator = new MongoQueryCreator(new PartTree("findByLocationWithin", Venue.class),
+        getAccessor(converter, box));
+
+    assertThat(creator.createQuery().getQueryObject(),
+        is(new Query(where("location").within(box)).getQueryObject()));
+  }
+
+  static class Venue {
+    String name;
+    Point location;
+  }
+
   interface Sample {
 
     List<Person> findByFirstname(String firstname);
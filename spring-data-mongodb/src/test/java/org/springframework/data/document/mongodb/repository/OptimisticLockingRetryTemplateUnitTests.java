@@ -0,0 +1,78 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.document.mongodb.repository.OptimisticLockingRetryTemplate.RetryCallback;
+
+/**
+ * Unit tests for {@link OptimisticLockingRetryTemplate}.
+ */
+public class OptimisticLockingRetryTemplateUnitTests {
+
+  OptimisticLockingRetryTemplate template;
+
+  @Before
+  public void setUp() {
+    template = new OptimisticLockingRetryTemplate();
+  }
+
+  @Test
+  public void retriesOnOptimisticLockingFailure() {
+
+    FailingCallback callback = new FailingCallback(2);
+
+    assertThat(template.execute(callback), is(3));
+    assertThat(callback.attempts, is(3));
+  }
+
+  @Test
+  public void rethrowsFailureOnceMaxAttemptsReached() {
+
+    template.setMaxAttempts(2);
+    FailingCallback callback = new FailingCallback(5);
+
+    try {
+      template.execute(callback);
+      fail("Expected OptimisticLockingFailureException!");
+    } catch (OptimisticLockingFailureException e) {
+      assertThat(callback.attempts, is(2));
+    }
+  }
+
+  static class FailingCallback implements RetryCallback<Integer> {
+
+    final int failures;
+    int attempts = 0;
+
+    FailingCallback(int failures) {
+      this.failures = failures;
+    }
+
+    public Integer doWithRetry() {
+      attempts++;
+      if (attempts <= failures) {
+        throw new OptimisticLockingFailureException("Conflict!");
+      }
+      return attempts;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.document.mongodb.repository;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.document.mongodb.MongoTemplate;
+import org.springframework.data.document.mongodb.Person;
+import org.springframework.data.document.mongodb.convert.MongoConverter;
+import org.springframework.data.document.mongodb.convert.SimpleMongoConverter;
+import org.springframework.data.document.mongodb.query.BasicQuery;
+import org.springframework.data.document.mongodb.query.Query;
+import org.springframework.data.document.mongodb.repository.MongoRepositoryFactoryBean.EntityInformationCreator;
+
+/**
+ * Unit tests for {@link PartTreeMongoQuery}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PartTreeMongoQueryUnitTests {
+
+  @Mock
+  MongoTemplate template;
+  MongoConverter converter = new SimpleMongoConverter();
+
+  @Before
+  public void setUp() {
+    when(template.getConverter()).thenReturn(converter);
+  }
+
+  @Test
+  public void bindsParametersIntoPrecomputedQuery() throws Exception {
+
+    PartTreeMongoQuery mongoQuery = createQueryFor("findByFirstNameAndAgeGreaterThan", String.class, int.class);
+
+    Query first = mongoQuery.createQuery(StubParameterAccessor.getAccessor(converter, "Oliver", 30));
+    Query second = mongoQuery.createQuery(StubParameterAccessor.getAccessor(converter, "Dave", 40));
+
+    assertThat(first.getQueryObject(),
+        is(new BasicQuery("{ 'firstName' : 'Oliver', 'age' : { '$gt' : 30 } }").getQueryObject()));
+    assertThat(second.getQueryObject(),
+        is(new BasicQuery("{ 'firstName' : 'Dave', 'age' : { '$gt' : 40 } }").getQueryObject()));
+  }
+
+  @Test
+  public void appliesSortFromMethodName() throws Exception {
+
+    PartTreeMongoQuery mongoQuery = createQueryFor("findByFirstNameOrderByAgeDesc", String.class);
+    Query query = mongoQuery.createQuery(StubParameterAccessor.getAccessor(converter, "Oliver"));
+
+    assertThat(query.getSortObject(), is(new BasicQuery("{ 'age' : -1 }").getQueryObject()));
+  }
+
+  @Test
+  public void createsQueryForKeywordsNotBindableUpfront() throws Exception {
+
+    PartTreeMongoQuery mongoQuery = createQueryFor("findByFirstNameLike", String.class);
+    Query query = mongoQuery.createQuery(StubParameterAccessor.getAccessor(converter, "Oli*"));
+
+    assertThat(query.getQueryObject().get("firstName").toString(), is("Oli.*"));
+  }
+
+  private PartTreeMongoQuery createQueryFor(String methodName, Class<?>... parameterTypes) throws Exception {
+
+    Method method = SampleRepository.class.getMethod(methodName, parameterTypes);
+    MongoQueryMethod queryMethod = new MongoQueryMethod(method, new EntityInformationCreator(null));
+    return new PartTreeMongoQuery(queryMethod, template);
+  }
+
+  private interface SampleRepository {
+
+    List<Person> findByFirstNameAndAgeGreaterThan(String firstName, int age);
+
+    List<Person> findByFirstNameOrderByAgeDesc(String firstName);
+
+    List<Person> findByFirstNameLike(String firstName);
+  }
+}
@@ -63,9 +63,63 @@ public class StringBasedMongoQueryUnitTests {
     assertThat(query.getQueryObject(), is(reference.getQueryObject()));
   }
 
+  @Test
+  public void bindsMultipleParametersAndFieldSpec() throws Exception {
+
+    Method method = SampleRepository.class.getMethod("findByLastnameAndAge", String.class, int.class);
+    MongoQueryMethod queryMethod = new MongoQueryMethod(method, new EntityInformationCreator(null));
+    StringBasedMongoQuery mongoQuery = new StringBasedMongoQuery(queryMethod, template);
+
+    org.springframework.data.document.mongodb.query.Query query = mongoQuery.createQuery(
+        StubParameterAccessor.getAccessor(converter, "Matthews", 42));
+    org.springframework.data.document.mongodb.query.Query reference = new BasicQuery(
+        "{ 'lastname' : 'Matthews', 'age' : { '$gt' : 42 } }", "{ 'lastname' : 1 }");
+
+    assertThat(query.getQueryObject(), is(reference.getQueryObject()));
+    assertThat(query.getFieldsObject(), is(reference.getFieldsObject()));
+  }
+
+  @Test
+  public void doesNotModifyTemplateWhenBinding() throws Exception {
+
+    Method method = SampleRepository.class.getMethod("findByLastname", String.class);
+    MongoQueryMethod queryMethod = new MongoQueryMethod(method, new EntityInformationCreator(null));
+    StringBasedMongoQuery mongoQuery = new StringBasedMongoQuery(queryMethod, template);
+
+    org.springframework.data.document.mongodb.query.Query first = mongoQuery.createQuery(
+        StubParameterAccessor.getAccessor(converter, "Matthews"));
+    first.getQueryObject().put("lastname", "Changed");
+
+    org.springframework.data.document.mongodb.query.Query second = mongoQuery.createQuery(
+        StubParameterAccessor.getAccessor(converter, "Beauford"));
+
+    assertThat(second.getQueryObject(), is(new BasicQuery("{'lastname' : 'Beauford'}").getQueryObject()));
+  }
+
+  @Test
+  public void substitutesPlaceholdersInsideStringLiterals() throws Exception {
+
+    Method method = SampleRepository.class.getMethod("findByLastnamePrefix", String.class, String.class);
+    MongoQueryMethod queryMethod = new MongoQueryMethod(method, new EntityInformationCreator(null));
+    StringBasedMongoQuery mongoQuery = new StringBasedMongoQuery(queryMethod, template);
+
+    org.springframework.data.document.mongodb.query.Query query = mongoQuery.createQuery(
+        StubParameterAccessor.getAccessor(converter, "Mat", "Dave"));
+    org.springframework.data.document.mongodb.query.Query reference = new BasicQuery(
+        "{ 'lastname' : { '$regex' : '^Mat' }, 'firstname' : 'Dave' }");
+
+    assertThat(query.getQueryObject(), is(reference.getQueryObject()));
+  }
+
   private interface SampleRepository {
 
     @Query("{ 'lastname' : ?0 }")
     Person findByLastname(String lastname);
+
+    @Query(value = "{ 'lastname' : ?0, 'age' : { '$gt' : ?1 } }", fields = "{ 'lastname' : 1 }")
+    Person findByLastnameAndAge(String lastname, int age);
+
+    @Query("{ 'lastname' : { '$regex' : '^?0' }, 'firstname' : \"?1\" }")
+    Person findByLastnamePrefix(String prefix, String firstname);
   }
 }